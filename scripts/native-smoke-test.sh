@@ -0,0 +1,39 @@
+#!/usr/bin/env bash
+# Starts the native binary against the local YBA stand-in and checks it comes up healthy.
+#
+#   ./gradlew nativeCompile && scripts/native-smoke-test.sh
+#
+# Needs the usual DATASOURCE_* variables for the tracker database.
+set -euo pipefail
+
+BINARY=${BINARY:-build/native/nativeCompile/backup-orchestrator-service}
+PORT=${PORT:-8989}
+YBA_PORT=${YBA_PORT:-9000}
+YBA=http://127.0.0.1:$YBA_PORT/api/v1/customers/smoke
+LOG=build/native-smoke.log
+
+python3 scripts/yba-standin.py "$YBA_PORT" &
+STANDIN=$!
+trap 'kill $STANDIN ${APP:-} 2>/dev/null || true' EXIT
+
+YBA_FULL_BACKUP_URL=$YBA/backups \
+YBA_TASK_URL=$YBA/tasks \
+YBA_BACKUP_TASK_URL=$YBA/universes/smoke-universe/backups/tasks \
+YBA_API_TOKEN=smoke \
+YBA_UNIVERSE_UUID=smoke-universe \
+"$BINARY" -Dserver.port="$PORT" > "$LOG" 2>&1 &
+APP=$!
+
+for i in $(seq 100); do
+  if curl -fs "http://localhost:$PORT/actuator/health/readiness" > /dev/null; then
+    break
+  fi
+  kill -0 "$APP" 2>/dev/null || { cat "$LOG"; echo "native binary exited"; exit 1; }
+  sleep 0.1
+done
+
+curl -fs "http://localhost:$PORT/actuator/health/liveness" > /dev/null
+curl -fs "http://localhost:$PORT/backups?status=IN_PROGRESS" > /dev/null
+grep "Startup ready in" "$LOG"
+echo "RSS: $(ps -o rss= -p "$APP" | tr -d ' ') KiB"
+echo "native smoke test passed"
@@ -0,0 +1,40 @@
+#!/usr/bin/env bash
+# Compares time-to-ready of the plain jar, the AOT context and AOT + CDS.
+#
+#   ./gradlew bootJar && scripts/startup-benchmark.sh [runs]
+#
+# Needs the usual DATASOURCE_* variables; the tracker schema is left untouched.
+set -euo pipefail
+
+RUNS=${1:-5}
+JAR=${JAR:-build/libs/backup-orchestrator-service-0.0.2.jar}
+WORK=build/startup-benchmark
+PORT=${PORT:-8989}
+
+rm -rf "$WORK"
+java -Djarmode=tools -jar "$JAR" extract --destination "$WORK/application" >/dev/null
+(cd "$WORK/application" && java -XX:ArchiveClassesAtExit=app.jsa -Dspring.context.exit=onRefresh \
+    -Dspring.aot.enabled=true -Ddata.tracker-schema.auto-create=false -jar app.jar >/dev/null)
+
+measure() {
+  local label=$1; shift
+  local total=0
+  for i in $(seq "$RUNS"); do
+    java "$@" -Dserver.port="$PORT" -Ddata.tracker-schema.auto-create=false \
+        -jar "$WORK/application/app.jar" > "$WORK/run.log" 2>&1 &
+    local pid=$!
+    until grep -q "Startup ready in" "$WORK/run.log"; do
+      kill -0 "$pid" 2>/dev/null || { cat "$WORK/run.log"; exit 1; }
+      sleep 0.1
+    done
+    local ms
+    ms=$(grep -o "Startup ready in [0-9]*" "$WORK/run.log" | grep -o "[0-9]*$")
+    total=$((total + ms))
+    kill "$pid"; wait "$pid" 2>/dev/null || true
+  done
+  echo "$label: $((total / RUNS)) ms average over $RUNS runs"
+}
+
+measure "jvm"
+measure "aot" -Dspring.aot.enabled=true
+measure "aot+cds" -Dspring.aot.enabled=true -XX:SharedArchiveFile="$WORK/application/app.jsa"
@@ -0,0 +1,44 @@
+#!/usr/bin/env python3
+"""Minimal YBA stand-in for local runs and smoke tests.
+
+Answers backup submissions with a task UUID, the last-backup listing with no entities
+(so incremental runs plan a full backup), every task poll with Success and the backups of a
+task with one fresh backup.
+
+    scripts/yba-standin.py [port]
+"""
+import json
+import sys
+import uuid
+from http.server import BaseHTTPRequestHandler, ThreadingHTTPServer
+
+
+class Handler(BaseHTTPRequestHandler):
+
+    def _reply(self, body):
+        payload = json.dumps(body).encode()
+        self.send_response(200)
+        self.send_header("Content-Type", "application/json")
+        self.send_header("Content-Length", str(len(payload)))
+        self.end_headers()
+        self.wfile.write(payload)
+
+    def do_POST(self):
+        self.rfile.read(int(self.headers.get("Content-Length", 0)))
+        if "/backups/page" in self.path or "limit=" in self.path:
+            self._reply({"entities": [], "hasNext": False, "totalCount": 0})
+        else:
+            self._reply({"taskUUID": str(uuid.uuid4()), "resourceUUID": str(uuid.uuid4())})
+
+    def do_GET(self):
+        if "/backups/tasks/" in self.path:
+            self._reply([{"commonBackupInfo": {"backupUUID": str(uuid.uuid4()), "state": "Completed"}}])
+        elif "/tasks/" in self.path:
+            self._reply({"status": "Success", "percent": 100.0})
+        else:
+            self._reply({})
+
+
+if __name__ == "__main__":
+    port = int(sys.argv[1]) if len(sys.argv) > 1 else 9000
+    ThreadingHTTPServer(("127.0.0.1", port), Handler).serve_forever()
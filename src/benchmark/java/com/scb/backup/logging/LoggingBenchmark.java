@@ -0,0 +1,106 @@
+package com.scb.backup.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import org.springframework.boot.logging.logback.StructuredLogEncoder;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.io.OutputStream;
+
+/**
+ * Caller-thread cost of the log lines one backup job emits at the production INFO level,
+ * through the {@link StructuredLogEncoder} of {@code logback-spring.xml}, written synchronously
+ * and through the async appender. Output goes to a null stream so only logging overhead is
+ * measured.
+ *
+ *   ./gradlew loggingBenchmark
+ */
+public class LoggingBenchmark {
+
+    private static final int WARMUP_JOBS = 20_000;
+    private static final int MEASURED_JOBS = 100_000;
+    /** Task polls per job, e.g. a 25 minute backup polled every 15 s. */
+    private static final int POLLS_PER_JOB = 100;
+
+    public static void main(String[] args) throws Exception {
+        String format = args.length > 0 ? args[0] : "ecs";
+        report("sync, " + format, context(false, format));
+        report("async, " + format, context(true, format));
+    }
+
+    private static void report(String label, LoggerContext context) {
+        Logger controller = context.getLogger("com.scb.backup.BackupController");
+        Logger dao = context.getLogger("com.scb.backup.dao.BackupDaoService");
+        Logger service = context.getLogger("com.scb.backup.service.BackupService");
+        Logger webClient = context.getLogger("com.scb.backup.config.WebClientConfig");
+        String body = "{\"batch_id\":\"B1\",\"batchCategoryCode\":\"UAM-DB\",\"apiToken\":\"secret\"}";
+
+        for (int i = 0; i < WARMUP_JOBS; i++) {
+            job(controller, dao, service, webClient, body);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_JOBS; i++) {
+            job(controller, dao, service, webClient, body);
+        }
+        long nanosPerJob = (System.nanoTime() - start) / MEASURED_JOBS;
+        System.out.printf("%-18s %,8d ns per job%n", label, nanosPerJob);
+        context.stop();
+    }
+
+    /**
+     * The statements of a backup job as the service makes them; task polls only log at debug.
+     */
+    private static void job(Logger controller, Logger dao, Logger service, Logger webClient, String body) {
+        controller.info("backup request received for db backup");
+        if (controller.isDebugEnabled()) {
+            controller.debug("backup request body - {}", LogRedactor.redactBody(body));
+        }
+        dao.info("Inserting data in Backup Table:");
+        dao.info("Updating the status of backup event for batch_id : {}", "B1");
+        service.info("Backup completed successfully for batch: {}", "B1");
+        for (int poll = 0; poll < POLLS_PER_JOB; poll++) {
+            if (webClient.isDebugEnabled()) {
+                webClient.debug("Request: {} {} headers {}", "GET", "https://yba/api/v1/customers/c1/tasks/t1", "{}");
+            }
+            webClient.debug("Response Status: {}", "200 OK");
+        }
+    }
+
+    private static LoggerContext context(boolean async, String format) {
+        LoggerContext context = new LoggerContext();
+        // the encoder reads its settings from the Spring environment, as LoggingSystem provides it
+        context.putObject(Environment.class.getName(), new StandardEnvironment());
+
+        StructuredLogEncoder encoder = new StructuredLogEncoder();
+        encoder.setContext(context);
+        encoder.setFormat(format);
+        encoder.start();
+        OutputStreamAppender<ILoggingEvent> sink = new OutputStreamAppender<>();
+        sink.setContext(context);
+        sink.setEncoder(encoder);
+        sink.setOutputStream(OutputStream.nullOutputStream());
+        sink.start();
+
+        Appender<ILoggingEvent> appender = sink;
+        if (async) {
+            AsyncAppender asyncAppender = new AsyncAppender();
+            asyncAppender.setContext(context);
+            asyncAppender.setQueueSize(8192);
+            asyncAppender.setNeverBlock(true);
+            asyncAppender.setIncludeCallerData(false);
+            asyncAppender.addAppender(sink);
+            asyncAppender.start();
+            appender = asyncAppender;
+        }
+        Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.setLevel(Level.INFO);
+        root.addAppender(appender);
+        return context;
+    }
+}
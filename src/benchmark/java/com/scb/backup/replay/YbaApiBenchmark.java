@@ -0,0 +1,147 @@
+package com.scb.backup.replay;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.scb.backup.client.WebClientYbaApi;
+import com.scb.backup.client.YbaApi;
+import com.scb.backup.model.YbaDynamicConfig;
+import com.scb.backup.utils.JsonText;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Drives {@link WebClientYbaApi} against the replay server at a fixed job rate - one full
+ * submission followed by task polls until success - and reports call latency percentiles and
+ * achieved throughput. Also compares request body building with Jackson and with
+ * {@link JsonText}.
+ *
+ *   ./gradlew ybaApiBenchmark --args="[jobs per second] [seconds] [latency factor]"
+ */
+public class YbaApiBenchmark {
+
+    private static final String CUSTOMER = "11111111-1111-1111-1111-111111111111";
+    private static final Pattern TASK_UUID = Pattern.compile("\"taskUUID\"\\s*:\\s*\"([^\"]+)\"");
+    private static final int BODY_ITERATIONS = 1_000_000;
+
+    public static void main(String[] args) throws Exception {
+        int rate = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 30;
+        double factor = args.length > 2 ? Double.parseDouble(args[2]) : 1.0;
+
+        bodyBuilding();
+        Path recording = Path.of(YbaReplayServer.SAMPLE_RECORDING);
+        try (YbaReplayServer server = new YbaReplayServer(List.of(recording), 0, factor, null).start()) {
+            replay(server, rate, seconds);
+        }
+    }
+
+    private static void replay(YbaReplayServer server, int rate, int seconds) {
+        String base = server.baseUrl() + "/api/v1/customers/" + CUSTOMER;
+        YbaDynamicConfig config = YbaDynamicConfig.builder()
+                .universeUuid("77777777-7777-7777-7777-777777777777")
+                .storageConfigUuid("88888888-8888-8888-8888-888888888888")
+                .fullBackupUrl(base + "/backups")
+                .taskUrl(base + "/tasks")
+                .backupType("YQL_TABLE_TYPE")
+                .expiryMs(86_400_000L)
+                .keyspaces(List.of("pricing"))
+                .build();
+        YbaApi api = new WebClientYbaApi(WebClient.create());
+        Duration timeout = Duration.ofSeconds(30);
+        ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+
+        long start = System.nanoTime();
+        Long jobs = Flux.interval(Duration.ofNanos(1_000_000_000L / rate))
+                .take((long) rate * seconds)
+                .flatMap(tick -> timed(latencies, api.submitFullBackup(config, "bench", timeout, config.getKeyspaces()))
+                        .flatMap(response -> pollUntilDone(api, config, timeout, taskUuid(response), latencies)),
+                        Integer.MAX_VALUE)
+                .count()
+                .block();
+        double elapsed = (System.nanoTime() - start) / 1e9;
+
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        System.out.printf("jobs %,d in %.1f s (%.0f jobs/s), calls %,d, unmatched %,d%n",
+                jobs, elapsed, jobs / elapsed, sorted.length, server.unmatched());
+        System.out.printf("call latency ms  p50 %.1f  p95 %.1f  p99 %.1f  max %.1f%n",
+                percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99),
+                percentile(sorted, 1.0));
+    }
+
+    private static Mono<String> pollUntilDone(YbaApi api, YbaDynamicConfig config, Duration timeout,
+                                              String taskUuid, ConcurrentLinkedQueue<Long> latencies) {
+        return timed(latencies, api.getTask(config, "bench", timeout, taskUuid))
+                .flatMap(task -> task.contains("\"Success\"")
+                        ? Mono.just(task)
+                        : pollUntilDone(api, config, timeout, taskUuid, latencies));
+    }
+
+    private static Mono<String> timed(ConcurrentLinkedQueue<Long> latencies, Mono<String> call) {
+        return Mono.defer(() -> {
+            long startNanos = System.nanoTime();
+            return call.doOnSuccess(response -> latencies.add(System.nanoTime() - startNanos));
+        });
+    }
+
+    private static String taskUuid(String response) {
+        Matcher matcher = TASK_UUID.matcher(response);
+        if (!matcher.find()) {
+            throw new IllegalStateException("No taskUUID in " + response);
+        }
+        return matcher.group(1);
+    }
+
+    private static double percentile(long[] sortedNanos, double q) {
+        if (sortedNanos.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.min(sortedNanos.length - 1, Math.ceil(q * sortedNanos.length) - 1);
+        return sortedNanos[Math.max(0, index)] / 1e6;
+    }
+
+    private static void bodyBuilding() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        List<String> keyspaces = Arrays.asList("pricing", "curves", "trades");
+        long sink = 0;
+        for (int round = 0; round < 2; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < BODY_ITERATIONS; i++) {
+                ObjectNode body = mapper.createObjectNode();
+                body.put("storageConfigUUID", "88888888-8888-8888-8888-888888888888");
+                body.put("sse", false);
+                body.put("universeUUID", "77777777-7777-7777-7777-777777777777");
+                body.put("timeBeforeDelete", 86_400_000L);
+                keyspaces.forEach(keyspace -> body.withArray("keyspaceTableList").addObject().put("keyspace", keyspace));
+                sink += mapper.writeValueAsString(body).length();
+            }
+            long jackson = (System.nanoTime() - start) / BODY_ITERATIONS;
+
+            start = System.nanoTime();
+            for (int i = 0; i < BODY_ITERATIONS; i++) {
+                String body = JsonText.object()
+                        .field("storageConfigUUID", "88888888-8888-8888-8888-888888888888")
+                        .field("sse", false)
+                        .field("universeUUID", "77777777-7777-7777-7777-777777777777")
+                        .field("timeBeforeDelete", 86_400_000L)
+                        .raw("keyspaceTableList", JsonText.array(keyspaces.stream()
+                                .map(keyspace -> JsonText.object().field("keyspace", keyspace).build())
+                                .toList()))
+                        .build();
+                sink += body.length();
+            }
+            long jsonText = (System.nanoTime() - start) / BODY_ITERATIONS;
+            if (round == 1) {
+                System.out.printf("request body  jackson %,d ns  json text %,d ns  (%d)%n", jackson, jsonText, sink % 10);
+            }
+        }
+    }
+}
@@ -1,16 +1,53 @@
 package com.scb.backup;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scb.backup.dao.BackupDaoService;
 import com.scb.backup.exception.DbBackupException;
+import com.scb.backup.logging.LogRedactor;
+import com.scb.backup.model.BackupEvent;
+import com.scb.backup.model.BackupJobStatus;
+import com.scb.backup.model.BackupRollup;
+import com.scb.backup.model.BackupVerification;
+import com.scb.backup.model.RestoreJobStatus;
+import com.scb.backup.model.RestoreRequest;
+import com.scb.backup.model.RetentionPlan;
+import com.scb.backup.model.StoredBackupResponse;
+import com.scb.backup.model.YbaDynamicConfig;
+import com.scb.backup.service.BackupDrainManager;
+import com.scb.backup.service.BackupEventBus;
+import com.scb.backup.service.BackupJobRegistry;
+import com.scb.backup.service.BackupRetentionService;
+import com.scb.backup.service.BackupRollupService;
+import com.scb.backup.service.BackupVerificationService;
+import com.scb.backup.service.RestoreService;
+import com.scb.backup.service.YbaConfigService;
+import com.scb.backup.utils.AppConstants;
 import com.scb.epricing.batch.core.lib.model.BatchStartResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.util.StopWatch;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import com.scb.backup.service.BackupService;
 
+import java.net.URI;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 @Slf4j
 @RestController
 @RequiredArgsConstructor
@@ -19,17 +56,68 @@ public class BackupController {
     @Autowired
     private BackupService backupService;
 
+    @Autowired
+    private BackupJobRegistry jobRegistry;
+
+    @Autowired
+    private BackupEventBus eventBus;
+
+    @Autowired
+    private BackupRollupService rollupService;
+
+    @Autowired
+    private BackupDrainManager drainManager;
+
+    @Autowired
+    private BackupDaoService backupDaoService;
+
+    @Autowired
+    private RestoreService restoreService;
+
+    @Autowired
+    private BackupVerificationService verificationService;
+
+    @Autowired
+    private BackupRetentionService retentionService;
+
+    @Autowired
+    private YbaConfigService configService;
+
+    @Value("${backup.jobs.status-query-limit:200}")
+    private int statusQueryLimit;
+
+    @Value("${backup.drain.retry-after-seconds:30}")
+    private int drainRetryAfterSeconds;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
     @PostMapping("/backupProcess")
-    public Mono<BatchStartResponse> backupProcess(@RequestBody String json){
-        log.info("backup request received for db backup for job Type-{}",json);
+    public Mono<ResponseEntity<BatchStartResponse>> backupProcess(@RequestBody String json){
+        log.info("backup request received for db backup");
+        if (log.isDebugEnabled()) {
+            log.debug("backup request body - {}", LogRedactor.redactBody(json));
+        }
+        if (drainManager.isDraining()) {
+            log.info("Rejecting backup request, instance is draining");
+            return Mono.just(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(drainRetryAfterSeconds))
+                    .build());
+        }
+        String batchId;
+        try {
+            batchId = mapper.readTree(json).path(AppConstants.BATCH_ID).asText(null);
+        } catch (JsonProcessingException e) {
+            log.warn("Rejecting backup request, body is not valid JSON - {}", e.getOriginalMessage());
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
         return Mono.fromCallable(()->{
             try {
                 StopWatch stopWatch = new StopWatch();
                 stopWatch.start();
                 var response = backupService.execute(json);
                 stopWatch.stop();
-                log.info("Completion time - {} sec");
-                return response;
+                log.debug("Completion time - {} sec", stopWatch.getTotalTimeSeconds());
+                return accepted(batchId, response);
             } catch (Exception e) {
                 log.error("Error occurred during file Transfer : ", e);
                 throw new DbBackupException("Error occurred during backup process: ",e);
@@ -38,4 +126,129 @@ public class BackupController {
         }) .doOnError(throwable -> log.error("Backup process failed - RequestID: {}", throwable));
     }
 
+    @GetMapping("/backups/{batchId}")
+    public Mono<ResponseEntity<BackupJobStatus>> backupStatus(@PathVariable String batchId) {
+        return jobRegistry.find(batchId)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/backups/{batchId}/response")
+    public Mono<ResponseEntity<StoredBackupResponse>> backupResponse(@PathVariable String batchId) {
+        return Mono.fromCallable(() -> backupDaoService.findBackupResponse(batchId))
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/backups/{batchId}/verification")
+    public Mono<ResponseEntity<BackupVerification>> backupVerification(@PathVariable String batchId) {
+        return verificationService.find(batchId)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/backups/retention/{category}")
+    public Mono<ResponseEntity<RetentionPlan>> retentionPlan(@PathVariable String category) {
+        return retentionService.plan(category)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build())
+                .onErrorResume(IllegalArgumentException.class, e -> Mono.just(ResponseEntity.badRequest().build()));
+    }
+
+    /**
+     * Applies the category's retention now instead of waiting for the daily run.
+     */
+    @PostMapping("/backups/retention/{category}")
+    public Mono<ResponseEntity<RetentionPlan>> applyRetention(@PathVariable String category) {
+        YbaDynamicConfig config = configService.resolve(category);
+        if (config == null) {
+            return Mono.just(ResponseEntity.notFound().build());
+        }
+        return retentionService.apply(category, config)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build())
+                .onErrorResume(IllegalArgumentException.class, e -> Mono.just(ResponseEntity.badRequest().build()));
+    }
+
+    @GetMapping("/backups")
+    public Flux<BackupJobStatus> backupsByStatus(@RequestParam(defaultValue = AppConstants.BACKUP_INPROGRESS_STATUS) String status) {
+        return jobRegistry.findByStatus(status.toUpperCase(), statusQueryLimit);
+    }
+
+    @GetMapping(value = "/backups/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<BackupEvent>> backupEvents(@RequestParam(required = false) String batchId) {
+        return eventBus.subscribe()
+                .filter(event -> batchId == null || batchId.equals(event.getBatchId()))
+                .map(event -> ServerSentEvent.builder(event)
+                        .id(String.valueOf(event.getSequence()))
+                        .event(event.getType())
+                        .build());
+    }
+
+    @GetMapping("/backups/analytics")
+    public Mono<List<BackupRollup>> backupAnalytics(@RequestParam(required = false) String category,
+                                                    @RequestParam @DateTimeFormat(pattern = AppConstants.DATE_PATTERN) LocalDate from,
+                                                    @RequestParam @DateTimeFormat(pattern = AppConstants.DATE_PATTERN) LocalDate to) {
+        return Mono.fromCallable(() -> rollupService.rollups(category, from, to))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Starts a restore and answers 202 with its status resource; 400 when the category has no
+     * restorable backup or no target apart from its source keyspaces, 409 while a restore of the
+     * category is in progress.
+     */
+    @PostMapping("/restores")
+    public Mono<ResponseEntity<RestoreJobStatus>> restore(@RequestBody RestoreRequest request) {
+        log.info("restore request received for category: {}", request.getCategoryCode());
+        if (drainManager.isDraining()) {
+            log.info("Rejecting restore request, instance is draining");
+            return Mono.just(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(drainRetryAfterSeconds))
+                    .build());
+        }
+        return Mono.fromCallable(() -> restoreService.restore(request))
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(restore -> ResponseEntity.accepted()
+                        .location(URI.create("/restores/" + restore.getRestoreId()))
+                        .body(restore))
+                .onErrorResume(IllegalArgumentException.class, e -> {
+                    log.warn("Rejecting restore request - {}", e.getMessage());
+                    return Mono.just(ResponseEntity.badRequest().build());
+                })
+                .onErrorResume(IllegalStateException.class, e -> {
+                    log.info("Rejecting restore request - {}", e.getMessage());
+                    return Mono.just(ResponseEntity.status(HttpStatus.CONFLICT).build());
+                });
+    }
+
+    @GetMapping("/restores/{restoreId}")
+    public Mono<ResponseEntity<RestoreJobStatus>> restoreStatus(@PathVariable String restoreId) {
+        return restoreService.find(restoreId)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/restores")
+    public Mono<List<RestoreJobStatus>> restoresByCategory(@RequestParam String category) {
+        return restoreService.findByCategory(category, statusQueryLimit);
+    }
+
+    /**
+     * The backup itself runs asynchronously, so the start response is returned as 202 with the
+     * batch id and a link to its status resource.
+     */
+    private ResponseEntity<BatchStartResponse> accepted(String batchId, BatchStartResponse response) {
+        if (batchId == null) {
+            return ResponseEntity.accepted().body(response);
+        }
+        Map<String, Object> extensionFields = response.getExtensionFields() == null
+                ? new HashMap<>() : new HashMap<>(response.getExtensionFields());
+        extensionFields.put(AppConstants.BATCH_ID, batchId);
+        extensionFields.put(AppConstants.STATUS_URL, "/backups/" + batchId);
+        response.setExtensionFields(extensionFields);
+        return ResponseEntity.accepted().location(URI.create("/backups/" + batchId)).body(response);
+    }
+
 }
@@ -0,0 +1,56 @@
+package com.scb.backup.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.scb.backup.exception.DbBackupException;
+import com.scb.backup.model.YbaDynamicConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reads the token named by {@code api-token-secret} from the dapr sidecar's secret store, the
+ * same store the chart declares in {@code dapr-secrets.yaml}.
+ */
+@Slf4j
+@Component
+public class DaprSecretTokenSource implements YbaTokenSource {
+
+    private final WebClient webClient;
+    private final String secretsUrl;
+    private final String storeName;
+
+    public DaprSecretTokenSource(WebClient webClient,
+                                 @Value("${yba.credentials.dapr.url:http://localhost:${DAPR_HTTP_PORT:3500}/v1.0/secrets}") String secretsUrl,
+                                 @Value("${yba.credentials.dapr.store:${SECRET_STORE_NAME:gcp-secret-manager}}") String storeName) {
+        this.webClient = webClient;
+        this.secretsUrl = secretsUrl;
+        this.storeName = storeName;
+    }
+
+    @Override
+    public String name() {
+        return "dapr";
+    }
+
+    @Override
+    public Mono<String> fetch(YbaDynamicConfig config) {
+        String secretName = config.getApiTokenSecret();
+        return webClient.get()
+                .uri(secretsUrl + "/{store}/{key}", storeName, secretName)
+                .header("Accept", "application/json")
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .flatMap(secret -> {
+                    // dapr returns {"<key>": "<value>"}; single-value stores may use another key
+                    JsonNode value = secret.has(secretName) ? secret.get(secretName) : secret.elements().next();
+                    if (value == null || !StringUtils.hasText(value.asText())) {
+                        return Mono.error(new DbBackupException("Secret " + secretName + " is empty in store " + storeName));
+                    }
+                    return Mono.just(value.asText());
+                })
+                .doOnError(e -> log.error("Unable to read secret: {} from store: {}", secretName, storeName, e));
+    }
+}
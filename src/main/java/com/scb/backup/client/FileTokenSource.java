@@ -0,0 +1,46 @@
+package com.scb.backup.client;
+
+import com.scb.backup.exception.DbBackupException;
+import com.scb.backup.model.YbaDynamicConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Reads the token named by {@code api-token-secret} from a file of that name under
+ * {@code yba.credentials.file.directory}, e.g. a mounted secret volume or a local stand-in for
+ * the dapr store.
+ */
+@Component
+public class FileTokenSource implements YbaTokenSource {
+
+    private final Path directory;
+
+    public FileTokenSource(@Value("${yba.credentials.file.directory:/var/run/secrets/yba}") String directory) {
+        this.directory = Path.of(directory);
+    }
+
+    @Override
+    public String name() {
+        return "file";
+    }
+
+    @Override
+    public Mono<String> fetch(YbaDynamicConfig config) {
+        String secretName = config.getApiTokenSecret();
+        return Mono.fromCallable(() -> {
+                    Path file = directory.resolve(secretName);
+                    try {
+                        return Files.readString(file).trim();
+                    } catch (IOException e) {
+                        throw new DbBackupException("Unable to read YBA token from " + file, e);
+                    }
+                })
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+}
@@ -0,0 +1,153 @@
+package com.scb.backup.client;
+
+import com.scb.backup.model.YbaDynamicConfig;
+import com.scb.backup.utils.JsonText;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Passes calls through to a delegate and appends every answered call to a JSON-lines file as
+ * {@code {method, path, latencyMs, body}}, the format the replay server test fixture serves.
+ * Failed calls are not recorded. Lines are written by a single writer thread, never on the
+ * event loop that answered the call; {@link #close()} writes out what is queued.
+ */
+@Slf4j
+public class RecordingYbaApi implements YbaApi, AutoCloseable {
+
+    private final YbaApi delegate;
+    private final BufferedWriter writer;
+    private final ExecutorService writerThread = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "yba-recorder");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public RecordingYbaApi(YbaApi delegate, Path file) throws IOException {
+        this.delegate = delegate;
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        log.info("Recording YBA traffic to {}", file);
+    }
+
+    @Override
+    public Mono<String> submitFullBackup(YbaDynamicConfig config, String token, Duration timeout, List<String> keyspaces) {
+        return record("POST", config.getFullBackupUrl(),
+                delegate.submitFullBackup(config, token, timeout, keyspaces));
+    }
+
+    @Override
+    public Mono<String> submitIncrementalBackup(YbaDynamicConfig config, String token, Duration timeout,
+                                                String baseBackupUuid, List<String> keyspaces) {
+        return record("POST", config.getIncrementalBackupUrl(),
+                delegate.submitIncrementalBackup(config, token, timeout, baseBackupUuid, keyspaces));
+    }
+
+    @Override
+    public Mono<String> listBackups(YbaDynamicConfig config, String token, Duration timeout, List<String> keyspaceFilter) {
+        return record("POST", config.getLastBackupUrl(),
+                delegate.listBackups(config, token, timeout, keyspaceFilter));
+    }
+
+    @Override
+    public Mono<String> listBackupPage(YbaDynamicConfig config, String token, Duration timeout, int offset, int limit) {
+        return record("POST", config.getBackupPageUrl(),
+                delegate.listBackupPage(config, token, timeout, offset, limit));
+    }
+
+    @Override
+    public Mono<String> editBackupExpiry(YbaDynamicConfig config, String token, Duration timeout, String backupUuid,
+                                         long expiryMs) {
+        return record("PUT", config.getFullBackupUrl() + "/" + backupUuid,
+                delegate.editBackupExpiry(config, token, timeout, backupUuid, expiryMs));
+    }
+
+    @Override
+    public Mono<String> deleteBackups(YbaDynamicConfig config, String token, Duration timeout, List<String> backupUuids) {
+        return record("POST", config.getFullBackupUrl() + "/delete",
+                delegate.deleteBackups(config, token, timeout, backupUuids));
+    }
+
+    @Override
+    public Mono<String> getBackup(YbaDynamicConfig config, String token, Duration timeout, String backupUuid) {
+        return record("GET", config.getFullBackupUrl() + "/" + backupUuid,
+                delegate.getBackup(config, token, timeout, backupUuid));
+    }
+
+    @Override
+    public Mono<String> listBackupsByTask(YbaDynamicConfig config, String token, Duration timeout, String taskUuid) {
+        return record("GET", config.getBackupTaskUrl() + "/" + taskUuid,
+                delegate.listBackupsByTask(config, token, timeout, taskUuid));
+    }
+
+    @Override
+    public Mono<String> submitRestore(YbaDynamicConfig config, String token, Duration timeout, String targetUniverseUuid,
+                                      int parallelism, List<RestoreKeyspace> keyspaces) {
+        return record("POST", config.getRestoreUrl(),
+                delegate.submitRestore(config, token, timeout, targetUniverseUuid, parallelism, keyspaces));
+    }
+
+    @Override
+    public Mono<String> getTask(YbaDynamicConfig config, String token, Duration timeout, String taskUuid) {
+        return record("GET", config.getTaskUrl() + "/" + taskUuid,
+                delegate.getTask(config, token, timeout, taskUuid));
+    }
+
+    private Mono<String> record(String method, String url, Mono<String> call) {
+        return Mono.defer(() -> {
+            long startNanos = System.nanoTime();
+            return call.doOnSuccess(body -> {
+                long latencyMs = Duration.ofNanos(System.nanoTime() - startNanos).toMillis();
+                try {
+                    writerThread.execute(() -> write(method, url, latencyMs, body));
+                } catch (RejectedExecutionException e) {
+                    log.debug("Recorder closed, not recording YBA response of {} {}", method, url);
+                }
+            });
+        });
+    }
+
+    private void write(String method, String url, long latencyMs, String body) {
+        String line = JsonText.object()
+                .field("method", method)
+                .field("path", URI.create(url).getPath())
+                .field("latencyMs", latencyMs)
+                .raw("body", body == null || body.isBlank() ? "null" : body.strip())
+                .build();
+        try {
+            writer.write(line.replace('\n', ' '));
+            writer.newLine();
+            writer.flush();
+        } catch (IOException e) {
+            log.warn("Unable to record YBA response", e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        writerThread.shutdown();
+        try {
+            if (!writerThread.awaitTermination(5, TimeUnit.SECONDS)) {
+                log.warn("Dropping YBA responses still queued for recording");
+                writerThread.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writer.close();
+    }
+}
@@ -0,0 +1,22 @@
+package com.scb.backup.client;
+
+import com.scb.backup.model.YbaDynamicConfig;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * The {@code api-token} bound from the environment at startup; rotating it needs a restart.
+ */
+@Component
+public class StaticTokenSource implements YbaTokenSource {
+
+    @Override
+    public String name() {
+        return "static";
+    }
+
+    @Override
+    public Mono<String> fetch(YbaDynamicConfig config) {
+        return Mono.justOrEmpty(config.getApiToken());
+    }
+}
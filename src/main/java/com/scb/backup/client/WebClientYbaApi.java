@@ -0,0 +1,208 @@
+package com.scb.backup.client;
+
+import com.scb.backup.model.YbaDynamicConfig;
+import com.scb.backup.utils.JsonText;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ClientHttpRequest;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClientRequest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link YbaApi} over the shared {@link WebClient}. Bodies are written as strings and
+ * responses read as strings, so no Jackson tree is built on either side of the call.
+ */
+public class WebClientYbaApi implements YbaApi {
+
+    private static final String TOKEN_HEADER = "X-AUTH-YW-API-TOKEN";
+
+    private final WebClient webClient;
+
+    public WebClientYbaApi(WebClient webClient) {
+        this.webClient = webClient;
+    }
+
+    @Override
+    public Mono<String> submitFullBackup(YbaDynamicConfig config, String token, Duration timeout, List<String> keyspaces) {
+        String body = commonFields(config)
+                .field("universeUUID", config.getUniverseUuid())
+                .field("timeBeforeDelete", config.getExpiryMs())
+                .field("expiryTimeUnit", "MILLISECONDS")
+                .raw("keyspaceTableList", keyspaceTableList(config, keyspaces))
+                .build();
+        return post(config.getFullBackupUrl(), token, timeout, body);
+    }
+
+    @Override
+    public Mono<String> submitIncrementalBackup(YbaDynamicConfig config, String token, Duration timeout,
+                                                String baseBackupUuid, List<String> keyspaces) {
+        JsonText body = commonFields(config)
+                .field("universeUUID", config.getUniverseUuid())
+                .field("baseBackupUUID", baseBackupUuid);
+        if (config.getExpiryMs() != null) {
+            body.field("timeBeforeDelete", config.getExpiryMs())
+                    .field("expiryTimeUnit", "MILLISECONDS");
+        }
+        return post(config.getIncrementalBackupUrl(), token, timeout,
+                body.raw("keyspaceTableList", keyspaceTableList(config, keyspaces)).build());
+    }
+
+    @Override
+    public Mono<String> listBackupPage(YbaDynamicConfig config, String token, Duration timeout, int offset, int limit) {
+        String body = JsonText.object()
+                .field("direction", "DESC")
+                .field("sortBy", "createTime")
+                .raw("filter", JsonText.object().field("universeUUIDList", List.of(config.getUniverseUuid())).build())
+                .field("offset", offset)
+                .field("limit", limit)
+                .build();
+        return post(config.getBackupPageUrl(), token, timeout, body);
+    }
+
+    @Override
+    public Mono<String> editBackupExpiry(YbaDynamicConfig config, String token, Duration timeout, String backupUuid,
+                                         long expiryMs) {
+        String body = JsonText.object()
+                .field("storageConfigUUID", config.getStorageConfigUuid())
+                .field("timeBeforeDeleteFromPresentInMillis", expiryMs)
+                .field("expiryTimeUnit", "MILLISECONDS")
+                .build();
+        return webClient.put()
+                .uri(config.getFullBackupUrl() + "/" + backupUuid)
+                .httpRequest(request -> applyTimeout(request, timeout))
+                .header("Accept", "application/json")
+                .header(TOKEN_HEADER, token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(body)
+                .retrieve()
+                .bodyToMono(String.class);
+    }
+
+    @Override
+    public Mono<String> deleteBackups(YbaDynamicConfig config, String token, Duration timeout, List<String> backupUuids) {
+        List<String> infos = new ArrayList<>(backupUuids.size());
+        for (String backupUuid : backupUuids) {
+            infos.add(JsonText.object()
+                    .field("backupUUID", backupUuid)
+                    .field("storageConfigUUID", config.getStorageConfigUuid())
+                    .build());
+        }
+        String body = JsonText.object()
+                .raw("deleteBackupInfos", JsonText.array(infos))
+                .field("deleteForcefully", false)
+                .build();
+        return post(config.getFullBackupUrl() + "/delete", token, timeout, body);
+    }
+
+
+    @Override
+    public Mono<String> listBackups(YbaDynamicConfig config, String token, Duration timeout, List<String> keyspaceFilter) {
+        JsonText filter = JsonText.object().field("universeUUIDList", List.of(config.getUniverseUuid()));
+        if (keyspaceFilter != null) {
+            filter.field("keyspaceList", keyspaceFilter);
+        }
+        String body = commonFields(config)
+                .field("direction", "DESC")
+                .field("sortBy", "createTime")
+                .field("timeBeforeDelete", config.getExpiryMs())
+                .field("expiryTimeUnit", "MILLISECONDS")
+                .raw("filter", filter.build())
+                .field("limit", 1)
+                .build();
+        return post(config.getLastBackupUrl(), token, timeout, body);
+    }
+
+    /**
+     * The backup's details, read from the backups resource the full backup URL points at.
+     */
+    @Override
+    public Mono<String> getBackup(YbaDynamicConfig config, String token, Duration timeout, String backupUuid) {
+        return get(config.getFullBackupUrl() + "/" + backupUuid, token, timeout);
+    }
+
+    @Override
+    public Mono<String> listBackupsByTask(YbaDynamicConfig config, String token, Duration timeout, String taskUuid) {
+        return get(config.getBackupTaskUrl() + "/" + taskUuid, token, timeout);
+    }
+
+    @Override
+    public Mono<String> submitRestore(YbaDynamicConfig config, String token, Duration timeout, String targetUniverseUuid,
+                                      int parallelism, List<RestoreKeyspace> keyspaces) {
+        List<String> storageInfo = new ArrayList<>(keyspaces.size());
+        for (RestoreKeyspace keyspace : keyspaces) {
+            storageInfo.add(JsonText.object()
+                    .field("backupType", config.getBackupType())
+                    .field("keyspace", keyspace.targetKeyspace())
+                    .field("storageLocation", keyspace.storageLocation())
+                    .field("sse", false)
+                    .build());
+        }
+        JsonText body = JsonText.object()
+                .field("actionType", "RESTORE")
+                .field("category", "YB_CONTROLLER")
+                .field("universeUUID", targetUniverseUuid)
+                .field("storageConfigUUID", config.getStorageConfigUuid())
+                .field("parallelism", parallelism)
+                .raw("backupStorageInfoList", JsonText.array(storageInfo));
+        if (config.getCustomerUuid() != null) {
+            body.field("customerUUID", config.getCustomerUuid());
+        }
+        return post(config.getRestoreUrl(), token, timeout, body.build());
+    }
+
+    @Override
+    public Mono<String> getTask(YbaDynamicConfig config, String token, Duration timeout, String taskUuid) {
+        return get(config.getTaskUrl() + "/" + taskUuid, token, timeout);
+    }
+
+    private Mono<String> get(String url, String token, Duration timeout) {
+        return webClient.get()
+                .uri(url)
+                .httpRequest(request -> applyTimeout(request, timeout))
+                .header("Accept", "application/json")
+                .header(TOKEN_HEADER, token)
+                .retrieve()
+                .bodyToMono(String.class);
+    }
+
+    private Mono<String> post(String url, String token, Duration timeout, String body) {
+        return webClient.post()
+                .uri(url)
+                .httpRequest(request -> applyTimeout(request, timeout))
+                .header("Accept", "application/json")
+                .header(TOKEN_HEADER, token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(body)
+                .retrieve()
+                .bodyToMono(String.class);
+    }
+
+    private static JsonText commonFields(YbaDynamicConfig config) {
+        return JsonText.object()
+                .field("storageConfigUUID", config.getStorageConfigUuid())
+                .field("sse", false)
+                .field("backupType", config.getBackupType())
+                .field("backupCategory", "YB_CONTROLLER");
+    }
+
+    private static String keyspaceTableList(YbaDynamicConfig config, List<String> keyspaces) {
+        List<String> entries = new ArrayList<>(keyspaces.size());
+        for (String keyspace : keyspaces) {
+            JsonText entry = JsonText.object().field("keyspace", keyspace);
+            if (config.getKeyspaceTables() != null && config.getKeyspaceTables().containsKey(keyspace)) {
+                entry.field("tableNameList", config.getKeyspaceTables().get(keyspace));
+            }
+            entries.add(entry.build());
+        }
+        return JsonText.array(entries);
+    }
+
+    private static void applyTimeout(ClientHttpRequest request, Duration timeout) {
+        HttpClientRequest nativeRequest = request.getNativeRequest();
+        nativeRequest.responseTimeout(timeout);
+    }
+}
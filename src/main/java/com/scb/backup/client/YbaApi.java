@@ -0,0 +1,57 @@
+package com.scb.backup.client;
+
+import com.scb.backup.model.YbaDynamicConfig;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * The YBA calls the orchestrator makes, one method per request shape, each answering with the
+ * raw JSON body. Token handling, hedging, circuit and latency tracking stay in
+ * {@link YbaClient}, so implementations only speak the protocol and are easy to replace in
+ * tests and benchmarks.
+ */
+public interface YbaApi {
+
+    /**
+     * One keyspace of a backup to restore: where YBA stored it and the keyspace name to restore it as.
+     */
+    record RestoreKeyspace(String keyspace, String targetKeyspace, String storageLocation) {
+    }
+
+    Mono<String> submitFullBackup(YbaDynamicConfig config, String token, Duration timeout, List<String> keyspaces);
+
+    Mono<String> submitIncrementalBackup(YbaDynamicConfig config, String token, Duration timeout,
+                                         String baseBackupUuid, List<String> keyspaces);
+
+    /**
+     * Most recent backup of the universe, optionally only of the given keyspaces.
+     */
+    Mono<String> listBackups(YbaDynamicConfig config, String token, Duration timeout, List<String> keyspaceFilter);
+
+    /**
+     * One page of the universe's backups, newest first.
+     */
+    Mono<String> listBackupPage(YbaDynamicConfig config, String token, Duration timeout, int offset, int limit);
+
+    /**
+     * Sets the backup to expire {@code expiryMs} from now.
+     */
+    Mono<String> editBackupExpiry(YbaDynamicConfig config, String token, Duration timeout, String backupUuid,
+                                  long expiryMs);
+
+    Mono<String> deleteBackups(YbaDynamicConfig config, String token, Duration timeout, List<String> backupUuids);
+
+    Mono<String> getBackup(YbaDynamicConfig config, String token, Duration timeout, String backupUuid);
+
+    /**
+     * The backups a YBA task created, one per backup.
+     */
+    Mono<String> listBackupsByTask(YbaDynamicConfig config, String token, Duration timeout, String taskUuid);
+
+    Mono<String> submitRestore(YbaDynamicConfig config, String token, Duration timeout, String targetUniverseUuid,
+                               int parallelism, List<RestoreKeyspace> keyspaces);
+
+    Mono<String> getTask(YbaDynamicConfig config, String token, Duration timeout, String taskUuid);
+}
@@ -0,0 +1,110 @@
+package com.scb.backup.client;
+
+import com.scb.backup.config.YbaProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Consecutive-failure circuit per YBA universe. After {@code yba.circuit.failure-threshold}
+ * server errors or connection failures in a row the circuit opens and new submissions fail fast
+ * for {@code yba.circuit.open-ms}. After that the circuit is half-open: a single probe request is
+ * let through while others keep failing fast, and its outcome closes or reopens the circuit. A
+ * probe that reports back within {@code yba.circuit.open-ms} is replaced by the next request.
+ * Client errors (4xx) do not count as failures; YBA answered them.
+ */
+@Slf4j
+@Component
+public class YbaCircuitBreaker {
+
+    private static final class Circuit {
+        private int consecutiveFailures;
+        private long openedAtMillis;
+        private long probeStartedAtMillis;
+    }
+
+    private final YbaProperties props;
+    private final Map<String, Circuit> circuits = new ConcurrentHashMap<>();
+
+    public YbaCircuitBreaker(YbaProperties props) {
+        this.props = props;
+    }
+
+    public boolean allowRequest(String universeUuid) {
+        Circuit circuit = circuits.get(key(universeUuid));
+        if (circuit == null) {
+            return true;
+        }
+        synchronized (circuit) {
+            if (!isOpen(circuit)) {
+                return true;
+            }
+            long now = System.currentTimeMillis();
+            if (now - circuit.openedAtMillis < props.getCircuitOpenMs()
+                    || now - circuit.probeStartedAtMillis < props.getCircuitOpenMs()) {
+                return false;
+            }
+            circuit.probeStartedAtMillis = now;
+            log.info("YBA circuit for universe: {} half-open, letting a probe request through", universeUuid);
+            return true;
+        }
+    }
+
+    public void recordSuccess(String universeUuid) {
+        Circuit circuit = circuits.get(key(universeUuid));
+        if (circuit == null) {
+            return;
+        }
+        synchronized (circuit) {
+            if (isOpen(circuit)) {
+                log.info("YBA circuit for universe: {} closed", universeUuid);
+            }
+            circuit.consecutiveFailures = 0;
+            circuit.probeStartedAtMillis = 0;
+        }
+    }
+
+    public void recordFailure(String universeUuid, Throwable error) {
+        if (error instanceof WebClientResponseException response && response.getStatusCode().is4xxClientError()) {
+            recordSuccess(universeUuid);
+            return;
+        }
+        Circuit circuit = circuits.computeIfAbsent(key(universeUuid), key -> new Circuit());
+        synchronized (circuit) {
+            circuit.consecutiveFailures++;
+            if (circuit.consecutiveFailures >= props.getCircuitFailureThreshold()) {
+                if (circuit.consecutiveFailures == props.getCircuitFailureThreshold()) {
+                    log.warn("YBA circuit for universe: {} opened after {} consecutive failures",
+                            universeUuid, circuit.consecutiveFailures);
+                }
+                circuit.openedAtMillis = System.currentTimeMillis();
+                circuit.probeStartedAtMillis = 0;
+            }
+        }
+    }
+
+    public Set<String> openCircuits() {
+        return circuits.entrySet().stream()
+                .filter(entry -> {
+                    synchronized (entry.getValue()) {
+                        return isOpen(entry.getValue());
+                    }
+                })
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toSet());
+    }
+
+    private boolean isOpen(Circuit circuit) {
+        return circuit.consecutiveFailures >= props.getCircuitFailureThreshold();
+    }
+
+    private static String key(String universeUuid) {
+        return Objects.requireNonNullElse(universeUuid, "");
+    }
+}
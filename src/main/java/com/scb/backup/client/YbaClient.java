@@ -1,30 +1,48 @@
 package com.scb.backup.client;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.scb.backup.dao.BackupDaoService;
+import com.scb.backup.dao.KeyspaceBackupDao;
+import com.scb.backup.exception.DbBackupException;
+import com.scb.backup.exception.PartialSubmissionException;
+import com.scb.backup.exception.UnknownBackupException;
 import com.scb.backup.model.YbaDynamicConfig;
+import com.scb.backup.service.IncrementalChainPlanner;
 import com.scb.backup.service.YbaConfigService;
 import com.scb.backup.utils.AppConstants;
+import com.scb.backup.utils.HedgeBudget;
+import io.netty.handler.timeout.ReadTimeoutException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
-import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
 
 import com.scb.backup.config.YbaProperties;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 
 @Slf4j
 @Component
 public class YbaClient {
 
-    @Autowired
-    private  WebClient webClient;
     @Autowired
     BackupDaoService backupDaoService;
 
@@ -32,11 +50,32 @@ public class YbaClient {
     private YbaProperties props;
     private final ObjectMapper mapper = new ObjectMapper();
 
+    private final YbaApi ybaApi;
     private final YbaConfigService configService;
-    public YbaClient(WebClient webClient, YbaProperties props, YbaConfigService configService) {
-        this.webClient = webClient;
+    private final YbaSubmissionScheduler submissionScheduler;
+    private final IncrementalChainPlanner chainPlanner;
+    private final YbaCredentialProvider credentialProvider;
+    private final YbaCircuitBreaker circuitBreaker;
+    private final YbaLatencyTracker latencyTracker;
+    private final YbaTimeoutPolicy timeoutPolicy;
+    private final HedgeBudget hedgeBudget;
+    private final KeyspaceBackupDao keyspaceBackupDao;
+    public YbaClient(YbaApi ybaApi, YbaProperties props, YbaConfigService configService,
+                     YbaSubmissionScheduler submissionScheduler, IncrementalChainPlanner chainPlanner,
+                     YbaCredentialProvider credentialProvider, YbaCircuitBreaker circuitBreaker,
+                     YbaLatencyTracker latencyTracker, YbaTimeoutPolicy timeoutPolicy, HedgeBudget hedgeBudget,
+                     KeyspaceBackupDao keyspaceBackupDao) {
+        this.ybaApi = ybaApi;
+        this.keyspaceBackupDao = keyspaceBackupDao;
         this.props = props;
         this.configService = configService;
+        this.submissionScheduler = submissionScheduler;
+        this.chainPlanner = chainPlanner;
+        this.credentialProvider = credentialProvider;
+        this.circuitBreaker = circuitBreaker;
+        this.latencyTracker = latencyTracker;
+        this.timeoutPolicy = timeoutPolicy;
+        this.hedgeBudget = hedgeBudget;
     }
 
 
@@ -73,124 +112,358 @@ public class YbaClient {
 //            return null;
 //    }
 
-    public Mono<String> backupInitiate(String categoryCode, Map<String, Object> batchParams) {
-        return Mono.fromCallable(() -> configService.resolve(categoryCode))
-                .switchIfEmpty(Mono.error(new IllegalArgumentException("No configuration found for category: " + categoryCode)))
-                .flatMap(config -> {
+    /**
+     * Submits the backup of an already-tracked category; the tracker row is written by
+     * {@link com.scb.backup.provider.BackupProviderRegistry} before any provider runs.
+     */
+    public Mono<String> backupInitiate(String categoryCode, YbaDynamicConfig config, Map<String, Object> batchParams) {
+        return Mono.defer(() -> {
                     String backupType = config.getBackupCategoryType();
-                    backupDaoService.insertBackupDetails(batchParams, AppConstants.BACKUP_INPROGRESS_STATUS, backupType);
+                    if (!circuitBreaker.allowRequest(config.getUniverseUuid())) {
+                        return Mono.error(new DbBackupException("YBA circuit is open for universe: "
+                                + config.getUniverseUuid() + ", not submitting backup for category: " + categoryCode));
+                    }
 
                     if (AppConstants.FULL_BACKUP.equalsIgnoreCase(backupType)) {
-                        return fullBackup(config);
+                        return submitKeyspaces(config, categoryCode, keyspacesOf(config), Function.identity(),
+                                keyspaces -> fullBackup(config, keyspaces)
+                                        .flatMap(response -> recordSubmission(config, batchParams, keyspaces,
+                                                AppConstants.FULL_BACKUP, response)));
                     } else if (AppConstants.INCREMENTAL_BACKUP.equalsIgnoreCase(backupType)) {
-                        return performIncrementalBackup(config);
+                        return submitKeyspaces(config, categoryCode, keyspacesOf(config), Function.identity(),
+                                keyspaces -> performIncrementalBackup(config, keyspaces, categoryCode, batchParams));
                     } else {
                         return Mono.error(new IllegalArgumentException("Unsupported backup type: " + backupType));
                     }
                 })
-                .map(JsonNode::toString)
                 .doOnError(e -> log.error("Backup initiation failed for category: {}", categoryCode, e));
     }
 
-    private Mono<JsonNode> performIncrementalBackup(YbaDynamicConfig config) {
-        return fetchLastBackup(config)
-                .flatMap(this::extractBaseBackupUuid)
-                .flatMap(uuid -> incrementalBackup(config, uuid));
+    /**
+     * Submits all keyspaces of the category in one scheduled YBA request, or in {@code parallel}
+     * keyspace mode one scheduled request per keyspace, each taking its own universe slot and
+     * permit. Per-keyspace results are aggregated under {@code keyspaceResults}; when only some
+     * keyspaces were accepted the aggregate travels in a {@link PartialSubmissionException}, so
+     * the backups YBA is already running are still recorded and tracked.
+     */
+    private <T> Mono<String> submitKeyspaces(YbaDynamicConfig config, String categoryCode, List<T> keyspaces,
+                                             Function<T, String> keyspaceName,
+                                             Function<List<T>, Mono<JsonNode>> submit) {
+        if (!isParallel(config) || keyspaces.size() == 1) {
+            return submissionScheduler.schedule(config, categoryCode,
+                    () -> submit.apply(keyspaces).map(JsonNode::toString));
+        }
+        return Flux.fromIterable(keyspaces)
+                .flatMapSequential(keyspace -> {
+                    ObjectNode result = mapper.createObjectNode();
+                    result.put("keyspace", keyspaceName.apply(keyspace));
+                    return submissionScheduler.schedule(config, categoryCode,
+                                    () -> submit.apply(List.of(keyspace)).map(JsonNode::toString))
+                            .map(response -> (JsonNode) result.set("response", parse(response)))
+                            .onErrorResume(e -> {
+                                log.warn("YBA rejected keyspace: {} of category: {}", keyspaceName.apply(keyspace), categoryCode, e);
+                                return Mono.just(result.put("error", String.valueOf(e.getMessage())));
+                            });
+                }, keyspaceConcurrency(config))
+                .collectList()
+                .flatMap(results -> {
+                    ObjectNode aggregate = mapper.createObjectNode();
+                    aggregate.putArray("keyspaceResults").addAll(results);
+                    long failed = results.stream().filter(result -> result.has("error")).count();
+                    if (failed == 0) {
+                        return Mono.just(aggregate.toString());
+                    }
+                    String message = failed + " of " + results.size() + " keyspace submissions failed for category: "
+                            + categoryCode + " - " + results.stream().filter(result -> result.has("error"))
+                            .map(result -> result.path("keyspace").asText() + ": " + result.path("error").asText())
+                            .collect(Collectors.joining("; "));
+                    return Mono.error(failed == results.size()
+                            ? new DbBackupException(message)
+                            : new PartialSubmissionException(message, aggregate.toString()));
+                });
+    }
+
+    private static boolean isParallel(YbaDynamicConfig config) {
+        return AppConstants.KEYSPACE_MODE_PARALLEL.equalsIgnoreCase(config.getKeyspaceMode());
+    }
+
+    private int keyspaceConcurrency(YbaDynamicConfig config) {
+        return Math.max(1, Objects.requireNonNullElse(config.getKeyspaceConcurrency(), props.getKeyspaceConcurrency()));
     }
 
-    private Mono<String> extractBaseBackupUuid(JsonNode page) {
-        if (!page.has("entities") || !page.get("entities").isArray() || page.get("entities").size() == 0) {
-            return Mono.error(new RuntimeException("No previous backups found"));
+    private List<String> keyspacesOf(YbaDynamicConfig config) {
+        if (config.getKeyspaces() == null || config.getKeyspaces().isEmpty()) {
+            return List.of(config.getDbName());
         }
+        return config.getKeyspaces();
+    }
+
+    /**
+     * Chains the keyspaces on their latest base backup, or promotes them to a full backup. Only
+     * a submission covering every keyspace of the category changes the type on its tracker row;
+     * per keyspace the type is recorded by {@link #recordSubmission}.
+     */
+    private Mono<JsonNode> performIncrementalBackup(YbaDynamicConfig config, List<String> keyspaces,
+                                                    String categoryCode, Map<String, Object> batchParams) {
+        return fetchLastBackup(config, keyspaces)
+                .flatMap(page -> Mono.fromCallable(() -> chainPlanner.plan(categoryCode, keyspaces, config, page))
+                        .subscribeOn(Schedulers.boundedElastic()))
+                .flatMap(plan -> {
+                    if (plan.full()) {
+                        log.info("Promoting incremental backup of keyspaces: {} for category: {} to full backup - {}",
+                                keyspaces, categoryCode, plan.reason());
+                        return fullBackup(config, keyspaces)
+                                .flatMap(response -> recordSubmission(config, batchParams, keyspaces,
+                                        AppConstants.FULL_BACKUP, response));
+                    }
+                    return incrementalBackup(config, plan.baseBackupUuid(), keyspaces)
+                            .flatMap(response -> recordSubmission(config, batchParams, keyspaces,
+                                    AppConstants.INCREMENTAL_BACKUP, response));
+                });
+    }
+
+    /**
+     * Records the keyspaces of an accepted submission with the type they were backed up as. YBA
+     * is already running the backup, so a failure to record is logged rather than failing it.
+     */
+    private Mono<JsonNode> recordSubmission(YbaDynamicConfig config, Map<String, Object> batchParams,
+                                            List<String> keyspaces, String backupType, JsonNode response) {
+        return Mono.fromRunnable(() -> {
+                    keyspaceBackupDao.recordSubmission(batchParams, keyspaces, backupType,
+                            response.path("taskUUID").asText(null));
+                    if (!backupType.equalsIgnoreCase(config.getBackupCategoryType())
+                            && keyspaces.containsAll(keyspacesOf(config))) {
+                        backupDaoService.updateBackupType(batchParams, backupType);
+                    }
+                })
+                .subscribeOn(Schedulers.boundedElastic())
+                .onErrorResume(e -> {
+                    log.error("Unable to record accepted {} backup of keyspaces: {} for batch: {}", backupType,
+                            keyspaces, batchParams.get(AppConstants.BATCH_ID), e);
+                    return Mono.empty();
+                })
+                .thenReturn(response);
+    }
+
+    private Mono<JsonNode> fullBackup(YbaDynamicConfig config, List<String> keyspaces)  {
+        return withToken(config, token -> timed(config, YbaEndpoint.SUBMIT_FULL,
+                ybaApi.submitFullBackup(config, token, timeoutPolicy.timeoutFor(config, YbaEndpoint.SUBMIT_FULL), keyspaces)
+                        .map(this::parse)));
+    }
+
+    public Mono<JsonNode> fetchLastBackup(YbaDynamicConfig config, List<String> keyspaceFilter) {
+        return withToken(config, token -> hedged(config, YbaEndpoint.LIST_BACKUPS, () ->
+                ybaApi.listBackups(config, token, timeoutPolicy.timeoutFor(config, YbaEndpoint.LIST_BACKUPS), keyspaceFilter)
+                        .map(this::parse)));
+    }
 
-        String uuid = page.path("entities").path(0).path("commonBackupInfo").path("baseBackupUUID").asText(null);
-        if (uuid == null) {
-            return Mono.error(new RuntimeException("Base backup UUID missing"));
+    public Mono<JsonNode> incrementalBackup(YbaDynamicConfig config, String baseBackupUuid, List<String> keyspaces) {
+        return withToken(config, token -> timed(config, YbaEndpoint.SUBMIT_INCREMENTAL,
+                ybaApi.submitIncrementalBackup(config, token,
+                                timeoutPolicy.timeoutFor(config, YbaEndpoint.SUBMIT_INCREMENTAL), baseBackupUuid, keyspaces)
+                        .map(this::parse)));
+    }
+
+    /**
+     * Restores the given backups of the category into the target universe; in {@code parallel}
+     * keyspace mode a category's backup is one backup per keyspace. Restore submissions go through
+     * the {@link YbaSubmissionScheduler} like backups: keyspaces in one YBA request, or in
+     * {@code parallel} keyspace mode one scheduled request per keyspace, each restoring with the
+     * entry's restore parallelism. Fails with an {@link UnknownBackupException} when YBA does not
+     * know one of the backups.
+     *
+     * @param keyspaceFilter  keyspaces to restore, all of the backups' when null or empty
+     * @param keyspaceSuffix  appended to each keyspace name so a drill can restore beside the live data
+     */
+    public Mono<String> restoreInitiate(YbaDynamicConfig config, String categoryCode, List<String> backupUuids,
+                                        String targetUniverseUuid, List<String> keyspaceFilter, String keyspaceSuffix) {
+        if (!circuitBreaker.allowRequest(config.getUniverseUuid())) {
+            return Mono.error(new DbBackupException("YBA circuit is open for universe: "
+                    + config.getUniverseUuid() + ", not submitting restore"));
         }
-        return Mono.just(uuid);
-    }
-    private Mono<JsonNode> fullBackup(YbaDynamicConfig config)  {
-
-        ObjectNode body = mapper.createObjectNode();
-        body.put("storageConfigUUID", config.getStorageConfigUuid());
-        body.put("sse", false);
-        body.put("backupType", config.getBackupType());
-        body.put("backupCategory", "YB_CONTROLLER");
-        body.put("universeUUID", config.getUniverseUuid());
-        body.put("timeBeforeDelete", config.getExpiryMs());
-        body.put("expiryTimeUnit", "MILLISECONDS");
-
-        ArrayNode keyspaces = body.putArray("keyspaceTableList");
-        ObjectNode tableNode = mapper.createObjectNode();
-        tableNode.put("keyspace", config.getDbName());
-        keyspaces.add(tableNode);
-
-
-
-        return webClient.post()
-                .uri(config.getFullBackupUrl())
-                .header("Accept", "application/json")
-                .header("Content-Type", "application/json")
-                .header("X-AUTH-YW-API-TOKEN", config.getApiToken())
-                .contentType(MediaType.APPLICATION_JSON)
-                .bodyValue(body)
-                .retrieve()
-                .bodyToMono(JsonNode.class);
-    }
-
-    public Mono<JsonNode> fetchLastBackup(YbaDynamicConfig config) {
-
-        ObjectNode body = mapper.createObjectNode();
-        body.put("storageConfigUUID", config.getStorageConfigUuid());
-        body.put("sse", false);
-        body.put("backupType", config.getBackupType());
-        body.put("backupCategory", "YB_CONTROLLER");
-        body.put("direction","DESC");
-        body.put("sortBy", "createTime");
-        body.put("timeBeforeDelete", config.getExpiryMs());
-        body.put("expiryTimeUnit", "MILLISECONDS");
-
-        ObjectNode filter = body.putObject("filter");
-        ArrayNode uniList = filter.putArray("universeUUIDList");
-        uniList.add(config.getUniverseUuid());
-        body.put("limit",1);
-
-        return webClient.post()
-                .uri(config.getLastBackupUrl())
-                .header("Accept", "application/json")
-                .header("Content-Type", "application/json")
-                .header("X-AUTH-YW-API-TOKEN", config.getApiToken())
-                .contentType(MediaType.APPLICATION_JSON)
-                .bodyValue(body)
-                .retrieve()
-                .bodyToMono(JsonNode.class);
-    }
-
-
-
-    public Mono<JsonNode> incrementalBackup(YbaDynamicConfig config, String baseBackupUuid) {
-        ObjectNode body = mapper.createObjectNode();
-        body.put("storageConfigUUID", config.getStorageConfigUuid());
-        body.put("sse", false);
-        body.put("backupType", config.getBackupType());
-        body.put("backupCategory", "YB_CONTROLLER");
-        body.put("universeUUID", config.getUniverseUuid());
-        body.put("baseBackupUUID", baseBackupUuid);
-       // body.put("expiryTimeUnit", "MILLISECONDS");
-
-        ArrayNode arr = body.putArray("keyspaceTableList");
-        ObjectNode db = mapper.createObjectNode();
-        db.put("keyspace", config.getDbName());
-        arr.add(db);
-
-        return webClient.post()
-                .uri(config.getIncrementalBackupUrl())
-                .header("Accept", "application/json")
-                .header("Content-Type", "application/json")
-                .header("X-AUTH-YW-API-TOKEN", config.getApiToken())
-                .contentType(MediaType.APPLICATION_JSON)
-                .bodyValue(body)
-                .retrieve()
-                .bodyToMono(JsonNode.class);
+        int parallelism = Math.max(1, Objects.requireNonNullElse(config.getRestoreParallelism(),
+                props.getRestoreParallelism()));
+        return Flux.fromIterable(backupUuids)
+                .concatMap(backupUuid -> fetchBackupInfo(config, backupUuid))
+                .concatMapIterable(backup -> restoreKeyspaces(backup, keyspaceFilter, keyspaceSuffix))
+                .collectList()
+                .flatMap(keyspaces -> {
+                    if (keyspaces.isEmpty()) {
+                        return Mono.error(new DbBackupException("No keyspaces to restore in backups: " + backupUuids));
+                    }
+                    return submitKeyspaces(config, categoryCode, keyspaces, YbaApi.RestoreKeyspace::keyspace,
+                            group -> withToken(config, token -> timed(config, YbaEndpoint.SUBMIT_RESTORE,
+                                    ybaApi.submitRestore(config, token,
+                                                    timeoutPolicy.timeoutFor(config, YbaEndpoint.SUBMIT_RESTORE),
+                                                    targetUniverseUuid, parallelism, group)
+                                            .map(this::parse))));
+                });
+    }
+
+    public Mono<JsonNode> fetchBackup(YbaDynamicConfig config, String backupUuid) {
+        return withToken(config, token -> timed(config, YbaEndpoint.GET_BACKUP,
+                ybaApi.getBackup(config, token, timeoutPolicy.timeoutFor(config, YbaEndpoint.GET_BACKUP), backupUuid)
+                        .map(this::parse)));
+    }
+
+    /**
+     * The backups the YBA task created; a submission's answer names only its task, so this is
+     * where the backup UUIDs of a finished submission come from.
+     */
+    public Mono<JsonNode> fetchBackupsByTask(YbaDynamicConfig config, String taskUuid) {
+        return withToken(config, token -> timed(config, YbaEndpoint.GET_BACKUP,
+                ybaApi.listBackupsByTask(config, token, timeoutPolicy.timeoutFor(config, YbaEndpoint.GET_BACKUP), taskUuid)
+                        .map(this::parse)));
+    }
+
+    /**
+     * The backup's {@code commonBackupInfo}. Fails with an {@link UnknownBackupException} when no
+     * UUID is given, YBA does not know it or answers it without its backup info; there is no
+     * fallback to another backup.
+     */
+    public Mono<JsonNode> fetchBackupInfo(YbaDynamicConfig config, String backupUuid) {
+        if (backupUuid == null) {
+            return Mono.error(new UnknownBackupException("No backup UUID given for universe: " + config.getUniverseUuid()));
+        }
+        return fetchBackup(config, backupUuid)
+                .map(backup -> backup.path("commonBackupInfo"))
+                .filter(info -> !info.isMissingNode())
+                .onErrorMap(e -> e instanceof WebClientResponseException.NotFound
+                                || e instanceof WebClientResponseException.BadRequest,
+                        e -> new UnknownBackupException("Backup: " + backupUuid + " not found in YBA", e))
+                .switchIfEmpty(Mono.error(() -> new UnknownBackupException("YBA returned no backup info for backup: "
+                        + backupUuid)));
+    }
+
+    private List<YbaApi.RestoreKeyspace> restoreKeyspaces(JsonNode backupInfo, List<String> keyspaceFilter,
+                                                          String keyspaceSuffix) {
+        String state = backupInfo.path("state").asText();
+        if (!"Completed".equalsIgnoreCase(state)) {
+            throw new DbBackupException("Backup: " + backupInfo.path("backupUUID").asText() + " is not restorable, state: " + state);
+        }
+        List<YbaApi.RestoreKeyspace> keyspaces = new ArrayList<>();
+        for (JsonNode response : backupInfo.path("responseList")) {
+            String keyspace = response.path("keyspace").asText();
+            if (keyspaceFilter != null && !keyspaceFilter.isEmpty() && !keyspaceFilter.contains(keyspace)) {
+                continue;
+            }
+            String location = response.hasNonNull("storageLocation")
+                    ? response.path("storageLocation").asText() : response.path("defaultLocation").asText();
+            keyspaces.add(new YbaApi.RestoreKeyspace(keyspace,
+                    keyspaceSuffix == null ? keyspace : keyspace + keyspaceSuffix, location));
+        }
+        return keyspaces;
+    }
+
+    public Mono<JsonNode> fetchBackupPage(YbaDynamicConfig config, int offset, int limit) {
+        return withToken(config, token -> timed(config, YbaEndpoint.LIST_BACKUPS,
+                ybaApi.listBackupPage(config, token, timeoutPolicy.timeoutFor(config, YbaEndpoint.LIST_BACKUPS), offset, limit)
+                        .map(this::parse)));
+    }
+
+    public Mono<JsonNode> updateBackupExpiry(YbaDynamicConfig config, String backupUuid, long expiryMs) {
+        return withToken(config, token -> timed(config, YbaEndpoint.EDIT_BACKUP,
+                ybaApi.editBackupExpiry(config, token, timeoutPolicy.timeoutFor(config, YbaEndpoint.EDIT_BACKUP),
+                                backupUuid, expiryMs)
+                        .map(this::parse)));
+    }
+
+    public Mono<JsonNode> deleteBackups(YbaDynamicConfig config, List<String> backupUuids) {
+        return withToken(config, token -> timed(config, YbaEndpoint.DELETE_BACKUPS,
+                ybaApi.deleteBackups(config, token, timeoutPolicy.timeoutFor(config, YbaEndpoint.DELETE_BACKUPS), backupUuids)
+                        .map(this::parse)));
+    }
+
+    public Mono<JsonNode> fetchTask(YbaDynamicConfig config, String taskUuid) {
+        return withToken(config, token -> timed(config, YbaEndpoint.TASK,
+                ybaApi.getTask(config, token, timeoutPolicy.timeoutFor(config, YbaEndpoint.TASK), taskUuid)
+                        .map(this::parse)));
+    }
+
+    private JsonNode parse(String response) {
+        try {
+            return mapper.readTree(response);
+        } catch (JsonProcessingException e) {
+            throw new DbBackupException("Unparseable YBA response: " + e.getOriginalMessage(), e);
+        }
+    }
+
+    /**
+     * Records the latency of every call YBA answered, successfully or not, and of timed-out
+     * ones at the time they gave up, so a slowing YBA pushes the adaptive timeout up instead of
+     * timing out forever. Requests that never reached YBA, and hedge losers, are not counted.
+     */
+    private Mono<JsonNode> timed(YbaDynamicConfig config, YbaEndpoint endpoint, Mono<JsonNode> request) {
+        return Mono.defer(() -> {
+            long startNanos = System.nanoTime();
+            return request
+                    .doOnSuccess(response -> latencyTracker.record(config.getUniverseUuid(), endpoint,
+                            Duration.ofNanos(System.nanoTime() - startNanos)))
+                    .doOnError(e -> {
+                        if (!(e instanceof WebClientRequestException) || e.getCause() instanceof ReadTimeoutException) {
+                            latencyTracker.record(config.getUniverseUuid(), endpoint,
+                                    Duration.ofNanos(System.nanoTime() - startNanos));
+                        }
+                    });
+        });
+    }
+
+    /**
+     * For idempotent reads only. When the call has not answered within the configured
+     * percentile of the universe's recent latency, an identical second call is sent and the
+     * first successful answer wins; hedges are capped by the hedge budget. The call fails only
+     * when both fail, or when the first fails before the hedge is sent, and always with the
+     * first call's error, so the 401 retry and the circuit still see the original failure.
+     */
+    private Mono<JsonNode> hedged(YbaDynamicConfig config, YbaEndpoint endpoint, Supplier<Mono<JsonNode>> request) {
+        if (!Objects.requireNonNullElse(config.getHedgeReads(), props.isHedgeEnabled())) {
+            return timed(config, endpoint, Mono.defer(request));
+        }
+        hedgeBudget.onRequest();
+        Optional<Duration> recent = latencyTracker.percentile(config.getUniverseUuid(), endpoint, props.getHedgePercentile());
+        if (recent.isEmpty()) {
+            return timed(config, endpoint, Mono.defer(request));
+        }
+        Duration delay = recent.get().compareTo(Duration.ofMillis(props.getHedgeMinDelayMs())) < 0
+                ? Duration.ofMillis(props.getHedgeMinDelayMs()) : recent.get();
+        return Mono.defer(() -> {
+            AtomicReference<Throwable> primaryError = new AtomicReference<>();
+            Sinks.One<Boolean> primaryFailed = Sinks.one();
+            Mono<JsonNode> primary = timed(config, endpoint, Mono.defer(request))
+                    .doOnError(e -> {
+                        primaryError.set(e);
+                        primaryFailed.tryEmitValue(true);
+                    });
+            Mono<JsonNode> hedge = Mono.delay(delay)
+                    .takeUntilOther(primaryFailed.asMono())
+                    .flatMap(tick -> {
+                        if (!hedgeBudget.tryAcquire()) {
+                            return Mono.empty();
+                        }
+                        log.debug("Hedging YBA {} call for universe: {} after {} ms",
+                                endpoint, config.getUniverseUuid(), delay.toMillis());
+                        return timed(config, endpoint, Mono.defer(request));
+                    });
+            return Mono.firstWithValue(primary, hedge)
+                    .onErrorMap(NoSuchElementException.class, e -> Objects.requireNonNullElse(primaryError.get(), e));
+        });
+    }
+
+    /**
+     * Sends the request with the current API token; on 401 the cached token is dropped and the
+     * request is retried once with a freshly fetched one, so a rotated token needs no restart.
+     * The outcome feeds the universe's circuit.
+     */
+    private Mono<JsonNode> withToken(YbaDynamicConfig config, Function<String, Mono<JsonNode>> request) {
+        return credentialProvider.token(config)
+                .flatMap(request)
+                .onErrorResume(WebClientResponseException.Unauthorized.class, e -> {
+                    log.warn("YBA rejected the API token for universe: {}, retrying with a refreshed token",
+                            config.getUniverseUuid());
+                    credentialProvider.invalidate(config);
+                    return credentialProvider.token(config).flatMap(request);
+                })
+                .doOnSuccess(response -> circuitBreaker.recordSuccess(config.getUniverseUuid()))
+                .doOnError(e -> circuitBreaker.recordFailure(config.getUniverseUuid(), e));
     }
 }
@@ -0,0 +1,84 @@
+package com.scb.backup.client;
+
+import com.scb.backup.config.YbaProperties;
+import com.scb.backup.exception.DbBackupException;
+import com.scb.backup.model.YbaDynamicConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * YBA API tokens for entries that name an {@code api-token-secret}, cached per secret for
+ * {@code yba.credentials.ttl-ms}. Requests inside the refresh-ahead window still get the cached
+ * token while a single background fetch replaces it, so a rotated token is picked up without a
+ * restart and without a secret lookup per request. Entries without a secret name use the
+ * static {@code api-token}.
+ */
+@Slf4j
+@Component
+public class YbaCredentialProvider {
+
+    private record CachedToken(String token, Instant expiresAt) {
+    }
+
+    private final YbaTokenSource tokenSource;
+    private final YbaProperties props;
+    private final Map<String, CachedToken> tokens = new ConcurrentHashMap<>();
+    private final Map<String, Mono<String>> fetches = new ConcurrentHashMap<>();
+
+    public YbaCredentialProvider(List<YbaTokenSource> tokenSources, YbaProperties props,
+                                 @Value("${yba.credentials.source:static}") String sourceName) {
+        this.tokenSource = tokenSources.stream()
+                .filter(source -> source.name().equalsIgnoreCase(sourceName))
+                .findFirst()
+                .orElseThrow(() -> new DbBackupException("Unknown yba.credentials.source: " + sourceName));
+        this.props = props;
+        log.info("Reading YBA API tokens from the {} source", tokenSource.name());
+    }
+
+    public Mono<String> token(YbaDynamicConfig config) {
+        String secretName = config.getApiTokenSecret();
+        if (!StringUtils.hasText(secretName)) {
+            return Mono.justOrEmpty(config.getApiToken());
+        }
+        CachedToken cached = tokens.get(secretName);
+        Instant now = Instant.now();
+        if (cached == null || !now.isBefore(cached.expiresAt())) {
+            return fetch(secretName, config);
+        }
+        if (!now.isBefore(cached.expiresAt().minusMillis(props.getCredentialsRefreshAheadMs()))) {
+            fetch(secretName, config).subscribe(token -> { },
+                    e -> log.warn("Refresh-ahead of YBA token: {} failed, keeping the cached token", secretName, e));
+        }
+        return Mono.just(cached.token());
+    }
+
+    /**
+     * Drops the cached token, e.g. after YBA rejected it, so the next call fetches a fresh one.
+     */
+    public void invalidate(YbaDynamicConfig config) {
+        if (StringUtils.hasText(config.getApiTokenSecret())) {
+            tokens.remove(config.getApiTokenSecret());
+        }
+    }
+
+    /**
+     * One fetch per secret at a time; concurrent callers share its result.
+     */
+    private Mono<String> fetch(String secretName, YbaDynamicConfig config) {
+        return fetches.computeIfAbsent(secretName, key -> tokenSource.fetch(config)
+                .switchIfEmpty(Mono.error(new DbBackupException("No YBA API token found for secret: " + key)))
+                .doOnNext(token -> tokens.put(key, new CachedToken(token,
+                        Instant.now().plusMillis(props.getCredentialsTtlMs()))))
+                .doFinally(signal -> fetches.remove(key))
+                .cache());
+    }
+}
@@ -0,0 +1,15 @@
+package com.scb.backup.client;
+
+/**
+ * Kinds of YBA calls, tracked separately because their latencies differ by orders of magnitude.
+ */
+public enum YbaEndpoint {
+    SUBMIT_FULL,
+    SUBMIT_INCREMENTAL,
+    LIST_BACKUPS,
+    GET_BACKUP,
+    EDIT_BACKUP,
+    DELETE_BACKUPS,
+    SUBMIT_RESTORE,
+    TASK
+}
@@ -0,0 +1,74 @@
+package com.scb.backup.client;
+
+import com.scb.backup.config.YbaProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sliding window of the most recent YBA call latencies per universe and {@link YbaEndpoint},
+ * so a slow universe does not set the timeouts and hedge delays of the others. Percentiles are
+ * read from a sorted copy of the window, which is small enough to sort on every read.
+ */
+@Component
+public class YbaLatencyTracker {
+
+    private static final class Window {
+        private final long[] samples;
+        private int next;
+        private int size;
+
+        private Window(int capacity) {
+            this.samples = new long[capacity];
+        }
+    }
+
+    private final YbaProperties props;
+    private final Map<String, Map<YbaEndpoint, Window>> windows = new ConcurrentHashMap<>();
+
+    public YbaLatencyTracker(YbaProperties props) {
+        this.props = props;
+    }
+
+    public void record(String universeUuid, YbaEndpoint endpoint, Duration latency) {
+        Window window = window(universeUuid, endpoint);
+        synchronized (window) {
+            window.samples[window.next] = latency.toMillis();
+            window.next = (window.next + 1) % window.samples.length;
+            window.size = Math.min(window.size + 1, window.samples.length);
+        }
+    }
+
+    /**
+     * @return the latency at the quantile, empty until {@code yba.latency.min-samples} calls were seen
+     */
+    public Optional<Duration> percentile(String universeUuid, YbaEndpoint endpoint, double quantile) {
+        Window window = window(universeUuid, endpoint);
+        long[] sorted;
+        synchronized (window) {
+            if (window.size < props.getLatencyMinSamples()) {
+                return Optional.empty();
+            }
+            sorted = Arrays.copyOf(window.samples, window.size);
+        }
+        Arrays.sort(sorted);
+        int index = (int) Math.min(sorted.length - 1, Math.max(0, Math.ceil(quantile * sorted.length) - 1));
+        return Optional.of(Duration.ofMillis(sorted[index]));
+    }
+
+    private Window window(String universeUuid, YbaEndpoint endpoint) {
+        return windows.computeIfAbsent(Objects.requireNonNullElse(universeUuid, ""), universe -> {
+            Map<YbaEndpoint, Window> byEndpoint = new EnumMap<>(YbaEndpoint.class);
+            for (YbaEndpoint each : YbaEndpoint.values()) {
+                byEndpoint.put(each, new Window(Math.max(1, props.getLatencyWindowSize())));
+            }
+            return byEndpoint;
+        }).get(endpoint);
+    }
+}
@@ -0,0 +1,218 @@
+package com.scb.backup.client;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scb.backup.config.YbaProperties;
+import com.scb.backup.model.YbaDynamicConfig;
+import com.scb.backup.service.BackupDurationPredictor;
+import com.scb.backup.service.YbaConfigService;
+import com.scb.backup.utils.AppConstants;
+import com.scb.backup.utils.TokenBucket;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Gates YBA backup submissions per universe. Each universe gets a token bucket for the
+ * submission rate and a cap on concurrent submissions; queued work is ordered full backups
+ * first, then by weighted fair queuing across categories so one busy category cannot
+ * starve the others, and among equals longest predicted duration first.
+ * <p>
+ * A slot is held from submission until the YBA tasks the submission created have finished
+ * (bounded by {@code yba.task.max-poll-duration-ms}), so the concurrency cap limits running
+ * backups, not just in-flight HTTP calls. Entries without a {@code task-url} release their
+ * slot once YBA answers, as their tasks are not followed.
+ */
+@Slf4j
+@Component
+public class YbaSubmissionScheduler {
+
+    private final YbaProperties props;
+    private final BackupDurationPredictor durationPredictor;
+    private final YbaConfigService configService;
+    private final YbaTaskCompletions taskCompletions;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final Map<String, UniverseLane> lanes = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    public YbaSubmissionScheduler(YbaProperties props, BackupDurationPredictor durationPredictor,
+                                  YbaConfigService configService, YbaTaskCompletions taskCompletions) {
+        this.props = props;
+        this.durationPredictor = durationPredictor;
+        this.configService = configService;
+        this.taskCompletions = taskCompletions;
+    }
+
+    public Mono<String> schedule(YbaDynamicConfig config, String categoryCode, Supplier<Mono<String>> submission) {
+        String universe = Objects.requireNonNullElse(config.getUniverseUuid(), "");
+        return Mono.create(sink -> {
+            UniverseLane lane = lanes.computeIfAbsent(universe, this::newLane);
+            PendingSubmission pending = lane.enqueue(categoryCode, config, submission, sink);
+            sink.onCancel(() -> lane.cancel(pending));
+            lane.dispatch();
+        });
+    }
+
+    /**
+     * Submissions waiting for a permit or a free slot, across all universes.
+     */
+    public int queuedSubmissions() {
+        return lanes.values().stream().mapToInt(UniverseLane::queued).sum();
+    }
+
+    private UniverseLane newLane(String universe) {
+        double rate = props.getSchedulerPermitsPerSecond();
+        int maxConcurrent = props.getSchedulerMaxConcurrentPerUniverse();
+        for (YbaDynamicConfig db : configService.all().values()) {
+            if (!universe.equals(Objects.requireNonNullElse(db.getUniverseUuid(), ""))) {
+                continue;
+            }
+            if (db.getSubmissionsPerSecond() != null) {
+                rate = Math.min(rate, db.getSubmissionsPerSecond());
+            }
+            if (db.getMaxConcurrentBackups() != null) {
+                maxConcurrent = Math.min(maxConcurrent, db.getMaxConcurrentBackups());
+            }
+        }
+        log.info("YBA submission lane for universe: {} - rate {}/s, burst {}, max concurrent {}",
+                universe, rate, props.getSchedulerBurst(), maxConcurrent);
+        return new UniverseLane(universe, new TokenBucket(rate, props.getSchedulerBurst()), Math.max(1, maxConcurrent));
+    }
+
+    private record PendingSubmission(long seq, String categoryCode, boolean full, boolean tracked,
+                                     double virtualStart, double virtualFinish, long predictedMs,
+                                     Supplier<Mono<String>> submission, MonoSink<String> sink) {
+    }
+
+    /**
+     * Completes when every task created by the submission has finished, at once when the
+     * entry's tasks are not tracked or the response carries none.
+     */
+    private Mono<Void> tasksOf(PendingSubmission pending, String response) {
+        if (!pending.tracked() || response == null) {
+            return Mono.empty();
+        }
+        List<String> taskUuids;
+        try {
+            taskUuids = mapper.readTree(response).findValuesAsText("taskUUID");
+        } catch (JsonProcessingException e) {
+            return Mono.empty();
+        }
+        // registered before the caller sees the response, so no completion can be missed
+        return Mono.when(taskUuids.stream().map(taskCompletions::await).toList())
+                .timeout(Duration.ofMillis(props.getTaskMaxPollDurationMs()), Mono.empty());
+    }
+
+    private final class UniverseLane {
+
+        private final String universe;
+        private final TokenBucket bucket;
+        private final int maxConcurrent;
+        private final PriorityQueue<PendingSubmission> queue = new PriorityQueue<>(
+                Comparator.comparing(PendingSubmission::full).reversed()
+                        .thenComparingDouble(PendingSubmission::virtualFinish)
+                        .thenComparing(Comparator.comparingLong(PendingSubmission::predictedMs).reversed())
+                        .thenComparingLong(PendingSubmission::seq));
+        private final Map<String, Double> lastFinishByCategory = new HashMap<>();
+        private double virtualTime;
+        private int active;
+        private boolean refillScheduled;
+
+        private UniverseLane(String universe, TokenBucket bucket, int maxConcurrent) {
+            this.universe = universe;
+            this.bucket = bucket;
+            this.maxConcurrent = maxConcurrent;
+        }
+
+        synchronized PendingSubmission enqueue(String categoryCode, YbaDynamicConfig config,
+                                               Supplier<Mono<String>> submission, MonoSink<String> sink) {
+            int weight = Math.max(1, Objects.requireNonNullElse(config.getSchedulingWeight(), 1));
+            double start = Math.max(virtualTime, lastFinishByCategory.getOrDefault(categoryCode, 0d));
+            double finish = start + 1d / weight;
+            lastFinishByCategory.put(categoryCode, finish);
+            boolean full = AppConstants.FULL_BACKUP.equalsIgnoreCase(config.getBackupCategoryType());
+            boolean tracked = StringUtils.hasText(config.getTaskUrl());
+            PendingSubmission pending = new PendingSubmission(sequence.incrementAndGet(), categoryCode, full, tracked,
+                    start, finish, durationPredictor.predictedMillis(categoryCode), submission, sink);
+            queue.add(pending);
+            log.debug("Queued YBA submission for category: {} on universe: {}, queue depth {}",
+                    categoryCode, universe, queue.size());
+            return pending;
+        }
+
+        synchronized void cancel(PendingSubmission pending) {
+            queue.remove(pending);
+        }
+
+        synchronized int queued() {
+            return queue.size();
+        }
+
+        void dispatch() {
+            while (true) {
+                PendingSubmission next;
+                synchronized (this) {
+                    if (queue.isEmpty() || active >= maxConcurrent) {
+                        return;
+                    }
+                    long waitMillis = bucket.millisUntilNextPermit();
+                    if (waitMillis > 0 || !bucket.tryAcquire()) {
+                        scheduleRefill(Math.max(1, waitMillis));
+                        return;
+                    }
+                    next = queue.poll();
+                    virtualTime = Math.max(virtualTime, next.virtualStart());
+                    active++;
+                }
+                start(next);
+            }
+        }
+
+        private void start(PendingSubmission pending) {
+            log.debug("Submitting YBA backup for category: {} on universe: {}", pending.categoryCode(), universe);
+            Mono.defer(pending.submission())
+                    .flatMap(response -> {
+                        Mono<Void> tasks = tasksOf(pending, response);
+                        pending.sink().success(response);
+                        return tasks;
+                    })
+                    .doFinally(signal -> release())
+                    .subscribe(unused -> { }, pending.sink()::error, pending.sink()::success);
+        }
+
+        private void release() {
+            synchronized (this) {
+                active--;
+            }
+            dispatch();
+        }
+
+        private synchronized void scheduleRefill(long delayMillis) {
+            if (refillScheduled) {
+                return;
+            }
+            refillScheduled = true;
+            Schedulers.parallel().schedule(() -> {
+                synchronized (this) {
+                    refillScheduled = false;
+                }
+                dispatch();
+            }, delayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+}
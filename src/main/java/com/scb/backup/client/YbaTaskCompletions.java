@@ -0,0 +1,35 @@
+package com.scb.backup.client;
+
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Completion signals of YBA tasks, raised by the task tracker when it stops following a task
+ * and awaited by the submission scheduler, which holds the universe slot of a backup until its
+ * tasks are done.
+ */
+@Component
+public class YbaTaskCompletions {
+
+    private final Map<String, Sinks.Empty<Void>> completions = new ConcurrentHashMap<>();
+
+    /**
+     * Completes once {@link #finished(String)} is called for the task; await before the
+     * tracker starts polling it.
+     */
+    public Mono<Void> await(String taskUuid) {
+        return completions.computeIfAbsent(taskUuid, uuid -> Sinks.empty()).asMono()
+                .doFinally(signal -> completions.remove(taskUuid));
+    }
+
+    public void finished(String taskUuid) {
+        Sinks.Empty<Void> completion = completions.remove(taskUuid);
+        if (completion != null) {
+            completion.tryEmitEmpty();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.scb.backup.client;
+
+import com.scb.backup.config.YbaProperties;
+import com.scb.backup.model.YbaDynamicConfig;
+import com.scb.backup.model.YbaTimeoutConfig;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Response timeout per YBA call, adapted from observed latency: the
+ * {@code yba.latency.timeout-percentile} of the endpoint's recent calls on the universe times
+ * the factor, clamped to the bounds in {@code yba.timeouts.<endpoint>}. Entries in
+ * {@code yba.databases} can override the factor and the upper bound. Until enough calls were
+ * seen the static {@code yba.read.timeout} is used, clamped the same way.
+ */
+@Component
+public class YbaTimeoutPolicy {
+
+    private static final YbaTimeoutConfig DEFAULT_BOUNDS = new YbaTimeoutConfig();
+
+    private final YbaProperties props;
+    private final YbaLatencyTracker latencyTracker;
+
+    public YbaTimeoutPolicy(YbaProperties props, YbaLatencyTracker latencyTracker) {
+        this.props = props;
+        this.latencyTracker = latencyTracker;
+    }
+
+    public Duration timeoutFor(YbaDynamicConfig config, YbaEndpoint endpoint) {
+        YbaTimeoutConfig bounds = props.getTimeouts().getOrDefault(endpoint, DEFAULT_BOUNDS);
+        double factor = Objects.requireNonNullElse(config.getTimeoutFactor(), bounds.getFactor());
+        long maxMs = Objects.requireNonNullElse(config.getMaxTimeoutMs(), bounds.getMaxMs());
+        long minMs = Math.min(bounds.getMinMs(), maxMs);
+        long timeoutMs = latencyTracker.percentile(config.getUniverseUuid(), endpoint, props.getLatencyTimeoutPercentile())
+                .map(latency -> Math.round(latency.toMillis() * factor))
+                .orElse((long) props.getReadTimeout());
+        return Duration.ofMillis(Math.max(minMs, Math.min(maxMs, timeoutMs)));
+    }
+}
@@ -0,0 +1,17 @@
+package com.scb.backup.client;
+
+import com.scb.backup.model.YbaDynamicConfig;
+import reactor.core.publisher.Mono;
+
+/**
+ * Where YBA API tokens are read from. The source whose {@link #name()} matches
+ * {@code yba.credentials.source} is picked at runtime rather than through conditional beans,
+ * which AOT processing would fix at build time. Results are cached by
+ * {@link YbaCredentialProvider}, so implementations may be slow.
+ */
+public interface YbaTokenSource {
+
+    String name();
+
+    Mono<String> fetch(YbaDynamicConfig config);
+}
@@ -0,0 +1,21 @@
+package com.scb.backup.config;
+
+import com.scb.backup.model.YbaDynamicConfig;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Map;
+
+/**
+ * Backup entries declared under {@code backup.targets}, the provider-neutral name for
+ * {@code yba.databases}. Both maps are read; an entry under {@code backup.targets} replaces a
+ * {@code yba.databases} entry with the same key.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "backup")
+public class BackupTargetProperties {
+
+    private Map<String, YbaDynamicConfig> targets;
+}
@@ -0,0 +1,54 @@
+package com.scb.backup.config;
+
+import com.scb.backup.model.BackupEvent;
+import com.scb.backup.model.BackupJobStatus;
+import com.scb.backup.model.BackupRollup;
+import com.scb.backup.model.BackupVerification;
+import com.scb.backup.model.RestoreJobStatus;
+import com.scb.backup.model.RestoreRequest;
+import com.scb.backup.model.RetentionPlan;
+import com.scb.backup.model.StoredBackupResponse;
+import com.scb.backup.model.YbaDynamicConfig;
+import com.scb.backup.model.YbaTimeoutConfig;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Reflection and resource hints for the native image. Covers the Jackson-bound models,
+ * property binding into {@link YbaProperties} and {@link BackupTargetProperties}, the Lombok builder of
+ * {@link YbaDynamicConfig}, the batch-core library models the batch framework reads and
+ * writes, and the tracker migration scripts. Runs at build time during AOT processing.
+ */
+public class NativeHints implements RuntimeHintsRegistrar {
+
+    private static final String BATCH_CORE_MODEL_PACKAGE = "com.scb.epricing.batch.core.lib.model";
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        BindingReflectionHintsRegistrar bindingHints = new BindingReflectionHintsRegistrar();
+        bindingHints.registerReflectionHints(hints.reflection(),
+                BackupJobStatus.class, BackupEvent.class, BackupRollup.class, StoredBackupResponse.class,
+                RestoreJobStatus.class, RestoreRequest.class, BackupVerification.class,
+                RetentionPlan.class);
+
+        for (Class<?> type : new Class<?>[]{YbaProperties.class, BackupTargetProperties.class, YbaDynamicConfig.class,
+                YbaDynamicConfig.YbaDynamicConfigBuilder.class, YbaTimeoutConfig.class}) {
+            hints.reflection().registerType(type, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_DECLARED_METHODS, MemberCategory.DECLARED_FIELDS);
+        }
+
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter((reader, factory) -> true);
+        for (BeanDefinition model : scanner.findCandidateComponents(BATCH_CORE_MODEL_PACKAGE)) {
+            bindingHints.registerReflectionHints(hints.reflection(),
+                    ClassUtils.resolveClassName(model.getBeanClassName(), classLoader));
+        }
+
+        hints.resources().registerPattern("db/tracker/*.sql");
+    }
+}
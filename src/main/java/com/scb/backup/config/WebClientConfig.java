@@ -1,7 +1,7 @@
 package com.scb.backup.config;
 
+import com.scb.backup.logging.LogRedactor;
 import io.netty.channel.ChannelOption;
-import io.netty.handler.timeout.ReadTimeoutHandler;
 import io.netty.handler.timeout.WriteTimeoutHandler;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -28,10 +28,10 @@ public class WebClientConfig {
                 .clientConnector(new ReactorClientHttpConnector(
                         HttpClient.create()
                                 .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, ybaProperties.getConnectionTimeout())
+                                // default only; YbaClient sets an adaptive response timeout per request
                                 .responseTimeout(Duration.ofMillis(ybaProperties.getReadTimeout()))
                                 .doOnConnected(conn ->
-                                        conn.addHandlerLast(new ReadTimeoutHandler(ybaProperties.getReadTimeout(), TimeUnit.MILLISECONDS))
-                                                .addHandlerLast(new WriteTimeoutHandler(ybaProperties.getReadTimeout(), TimeUnit.MILLISECONDS)))
+                                        conn.addHandlerLast(new WriteTimeoutHandler(ybaProperties.getReadTimeout(), TimeUnit.MILLISECONDS)))
                 ))
                 .filter(ExchangeFilterFunction.ofRequestProcessor(this::logRequest))
                 .filter(ExchangeFilterFunction.ofResponseProcessor(this::logResponse))
@@ -39,7 +39,9 @@ public class WebClientConfig {
     }
 
     private Mono<ClientRequest> logRequest(ClientRequest request) {
-        log.debug("Request: {} {}", request.method(), request.url());
+        if (log.isDebugEnabled()) {
+            log.debug("Request: {} {} headers {}", request.method(), request.url(), LogRedactor.redact(request.headers()));
+        }
         return Mono.just(request);
     }
 
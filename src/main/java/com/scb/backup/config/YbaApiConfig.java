@@ -0,0 +1,39 @@
+package com.scb.backup.config;
+
+import com.scb.backup.client.RecordingYbaApi;
+import com.scb.backup.client.WebClientYbaApi;
+import com.scb.backup.client.YbaApi;
+import com.scb.backup.utils.HedgeBudget;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Wires the YBA protocol layer and the budget shared by all hedged YBA reads. Recording is
+ * switched on at runtime by {@code yba.recording.directory} rather than by a conditional bean,
+ * so the AOT and native builds keep both options.
+ */
+@Configuration
+public class YbaApiConfig {
+
+    @Bean
+    public YbaApi ybaApi(WebClient webClient,
+                         @Value("${yba.recording.directory:}") String recordingDirectory) throws IOException {
+        YbaApi api = new WebClientYbaApi(webClient);
+        if (!StringUtils.hasText(recordingDirectory)) {
+            return api;
+        }
+        Path file = Path.of(recordingDirectory, "yba-" + System.currentTimeMillis() + ".jsonl");
+        return new RecordingYbaApi(api, file);
+    }
+
+    @Bean
+    public HedgeBudget hedgeBudget(YbaProperties props) {
+        return new HedgeBudget(props.getHedgeBudgetRatio(), props.getHedgeBudgetBurst());
+    }
+}
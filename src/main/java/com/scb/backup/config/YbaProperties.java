@@ -1,12 +1,15 @@
 package com.scb.backup.config;
 
+import com.scb.backup.client.YbaEndpoint;
 import com.scb.backup.model.YbaDynamicConfig;
+import com.scb.backup.model.YbaTimeoutConfig;
 import lombok.Data;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.validation.annotation.Validated;
 
+import java.util.EnumMap;
 import java.util.Map;
 
 @Data
@@ -17,6 +20,8 @@ public class YbaProperties {
 
     private Map<String, YbaDynamicConfig> databases;
 
+    private Map<YbaEndpoint, YbaTimeoutConfig> timeouts = new EnumMap<>(YbaEndpoint.class);
+
 
     @Value("${yba.connection.timeout:30000}")
     private int connectionTimeout;
@@ -26,4 +31,76 @@ public class YbaProperties {
 
     @Value("${yba.retry.max-attempts:3}")
     private int maxRetryAttempts;
+
+    @Value("${yba.scheduler.permits-per-second:0.5}")
+    private double schedulerPermitsPerSecond;
+
+    @Value("${yba.scheduler.burst:2}")
+    private int schedulerBurst;
+
+    @Value("${yba.scheduler.max-concurrent-per-universe:2}")
+    private int schedulerMaxConcurrentPerUniverse;
+
+    @Value("${yba.keyspace.concurrency:4}")
+    private int keyspaceConcurrency;
+
+    @Value("${yba.chain.max-length:24}")
+    private int chainMaxLength;
+
+    @Value("${yba.chain.max-age-ms:604800000}")
+    private long chainMaxAgeMs;
+
+    @Value("${yba.chain.max-size-bytes:0}")
+    private long chainMaxSizeBytes;
+
+    @Value("${yba.chain.expiry-margin-ms:3600000}")
+    private long chainExpiryMarginMs;
+
+    @Value("${yba.task.poll-interval-ms:15000}")
+    private long taskPollIntervalMs;
+
+    @Value("${yba.task.max-poll-duration-ms:21600000}")
+    private long taskMaxPollDurationMs;
+
+    @Value("${yba.restore.parallelism:8}")
+    private int restoreParallelism;
+
+    @Value("${yba.schedule.missed-fire-grace-minutes:360}")
+    private long scheduleMissedFireGraceMinutes;
+
+    @Value("${yba.credentials.ttl-ms:900000}")
+    private long credentialsTtlMs;
+
+    @Value("${yba.credentials.refresh-ahead-ms:120000}")
+    private long credentialsRefreshAheadMs;
+
+    @Value("${yba.circuit.failure-threshold:5}")
+    private int circuitFailureThreshold;
+
+    @Value("${yba.circuit.open-ms:60000}")
+    private long circuitOpenMs;
+
+    @Value("${yba.latency.window-size:256}")
+    private int latencyWindowSize;
+
+    @Value("${yba.latency.min-samples:20}")
+    private int latencyMinSamples;
+
+    @Value("${yba.latency.timeout-percentile:0.99}")
+    private double latencyTimeoutPercentile;
+
+    @Value("${yba.hedge.enabled:false}")
+    private boolean hedgeEnabled;
+
+    @Value("${yba.hedge.percentile:0.95}")
+    private double hedgePercentile;
+
+    @Value("${yba.hedge.min-delay-ms:200}")
+    private long hedgeMinDelayMs;
+
+    @Value("${yba.hedge.budget-ratio:0.1}")
+    private double hedgeBudgetRatio;
+
+    @Value("${yba.hedge.budget-burst:5}")
+    private double hedgeBudgetBurst;
 }
@@ -1,32 +1,126 @@
 package com.scb.backup.dao;
 
 import com.scb.backup.exception.DbBackupException;
+import com.scb.backup.model.BackupJobStatus;
+import com.scb.backup.model.StoredBackupResponse;
 import com.scb.backup.utils.AppConstants;
+import com.scb.backup.utils.AppUtils;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
 
+import java.nio.charset.StandardCharsets;
 import java.sql.Timestamp;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Slf4j
 @Repository
 @RequiredArgsConstructor
+@DependsOn("trackerSchemaManager")
 public class BackupDaoService {
 
-    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final PreparedStatementCache statementCache;
+    private final BackupResponseCodec responseCodec;
+
+    public record DurationSample(String categoryCode, long durationMs) {
+    }
 
     @Value("${data.db-schedule-backup-insert.query}")
     String insertScheduleBackup;
 
+    @Value("${data.tracker-unique-index.query}")
+    String trackerUniqueIndexQuery;
+
+    @Value("${backup.tracker.verify-unique-index:true}")
+    boolean verifyUniqueIndex;
+
+    @Value("${backup.tracker.stale-after-ms:21600000}")
+    long staleAfterMs;
+
     @Value("${data.update-schedule-backup.query}")
     String updateDbackupStatus;
-    public void insertBackupDetails(Map<String,Object> backupDetails,String backupStatus,String backupType) {
+
+    @Value("${data.active-schedule-backup.query}")
+    String activeBackupCount;
+
+    @Value("${data.update-schedule-backup-type.query}")
+    String updateBackupTypeQuery;
+
+    @Value("${data.incremental-chain-length.query}")
+    String incrementalChainLength;
+
+    @Value("${data.find-schedule-backup.query}")
+    String findBackupQuery;
+
+    @Value("${data.find-schedule-backup-by-status.query}")
+    String findBackupsByStatusQuery;
+
+    @Value("${data.recent-backup-durations.query}")
+    String recentDurationsQuery;
+
+    @Value("${data.update-schedule-backup-task-duration.query}")
+    String updateTaskDurationQuery;
+
+    @Value("${data.update-schedule-backup-uuid.query}")
+    String updateBackupUuidQuery;
+
+    @Value("${data.find-schedule-backup-response.query}")
+    String findBackupResponseQuery;
+
+    private final RowMapper<BackupJobStatus> jobStatusMapper = (rs, rowNum) -> BackupJobStatus.builder()
+            .batchId(rs.getString("batch_id"))
+            .categoryCode(rs.getString("backup_job_categorycode"))
+            .status(rs.getString("backup_status"))
+            .backupType(rs.getString("backup_type"))
+            .businessDate(AppUtils.getBusinessDate(String.valueOf(rs.getDate("business_date"))))
+            .startTime(toLocalDateTime(rs.getTimestamp("start_time")))
+            .endTime(toLocalDateTime(rs.getTimestamp("end_time")))
+            .taskUuid(rs.getString("task_uuid"))
+            .backupUuid(rs.getString("backup_uuid"))
+            .build();
+
+    @PostConstruct
+    public void init() {
+        statementCache.precompile(List.of(insertScheduleBackup, updateDbackupStatus, activeBackupCount,
+                updateBackupTypeQuery, incrementalChainLength, findBackupQuery, findBackupsByStatusQuery,
+                recentDurationsQuery, updateTaskDurationQuery, updateBackupUuidQuery,
+                findBackupResponseQuery));
+        requireUniqueIndex();
+    }
+
+    /**
+     * The tracker insert upserts on the (category, business date) unique index and fails on
+     * every call without it, so a missing index stops startup instead.
+     */
+    private void requireUniqueIndex() {
+        if (!verifyUniqueIndex) {
+            log.warn("Not verifying the tracker's unique index on (category, business date)");
+            return;
+        }
+        Integer count = statementCache.queryForObject(trackerUniqueIndexQuery, Map.of(), Integer.class);
+        if (count == null || count == 0) {
+            throw new DbBackupException("Unique index uq_db_schedule_event_tracker_category_date is missing on the tracker table;"
+                    + " enable data.tracker-schema.auto-create or apply the db/tracker migrations");
+        }
+    }
+
+    /**
+     * Claims the tracker row for the category and business date. A FAILED row is taken over, as
+     * is an IN_PROGRESS row older than {@code backup.tracker.stale-after-ms}, which is left
+     * behind when an instance dies mid-submission.
+     *
+     * @return false when another request already holds an in-progress or successful backup for them
+     */
+    public boolean insertBackupDetails(Map<String,Object> backupDetails,String backupStatus,String backupType) {
         log.info("Inserting data in Backup Table:");
         try {
             backupDetails.put("batch_id",backupDetails.get(AppConstants.BATCH_ID));
@@ -35,25 +129,174 @@ public class BackupDaoService {
             backupDetails.put("backupType",backupType);
             backupDetails.put("business_date",AppConstants.BUSINESS_DATE);
             backupDetails.put("start_time", Timestamp.valueOf(LocalDateTime.now()));
-            jdbcTemplate.update(insertScheduleBackup,backupDetails);
+            backupDetails.put("staleBefore", Timestamp.valueOf(LocalDateTime.now().minus(Duration.ofMillis(staleAfterMs))));
+            return statementCache.update(insertScheduleBackup,backupDetails) > 0;
         } catch (Exception e) {
             log.error("Unable to Insert data in Backup Table ",e);
             throw new DbBackupException("Unable to Insert data in Backup Table",e);
         }
     }
 
-    public void updateBackupStatus(String batch_id, String status, Date businessDate,String ydbResponse) {
+    public void updateBackupStatus(String batch_id, String status, Date businessDate, BackupResponseCodec.Encoded ydbResponse) {
         log.info("Updating the status of backup event for batch_id : {}",batch_id);
         Map<String, Object> param = new HashMap<>();
         try {
             param.put("batch_id", batch_id);
             param.put("status", status);
             param.put("businessDate", new java.sql.Date(businessDate.getTime()));
-            param.put("ydbResponse",ydbResponse);
-            jdbcTemplate.update(updateDbackupStatus, param);    }
+            param.put("ydbResponse", ydbResponse.text());
+            param.put("ydbResponseGz", ydbResponse.compressed());
+            param.put("ydbResponseSha256", ydbResponse.sha256());
+            param.put("ydbResponseLength", ydbResponse.length());
+            param.put("taskUuid", ydbResponse.taskUuid());
+            param.put("backupUuid", ydbResponse.backupUuid());
+            statementCache.update(updateDbackupStatus, param);    }
         catch (Exception e) {
             log.error("Unable to update data in backup Table for batch_id : {}",batch_id,e);
             throw new DbBackupException("Error updating batch execution status for batch_id: {}" + batch_id, e);
         }
     }
+
+    public BackupJobStatus findBackup(String batchId) {
+        try {
+            List<BackupJobStatus> rows = statementCache.query(findBackupQuery, Map.of("batch_id", batchId), jobStatusMapper);
+            return rows.isEmpty() ? null : rows.get(0);
+        } catch (Exception e) {
+            log.error("Unable to read backup Table for batch_id : {}", batchId, e);
+            throw new DbBackupException("Error reading backup status for batch_id: " + batchId, e);
+        }
+    }
+
+    /**
+     * The stored YBA response of the job, decompressed; null when the job is unknown.
+     */
+    public StoredBackupResponse findBackupResponse(String batchId) {
+        try {
+            List<StoredBackupResponse> rows = statementCache.query(findBackupResponseQuery, Map.of("batch_id", batchId),
+                    (rs, rowNum) -> {
+                        String response = responseCodec.decode(rs.getString("backup_response"), rs.getBytes("backup_response_gz"));
+                        int length = rs.getInt("backup_response_length");
+                        Integer originalLength = rs.wasNull() ? null : length;
+                        return StoredBackupResponse.builder()
+                                .batchId(rs.getString("batch_id"))
+                                .taskUuid(rs.getString("task_uuid"))
+                                .backupUuid(rs.getString("backup_uuid"))
+                                .response(response)
+                                .truncated(response != null && originalLength != null
+                                        && response.getBytes(StandardCharsets.UTF_8).length < originalLength)
+                                .sha256(rs.getString("backup_response_sha256"))
+                                .originalLength(originalLength)
+                                .build();
+                    });
+            return rows.isEmpty() ? null : rows.get(0);
+        } catch (Exception e) {
+            log.error("Unable to read backup response for batch_id : {}", batchId, e);
+            throw new DbBackupException("Error reading backup response for batch_id: " + batchId, e);
+        }
+    }
+
+    public List<BackupJobStatus> findBackupsByStatus(String status, int limit) {
+        try {
+            return statementCache.query(findBackupsByStatusQuery, Map.of("status", status, "limit", limit), jobStatusMapper);
+        } catch (Exception e) {
+            log.error("Unable to read backup Table for status : {}", status, e);
+            throw new DbBackupException("Error reading backups in status: " + status, e);
+        }
+    }
+
+    /**
+     * Task durations of successful tracked backups started within the given number of days.
+     */
+    public List<DurationSample> findRecentDurations(int days) {
+        try {
+            return statementCache.query(recentDurationsQuery,
+                    Map.of("status", AppConstants.BACKUP_SUCCESS_STATUS,
+                            "since", Timestamp.valueOf(LocalDateTime.now().minusDays(days))),
+                    (rs, rowNum) -> new DurationSample(rs.getString("backup_job_categorycode"), rs.getLong("task_duration_ms")));
+        } catch (Exception e) {
+            log.error("Unable to read backup durations from backup Table", e);
+            throw new DbBackupException("Error reading backup durations", e);
+        }
+    }
+
+    /**
+     * Time from acceptance until the backup's YBA tasks finished.
+     */
+    public void updateTaskDuration(String batchId, Date businessDate, long durationMs) {
+        Map<String, Object> param = new HashMap<>();
+        try {
+            param.put("batch_id", batchId);
+            param.put("businessDate", new java.sql.Date(businessDate.getTime()));
+            param.put("durationMs", durationMs);
+            statementCache.update(updateTaskDurationQuery, param);
+        } catch (Exception e) {
+            log.error("Unable to update task duration in backup Table for batch_id : {}", batchId, e);
+            throw new DbBackupException("Error updating task duration for batch_id: " + batchId, e);
+        }
+    }
+
+    /**
+     * The backup the YBA task created, on the tracker row that holds the task.
+     */
+    public void updateBackupUuid(String batchId, String taskUuid, String backupUuid) {
+        Map<String, Object> param = new HashMap<>();
+        try {
+            param.put("batch_id", batchId);
+            param.put("taskUuid", taskUuid);
+            param.put("backupUuid", backupUuid);
+            statementCache.update(updateBackupUuidQuery, param);
+        } catch (Exception e) {
+            log.error("Unable to update backup uuid in backup Table for batch_id : {}", batchId, e);
+            throw new DbBackupException("Error updating backup uuid for batch_id: " + batchId, e);
+        }
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+
+    public void updateBackupType(Map<String, Object> backupDetails, String backupType) {
+        Map<String, Object> param = new HashMap<>();
+        try {
+            param.put("batch_id", backupDetails.get(AppConstants.BATCH_ID));
+            param.put("businessDate", backupDetails.get(AppConstants.BUSINESS_DATE));
+            param.put("backupType", backupType);
+            statementCache.update(updateBackupTypeQuery, param);
+        } catch (Exception e) {
+            log.error("Unable to update backup type in backup Table for batch_id : {}", backupDetails.get(AppConstants.BATCH_ID), e);
+            throw new DbBackupException("Error updating backup type for batch_id: " + backupDetails.get(AppConstants.BATCH_ID), e);
+        }
+    }
+
+    /**
+     * Number of successful incremental backups recorded for the category since its last successful full backup.
+     */
+    public int countIncrementalsSinceLastFull(String categoryCode) {
+        Map<String, Object> param = new HashMap<>();
+        try {
+            param.put("batchCategory", categoryCode);
+            param.put("fullBackupType", AppConstants.FULL_BACKUP);
+            param.put("incrementalBackupType", AppConstants.INCREMENTAL_BACKUP);
+            param.put("status", AppConstants.BACKUP_SUCCESS_STATUS);
+            Integer count = statementCache.queryForObject(incrementalChainLength, param, Integer.class);
+            return count == null ? 0 : count;
+        } catch (Exception e) {
+            log.error("Unable to read backup Table for category : {}", categoryCode, e);
+            throw new DbBackupException("Error reading incremental chain for category: " + categoryCode, e);
+        }
+    }
+
+    public boolean hasActiveBackup(String categoryCode, String businessDate) {
+        Map<String, Object> param = new HashMap<>();
+        try {
+            param.put("batchCategory", categoryCode);
+            param.put("businessDate", new java.sql.Date(AppUtils.toDate(businessDate).getTime()));
+            param.put("staleBefore", Timestamp.valueOf(LocalDateTime.now().minus(Duration.ofMillis(staleAfterMs))));
+            Integer count = statementCache.queryForObject(activeBackupCount, param, Integer.class);
+            return count != null && count > 0;
+        } catch (Exception e) {
+            log.error("Unable to read backup Table for category : {}", categoryCode, e);
+            throw new DbBackupException("Error reading backup status for category: " + categoryCode, e);
+        }
+    }
 }
@@ -0,0 +1,111 @@
+package com.scb.backup.dao;
+
+import com.scb.backup.exception.DbBackupException;
+import com.scb.backup.utils.JPathUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * How YBA responses and failure messages are stored in the tracker. The task UUID, and the
+ * backup UUID when the payload names one, go to typed columns; the payload is kept as text
+ * when small, gzip-compressed when it compresses under the cap, and otherwise truncated, with
+ * the SHA-256 and length of the original kept so a truncated payload can still be matched
+ * against YBA.
+ */
+@Component
+public class BackupResponseCodec {
+
+    public record Encoded(String taskUuid, String backupUuid, String text, byte[] compressed,
+                          String sha256, Integer length) {
+    }
+
+    private final int inlineMaxBytes;
+    private final int compressedMaxBytes;
+    private final int truncateChars;
+
+    public BackupResponseCodec(@Value("${backup.response.inline-max-bytes:512}") int inlineMaxBytes,
+                               @Value("${backup.response.compressed-max-bytes:16384}") int compressedMaxBytes,
+                               @Value("${backup.response.truncate-chars:1024}") int truncateChars) {
+        this.inlineMaxBytes = inlineMaxBytes;
+        this.compressedMaxBytes = compressedMaxBytes;
+        this.truncateChars = truncateChars;
+    }
+
+    public Encoded encode(String response) {
+        if (response == null) {
+            return new Encoded(null, null, null, null, null, null);
+        }
+        byte[] bytes = response.getBytes(StandardCharsets.UTF_8);
+        String taskUuid = firstValue(response, "$..taskUUID");
+        // a submit answer's resourceUUID is the universe; backup UUIDs are resolved once its task completes
+        String backupUuid = firstValue(response, "$..backupUUID");
+        String sha256 = sha256(bytes);
+        if (bytes.length <= inlineMaxBytes) {
+            return new Encoded(taskUuid, backupUuid, response, null, sha256, bytes.length);
+        }
+        byte[] compressed = gzip(bytes);
+        if (compressed.length <= compressedMaxBytes) {
+            return new Encoded(taskUuid, backupUuid, null, compressed, sha256, bytes.length);
+        }
+        return new Encoded(taskUuid, backupUuid, response.substring(0, Math.min(response.length(), truncateChars)),
+                null, sha256, bytes.length);
+    }
+
+    /**
+     * The stored payload; truncated text comes back as stored.
+     */
+    public String decode(String text, byte[] compressed) {
+        if (compressed == null) {
+            return text;
+        }
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new DbBackupException("Unable to decompress stored backup response", e);
+        }
+    }
+
+    /**
+     * First match only; parallel keyspace runs keep the other task UUIDs in the payload.
+     */
+    private static String firstValue(String response, String expression) {
+        String trimmed = response.stripLeading();
+        if (!trimmed.startsWith("{") && !trimmed.startsWith("[")) {
+            return null;
+        }
+        Object value = JPathUtils.get(response, expression);
+        if (value instanceof List<?> values && !values.isEmpty() && values.get(0) != null) {
+            return values.get(0).toString();
+        }
+        return null;
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new DbBackupException("Unable to compress backup response", e);
+        }
+        return out.toByteArray();
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new DbBackupException("SHA-256 is not available", e);
+        }
+    }
+}
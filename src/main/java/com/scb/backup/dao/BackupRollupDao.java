@@ -0,0 +1,88 @@
+package com.scb.backup.dao;
+
+import com.scb.backup.exception.DbBackupException;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class BackupRollupDao {
+
+    public record RollupRow(String categoryCode, LocalDate businessDate, long jobCount, long failureCount,
+                            long totalDurationMs, long totalBytes, long[] durationHistogram) {
+    }
+
+    private final PreparedStatementCache statementCache;
+
+    @Value("${data.upsert-backup-rollup.query}")
+    String upsertRollup;
+
+    @Value("${data.find-backup-rollup.query}")
+    String findRollup;
+
+    @PostConstruct
+    public void init() {
+        statementCache.precompile(List.of(upsertRollup, findRollup));
+    }
+
+    /**
+     * Adds the given counts to the category's rollup row for the business date, creating it if needed.
+     */
+    public void addToRollup(String categoryCode, LocalDate businessDate, long jobCount, long failureCount,
+                            long durationMs, long bytes, Long[] histogram) {
+        Map<String, Object> param = new HashMap<>();
+        try {
+            param.put("batchCategory", categoryCode);
+            param.put("businessDate", Date.valueOf(businessDate));
+            param.put("jobCount", jobCount);
+            param.put("failureCount", failureCount);
+            param.put("durationMs", durationMs);
+            param.put("bytes", bytes);
+            param.put("histogram", histogram);
+            statementCache.update(upsertRollup, param);
+        } catch (Exception e) {
+            log.error("Unable to update backup rollup for category : {}", categoryCode, e);
+            throw new DbBackupException("Error updating backup rollup for category: " + categoryCode, e);
+        }
+    }
+
+    public List<RollupRow> findRollups(String categoryCode, LocalDate from, LocalDate to) {
+        Map<String, Object> param = new HashMap<>();
+        param.put("batchCategory", categoryCode);
+        param.put("fromDate", Date.valueOf(from));
+        param.put("toDate", Date.valueOf(to));
+        try {
+            return statementCache.query(findRollup, param, (rs, rowNum) -> new RollupRow(
+                    rs.getString("backup_job_categorycode"),
+                    rs.getDate("business_date").toLocalDate(),
+                    rs.getLong("job_count"),
+                    rs.getLong("failure_count"),
+                    rs.getLong("total_duration_ms"),
+                    rs.getLong("total_bytes"),
+                    toLongs(rs.getArray("duration_histogram"))));
+        } catch (Exception e) {
+            log.error("Unable to read backup rollup for category : {}", categoryCode, e);
+            throw new DbBackupException("Error reading backup rollup for category: " + categoryCode, e);
+        }
+    }
+
+    private static long[] toLongs(Array array) throws java.sql.SQLException {
+        Object[] values = (Object[]) array.getArray();
+        long[] longs = new long[values.length];
+        for (int i = 0; i < values.length; i++) {
+            longs[i] = values[i] == null ? 0 : ((Number) values[i]).longValue();
+        }
+        return longs;
+    }
+}
@@ -0,0 +1,116 @@
+package com.scb.backup.dao;
+
+import com.scb.backup.exception.DbBackupException;
+import com.scb.backup.model.BackupVerification;
+import com.scb.backup.utils.AppUtils;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class BackupVerificationDao {
+
+    private final PreparedStatementCache statementCache;
+
+    @Value("${data.upsert-backup-verification.query}")
+    String upsertVerification;
+
+    @Value("${data.find-backup-verification.query}")
+    String findVerificationQuery;
+
+    @Value("${data.previous-verified-backup-bytes.query}")
+    String previousBytesQuery;
+
+    @PostConstruct
+    public void init() {
+        statementCache.precompile(List.of(upsertVerification, findVerificationQuery, previousBytesQuery));
+    }
+
+    public void saveVerification(BackupVerification verification) {
+        Map<String, Object> param = new HashMap<>();
+        try {
+            param.put("batch_id", verification.getBatchId());
+            param.put("batchCategory", verification.getCategoryCode());
+            param.put("businessDate", new java.sql.Date(AppUtils.toDate(verification.getBusinessDate()).getTime()));
+            param.put("backupType", verification.getBackupType());
+            param.put("backupUuid", verification.getBackupUuid());
+            param.put("status", verification.getStatus());
+            param.put("backupState", verification.getBackupState());
+            param.put("backupBytes", verification.getBackupBytes());
+            param.put("previousBytes", verification.getPreviousBytes());
+            param.put("keyspaces", join(verification.getKeyspaces()));
+            param.put("missingKeyspaces", join(verification.getMissingKeyspaces()));
+            param.put("message", verification.getMessage());
+            statementCache.update(upsertVerification, param);
+        } catch (Exception e) {
+            log.error("Unable to save backup verification for batch_id : {}", verification.getBatchId(), e);
+            throw new DbBackupException("Error saving backup verification for batch_id: " + verification.getBatchId(), e);
+        }
+    }
+
+    public BackupVerification findVerification(String batchId) {
+        try {
+            List<BackupVerification> rows = statementCache.query(findVerificationQuery, Map.of("batch_id", batchId),
+                    (rs, rowNum) -> {
+                        long bytes = rs.getLong("backup_bytes");
+                        Long backupBytes = rs.wasNull() ? null : bytes;
+                        long previous = rs.getLong("previous_bytes");
+                        Long previousBytes = rs.wasNull() ? null : previous;
+                        Timestamp verifiedAt = rs.getTimestamp("verified_at");
+                        return BackupVerification.builder()
+                                .batchId(rs.getString("batch_id"))
+                                .categoryCode(rs.getString("backup_job_categorycode"))
+                                .businessDate(AppUtils.getBusinessDate(String.valueOf(rs.getDate("business_date"))))
+                                .backupType(rs.getString("backup_type"))
+                                .backupUuid(rs.getString("backup_uuid"))
+                                .status(rs.getString("verification_status"))
+                                .backupState(rs.getString("backup_state"))
+                                .backupBytes(backupBytes)
+                                .previousBytes(previousBytes)
+                                .keyspaces(split(rs.getString("keyspaces")))
+                                .missingKeyspaces(split(rs.getString("missing_keyspaces")))
+                                .message(rs.getString("message"))
+                                .verifiedAt(verifiedAt == null ? null : verifiedAt.toLocalDateTime())
+                                .build();
+                    });
+            return rows.isEmpty() ? null : rows.get(0);
+        } catch (Exception e) {
+            log.error("Unable to read backup verification for batch_id : {}", batchId, e);
+            throw new DbBackupException("Error reading backup verification for batch_id: " + batchId, e);
+        }
+    }
+
+    /**
+     * Size of the last backup of the category and type that passed verification, null when none did.
+     */
+    public Long findPreviousBytes(String categoryCode, String backupType, String excludeBatchId) {
+        Map<String, Object> param = new HashMap<>();
+        try {
+            param.put("batchCategory", categoryCode);
+            param.put("backupType", backupType);
+            param.put("batch_id", excludeBatchId);
+            return statementCache.queryForObject(previousBytesQuery, param, Long.class);
+        } catch (Exception e) {
+            log.error("Unable to read previous backup size for category : {}", categoryCode, e);
+            throw new DbBackupException("Error reading previous backup size for category: " + categoryCode, e);
+        }
+    }
+
+    private static String join(List<String> values) {
+        return values == null ? null : String.join(",", values);
+    }
+
+    private static List<String> split(String value) {
+        return value == null || value.isEmpty() ? List.of() : Arrays.asList(value.split(","));
+    }
+}
@@ -0,0 +1,254 @@
+package com.scb.backup.dao;
+
+import com.scb.backup.exception.DbBackupException;
+import com.scb.backup.model.KeyspaceBackup;
+import com.scb.backup.utils.AppConstants;
+import com.scb.backup.utils.AppUtils;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.util.StringUtils;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Per-keyspace rows of backup submissions. In parallel keyspace mode each keyspace is its own
+ * YBA backup with its own incremental chain, so promotion and chain length are kept here rather
+ * than on the category's tracker row. Each row also names the instance following its YBA task,
+ * so the task can be resumed elsewhere when that instance stops.
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+@DependsOn("trackerSchemaManager")
+public class KeyspaceBackupDao {
+
+    private final PreparedStatementCache statementCache;
+
+    @Value("${data.keyspace-backup-insert.query}")
+    String insertKeyspaceBackup;
+
+    @Value("${data.keyspace-chain-length.query}")
+    String keyspaceChainLength;
+
+    @Value("${data.keyspace-backup-complete-task.query}")
+    String completeTaskQuery;
+
+    @Value("${data.keyspace-backup-uuid.query}")
+    String backupUuidQuery;
+
+    @Value("${data.keyspace-backup-uuids-by-category.query}")
+    String backupUuidsByCategoryQuery;
+
+    @Value("${data.keyspace-backup-by-batch.query}")
+    String byBatchQuery;
+
+    @Value("${data.keyspace-backup-latest-restorable.query}")
+    String latestRestorableQuery;
+
+    @Value("${data.keyspace-backup-claim-orphaned.query}")
+    String claimOrphanedQuery;
+
+    @Value("${data.instance-heartbeat.query}")
+    String heartbeatQuery;
+
+    @Value("${backup.tasks.instance-id:}")
+    String configuredInstanceId;
+
+    private String instanceId;
+
+    private final RowMapper<KeyspaceBackup> keyspaceBackupMapper = (rs, rowNum) -> {
+        Timestamp startTime = rs.getTimestamp("start_time");
+        Timestamp endTime = rs.getTimestamp("end_time");
+        return KeyspaceBackup.builder()
+                .batchId(rs.getString("batch_id"))
+                .keyspace(rs.getString("keyspace"))
+                .categoryCode(rs.getString("backup_job_categorycode"))
+                .businessDate(AppUtils.getBusinessDate(String.valueOf(rs.getDate("business_date"))))
+                .backupType(rs.getString("backup_type"))
+                .taskUuid(rs.getString("task_uuid"))
+                .backupUuid(rs.getString("backup_uuid"))
+                .status(rs.getString("status"))
+                .startTime(startTime == null ? null : startTime.toLocalDateTime())
+                .endTime(endTime == null ? null : endTime.toLocalDateTime())
+                .build();
+    };
+
+    @PostConstruct
+    public void init() {
+        // unique per process, so a restarted instance does not keep the tasks of its previous run
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        instanceId = StringUtils.hasText(configuredInstanceId) ? configuredInstanceId + "-" + suffix : suffix;
+        statementCache.precompile(List.of(insertKeyspaceBackup, keyspaceChainLength, completeTaskQuery,
+                backupUuidQuery, backupUuidsByCategoryQuery, byBatchQuery, latestRestorableQuery, claimOrphanedQuery, heartbeatQuery));
+    }
+
+    public String instanceId() {
+        return instanceId;
+    }
+
+    /**
+     * Records the keyspaces of a submission YBA accepted, all under the task that backs them up
+     * and followed by this instance.
+     */
+    public void recordSubmission(Map<String, Object> batchParams, List<String> keyspaces, String backupType,
+                                 String taskUuid) {
+        Object batchId = batchParams.get(AppConstants.BATCH_ID);
+        try {
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            for (String keyspace : keyspaces) {
+                Map<String, Object> param = new HashMap<>();
+                param.put("batch_id", batchId);
+                param.put("keyspace", keyspace);
+                param.put("batchCategory", batchParams.get(AppConstants.CATEGORY_CODE));
+                param.put("businessDate", sqlDate(batchParams.get(AppConstants.BUSINESS_DATE)));
+                param.put("backupType", backupType);
+                param.put("taskUuid", taskUuid);
+                param.put("status", AppConstants.BACKUP_INPROGRESS_STATUS);
+                param.put("startTime", now);
+                param.put("pollOwner", instanceId);
+                statementCache.update(insertKeyspaceBackup, param);
+            }
+        } catch (Exception e) {
+            log.error("Unable to record keyspace backups for batch_id : {}", batchId, e);
+            throw new DbBackupException("Error recording keyspace backups for batch_id: " + batchId, e);
+        }
+    }
+
+    /**
+     * Incremental backups of the keyspace, running or successful, since its last full backup;
+     * null when no full backup of the keyspace has been recorded here yet.
+     */
+    public Integer countIncrementalsSinceLastFull(String categoryCode, String keyspace) {
+        Map<String, Object> param = new HashMap<>();
+        try {
+            param.put("batchCategory", categoryCode);
+            param.put("keyspace", keyspace);
+            param.put("fullBackupType", AppConstants.FULL_BACKUP);
+            param.put("incrementalBackupType", AppConstants.INCREMENTAL_BACKUP);
+            param.put("failedStatus", AppConstants.BACKUP_FAILED_STATUS);
+            return statementCache.queryForObject(keyspaceChainLength, param, Integer.class);
+        } catch (Exception e) {
+            log.error("Unable to read keyspace chain for category : {} and keyspace : {}", categoryCode, keyspace, e);
+            throw new DbBackupException("Error reading incremental chain for keyspace: " + keyspace, e);
+        }
+    }
+
+    /**
+     * Marks the keyspace backups of a finished YBA task as SUCCESS or FAILED.
+     */
+    public void completeTask(String batchId, String taskUuid, String status) {
+        Map<String, Object> param = new HashMap<>();
+        try {
+            param.put("batch_id", batchId);
+            param.put("taskUuid", taskUuid);
+            param.put("status", status);
+            statementCache.update(completeTaskQuery, param);
+        } catch (Exception e) {
+            log.error("Unable to complete keyspace backups of task : {} for batch_id : {}", taskUuid, batchId, e);
+            throw new DbBackupException("Error completing keyspace backups of task: " + taskUuid, e);
+        }
+    }
+
+    /**
+     * Records the backup the YBA task created for the keyspace; a null keyspace applies it to
+     * every keyspace of the task.
+     */
+    public void recordBackupUuid(String batchId, String taskUuid, String keyspace, String backupUuid) {
+        Map<String, Object> param = new HashMap<>();
+        try {
+            param.put("batch_id", batchId);
+            param.put("taskUuid", taskUuid);
+            param.put("keyspace", keyspace);
+            param.put("backupUuid", backupUuid);
+            statementCache.update(backupUuidQuery, param);
+        } catch (Exception e) {
+            log.error("Unable to record backup uuid of task : {} for batch_id : {}", taskUuid, batchId, e);
+            throw new DbBackupException("Error recording backup uuid of task: " + taskUuid, e);
+        }
+    }
+
+    /**
+     * Every backup UUID recorded for the category, on its keyspace rows or, for batches recorded
+     * before keyspaces were, on its tracker rows.
+     */
+    public Set<String> findBackupUuids(String categoryCode) {
+        try {
+            return new HashSet<>(statementCache.query(backupUuidsByCategoryQuery, Map.of("batchCategory", categoryCode),
+                    (rs, rowNum) -> rs.getString("backup_uuid")));
+        } catch (Exception e) {
+            log.error("Unable to read backup uuids for category : {}", categoryCode, e);
+            throw new DbBackupException("Error reading backup uuids for category: " + categoryCode, e);
+        }
+    }
+
+    /**
+     * The keyspace backups of the batch, empty for batches recorded before keyspaces were.
+     */
+    public List<KeyspaceBackup> findByBatch(String batchId) {
+        try {
+            return statementCache.query(byBatchQuery, Map.of("batch_id", batchId), keyspaceBackupMapper);
+        } catch (Exception e) {
+            log.error("Unable to read keyspace backups for batch_id : {}", batchId, e);
+            throw new DbBackupException("Error reading keyspace backups for batch_id: " + batchId, e);
+        }
+    }
+
+    /**
+     * The keyspace backups of the category's most recent batch whose keyspaces all succeeded
+     * with a recorded backup UUID; empty when there is none.
+     */
+    public List<KeyspaceBackup> findLatestRestorable(String categoryCode) {
+        Map<String, Object> param = new HashMap<>();
+        try {
+            param.put("batchCategory", categoryCode);
+            param.put("successStatus", AppConstants.BACKUP_SUCCESS_STATUS);
+            return statementCache.query(latestRestorableQuery, param, keyspaceBackupMapper);
+        } catch (Exception e) {
+            log.error("Unable to read restorable keyspace backups for category : {}", categoryCode, e);
+            throw new DbBackupException("Error reading restorable keyspace backups for category: " + categoryCode, e);
+        }
+    }
+
+    /**
+     * Takes over the running keyspace backups, started after {@code since}, whose instance has
+     * not sent a heartbeat since {@code liveAfter}.
+     */
+    public List<KeyspaceBackup> claimOrphanedTasks(LocalDateTime since, LocalDateTime liveAfter) {
+        Map<String, Object> param = new HashMap<>();
+        try {
+            param.put("pollOwner", instanceId);
+            param.put("since", Timestamp.valueOf(since));
+            param.put("liveAfter", Timestamp.valueOf(liveAfter));
+            return statementCache.query(claimOrphanedQuery, param, keyspaceBackupMapper);
+        } catch (Exception e) {
+            log.error("Unable to claim orphaned keyspace backup tasks", e);
+            throw new DbBackupException("Error claiming orphaned keyspace backup tasks", e);
+        }
+    }
+
+    public void heartbeat() {
+        try {
+            statementCache.update(heartbeatQuery, Map.of("instanceId", instanceId));
+        } catch (Exception e) {
+            log.error("Unable to record heartbeat of instance : {}", instanceId, e);
+            throw new DbBackupException("Error recording heartbeat of instance: " + instanceId, e);
+        }
+    }
+
+    private static java.sql.Date sqlDate(Object value) {
+        return value instanceof Date date ? new java.sql.Date(date.getTime()) : null;
+    }
+}
@@ -0,0 +1,84 @@
+package com.scb.backup.dao;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.PreparedStatementCreatorFactory;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.SingleColumnRowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterUtils;
+import org.springframework.jdbc.core.namedparam.ParsedSql;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Named-parameter SQL compiled once into {@link PreparedStatementCreatorFactory} instances,
+ * keyed by the SQL text. Statements are precompiled at startup by the DAOs; anything else is
+ * compiled on first use and counted as a miss.
+ */
+@Slf4j
+@Component
+public class PreparedStatementCache {
+
+    private record CompiledSql(ParsedSql parsedSql, PreparedStatementCreatorFactory factory) {
+    }
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final Map<String, CompiledSql> statements = new ConcurrentHashMap<>();
+    private final Counter hits;
+    private final Counter misses;
+
+    public PreparedStatementCache(NamedParameterJdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.hits = meterRegistry.counter("backup.sql.statement.cache", "result", "hit");
+        this.misses = meterRegistry.counter("backup.sql.statement.cache", "result", "miss");
+        Gauge.builder("backup.sql.statement.cache.size", statements, Map::size).register(meterRegistry);
+    }
+
+    public void precompile(Collection<String> sqls) {
+        sqls.forEach(sql -> statements.computeIfAbsent(sql, PreparedStatementCache::compile));
+        log.info("Precompiled {} tracker SQL statements", statements.size());
+    }
+
+    public int update(String sql, Map<String, ?> params) {
+        return jdbcTemplate.getJdbcOperations().update(creator(sql, params));
+    }
+
+    public <T> List<T> query(String sql, Map<String, ?> params, RowMapper<T> rowMapper) {
+        return jdbcTemplate.getJdbcOperations().query(creator(sql, params), rowMapper);
+    }
+
+    public <T> T queryForObject(String sql, Map<String, ?> params, Class<T> requiredType) {
+        List<T> rows = query(sql, params, new SingleColumnRowMapper<>(requiredType));
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    private PreparedStatementCreator creator(String sql, Map<String, ?> params) {
+        CompiledSql compiled = statements.get(sql);
+        if (compiled == null) {
+            misses.increment();
+            compiled = statements.computeIfAbsent(sql, PreparedStatementCache::compile);
+        } else {
+            hits.increment();
+        }
+        Object[] values = NamedParameterUtils.buildValueArray(compiled.parsedSql(), new MapSqlParameterSource(params), null);
+        return compiled.factory().newPreparedStatementCreator(values);
+    }
+
+    private static CompiledSql compile(String sql) {
+        ParsedSql parsedSql = NamedParameterUtils.parseSqlStatement(sql);
+        MapSqlParameterSource noTypes = new MapSqlParameterSource();
+        PreparedStatementCreatorFactory factory = new PreparedStatementCreatorFactory(
+                NamedParameterUtils.substituteNamedParameters(parsedSql, null),
+                NamedParameterUtils.buildSqlParameterList(parsedSql, noTypes));
+        return new CompiledSql(parsedSql, factory);
+    }
+}
@@ -0,0 +1,131 @@
+package com.scb.backup.dao;
+
+import com.scb.backup.exception.DbBackupException;
+import com.scb.backup.model.RestoreJobStatus;
+import com.scb.backup.utils.AppConstants;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class RestoreDaoService {
+
+    private final PreparedStatementCache statementCache;
+
+    @Value("${data.restore-insert.query}")
+    String insertRestore;
+
+    @Value("${data.restore-abandon-stale.query}")
+    String abandonStaleRestores;
+
+    @Value("${data.restore-complete.query}")
+    String completeRestore;
+
+    @Value("${data.find-restore.query}")
+    String findRestoreQuery;
+
+    @Value("${data.find-restores-by-category.query}")
+    String findRestoresByCategoryQuery;
+
+    private final RowMapper<RestoreJobStatus> restoreMapper = (rs, rowNum) -> {
+        long durationMs = rs.getLong("duration_ms");
+        Long duration = rs.wasNull() ? null : durationMs;
+        return RestoreJobStatus.builder()
+                .restoreId(rs.getString("restore_id"))
+                .categoryCode(rs.getString("backup_job_categorycode"))
+                .sourceBatchId(rs.getString("source_batch_id"))
+                .backupUuid(rs.getString("backup_uuid"))
+                .targetUniverseUuid(rs.getString("target_universe_uuid"))
+                .status(rs.getString("restore_status"))
+                .taskUuids(rs.getString("task_uuids"))
+                .message(rs.getString("message"))
+                .startTime(toLocalDateTime(rs.getTimestamp("start_time")))
+                .endTime(toLocalDateTime(rs.getTimestamp("end_time")))
+                .durationMs(duration)
+                .build();
+    };
+
+    @PostConstruct
+    public void init() {
+        statementCache.precompile(List.of(insertRestore, abandonStaleRestores, completeRestore,
+                findRestoreQuery, findRestoresByCategoryQuery));
+    }
+
+    /**
+     * Claims the category for a restore. In-progress rows started before {@code staleBefore}
+     * belong to an instance that stopped tracking them and are marked failed first.
+     *
+     * @return false when another restore of the category is in progress
+     */
+    public boolean insertRestore(RestoreJobStatus restore, LocalDateTime staleBefore) {
+        Map<String, Object> param = new HashMap<>();
+        try {
+            param.put("batchCategory", restore.getCategoryCode());
+            param.put("staleBefore", Timestamp.valueOf(staleBefore));
+            param.put("failedStatus", AppConstants.BACKUP_FAILED_STATUS);
+            int abandoned = statementCache.update(abandonStaleRestores, param);
+            if (abandoned > 0) {
+                log.warn("Marked {} stale restore(s) of category: {} as failed", abandoned, restore.getCategoryCode());
+            }
+            param.put("restoreId", restore.getRestoreId());
+            param.put("sourceBatchId", restore.getSourceBatchId());
+            param.put("backupUuid", restore.getBackupUuid());
+            param.put("targetUniverseUuid", restore.getTargetUniverseUuid());
+            param.put("status", AppConstants.BACKUP_INPROGRESS_STATUS);
+            param.put("startTime", Timestamp.valueOf(restore.getStartTime()));
+            return statementCache.update(insertRestore, param) > 0;
+        } catch (Exception e) {
+            log.error("Unable to insert restore : {}", restore.getRestoreId(), e);
+            throw new DbBackupException("Unable to insert restore: " + restore.getRestoreId(), e);
+        }
+    }
+
+    public void completeRestore(String restoreId, String status, String taskUuids, String message) {
+        Map<String, Object> param = new HashMap<>();
+        try {
+            param.put("restoreId", restoreId);
+            param.put("status", status);
+            param.put("taskUuids", taskUuids);
+            param.put("message", message);
+            statementCache.update(completeRestore, param);
+        } catch (Exception e) {
+            log.error("Unable to update restore : {}", restoreId, e);
+            throw new DbBackupException("Error updating restore status for restore_id: " + restoreId, e);
+        }
+    }
+
+    public RestoreJobStatus findRestore(String restoreId) {
+        try {
+            List<RestoreJobStatus> rows = statementCache.query(findRestoreQuery, Map.of("restoreId", restoreId), restoreMapper);
+            return rows.isEmpty() ? null : rows.get(0);
+        } catch (Exception e) {
+            log.error("Unable to read restore : {}", restoreId, e);
+            throw new DbBackupException("Error reading restore status for restore_id: " + restoreId, e);
+        }
+    }
+
+    public List<RestoreJobStatus> findRestores(String categoryCode, int limit) {
+        try {
+            return statementCache.query(findRestoresByCategoryQuery,
+                    Map.of("batchCategory", categoryCode, "limit", limit), restoreMapper);
+        } catch (Exception e) {
+            log.error("Unable to read restores for category : {}", categoryCode, e);
+            throw new DbBackupException("Error reading restores for category: " + categoryCode, e);
+        }
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+}
@@ -0,0 +1,110 @@
+package com.scb.backup.dao;
+
+import com.scb.backup.exception.DbBackupException;
+import com.scb.epricing.batch.core.lib.dao.BatchExecutionDao;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aop.framework.Advised;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.ReflectionUtils;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Backup outcomes are written to the tracker and to the batch-core execution table in one
+ * {@link TransactionTemplate} transaction, which only holds when the tracker's JDBC template,
+ * the batch-core {@link BatchExecutionDao} and the transaction manager all use the same
+ * DataSource. Startup stops when they do not, or when the DAO's DataSource cannot be found.
+ */
+@Slf4j
+@Component
+public class SharedDataSourceVerifier {
+
+    private final DataSource dataSource;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BatchExecutionDao batchExecutionDao;
+
+    @Value("${backup.tracker.verify-shared-datasource:true}")
+    boolean verify;
+
+    public SharedDataSourceVerifier(DataSource dataSource, NamedParameterJdbcTemplate jdbcTemplate,
+                                    TransactionTemplate transactionTemplate, BatchExecutionDao batchExecutionDao) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.batchExecutionDao = batchExecutionDao;
+    }
+
+    @PostConstruct
+    public void verify() {
+        if (!verify) {
+            log.warn("Not verifying that tracker and batch execution writes share one DataSource");
+            return;
+        }
+        DataSource expected = unwrap(dataSource);
+        requireSame("tracker JDBC template", jdbcTemplate.getJdbcTemplate().getDataSource(), expected);
+        if (!(transactionTemplate.getTransactionManager() instanceof DataSourceTransactionManager manager)) {
+            throw new DbBackupException("Transaction manager " + transactionTemplate.getTransactionManager()
+                    + " is not a DataSource transaction manager; tracker and batch execution writes would not share a transaction");
+        }
+        requireSame("transaction manager", manager.getDataSource(), expected);
+        List<DataSource> daoDataSources = dataSourcesOf(target(batchExecutionDao));
+        if (daoDataSources.isEmpty()) {
+            throw new DbBackupException("Unable to find the DataSource of " + batchExecutionDao.getClass().getName()
+                    + "; set backup.tracker.verify-shared-datasource=false once it is known to use the application DataSource");
+        }
+        for (DataSource daoDataSource : daoDataSources) {
+            requireSame("BatchExecutionDao", daoDataSource, expected);
+        }
+        log.info("Tracker, batch execution DAO and transaction manager share one DataSource");
+    }
+
+    private static void requireSame(String component, DataSource actual, DataSource expected) {
+        if (actual == null || unwrap(actual) != expected) {
+            throw new DbBackupException("The " + component + " does not use the application DataSource;"
+                    + " tracker and batch execution writes would not share a transaction");
+        }
+    }
+
+    private static List<DataSource> dataSourcesOf(Object bean) {
+        List<DataSource> found = new ArrayList<>();
+        ReflectionUtils.doWithFields(bean.getClass(), field -> {
+            ReflectionUtils.makeAccessible(field);
+            Object value = field.get(bean);
+            if (value instanceof DataSource source) {
+                found.add(source);
+            } else if (value instanceof JdbcTemplate template && template.getDataSource() != null) {
+                found.add(template.getDataSource());
+            } else if (value instanceof NamedParameterJdbcTemplate template
+                    && template.getJdbcTemplate().getDataSource() != null) {
+                found.add(template.getJdbcTemplate().getDataSource());
+            }
+        }, field -> !Modifier.isStatic(field.getModifiers()));
+        return found;
+    }
+
+    private static Object target(Object bean) {
+        try {
+            return bean instanceof Advised advised ? advised.getTargetSource().getTarget() : bean;
+        } catch (Exception e) {
+            throw new DbBackupException("Unable to read the target of " + bean.getClass().getName(), e);
+        }
+    }
+
+    private static DataSource unwrap(DataSource source) {
+        while (source instanceof DelegatingDataSource delegating && delegating.getTargetDataSource() != null) {
+            source = delegating.getTargetDataSource();
+        }
+        return source;
+    }
+}
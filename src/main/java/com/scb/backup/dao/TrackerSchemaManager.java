@@ -0,0 +1,239 @@
+package com.scb.backup.dao;
+
+import com.scb.backup.exception.DbBackupException;
+import com.scb.backup.utils.AppConstants;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Owns the versioned schema of the backup tracker table. Migration scripts under
+ * {@code data.tracker-schema.migrations} are applied in version order at startup, each claimed
+ * in the version table first so concurrent replicas never run the same one twice, and recorded
+ * as applied only once its script succeeded. Once the tracker is partitioned, monthly
+ * partitions are created ahead of time and dropped after the retention period by a daily
+ * maintenance run.
+ */
+@Slf4j
+@Component
+public class TrackerSchemaManager {
+
+    private static final int PARTITIONED_VERSION = 2;
+    private static final String TRACKER_TABLE = "batch_db_schedule_event_tracker";
+    private static final Pattern MIGRATION_NAME = Pattern.compile("V(\\d+)__(.+)\\.sql");
+    private static final Pattern PARTITION_NAME = Pattern.compile(TRACKER_TABLE + "_p(\\d{6})");
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final DataSource dataSource;
+
+    @Value("${data.tracker-schema.auto-create:true}")
+    boolean autoCreateSchema;
+
+    @Value("${data.tracker-schema.migrations}")
+    String migrationsLocation;
+
+    @Value("${data.tracker-schema.partition-months-ahead:3}")
+    int partitionMonthsAhead;
+
+    @Value("${data.tracker-schema.retention-months:13}")
+    int retentionMonths;
+
+    @Value("${data.tracker-schema.version-table.query}")
+    String createVersionTable;
+
+    @Value("${data.tracker-schema.version-table-columns.query}")
+    String versionTableColumns;
+
+    @Value("${data.tracker-schema.current-version.query}")
+    String currentVersionQuery;
+
+    @Value("${data.tracker-schema.claim-version.query}")
+    String claimVersion;
+
+    @Value("${data.tracker-schema.complete-version.query}")
+    String completeVersion;
+
+    @Value("${data.tracker-schema.applied-version.query}")
+    String appliedVersionQuery;
+
+    @Value("${data.tracker-schema.claim-stale-after-ms:1800000}")
+    long claimStaleAfterMs;
+
+    @Value("${data.tracker-schema.wait-timeout-ms:3600000}")
+    long waitTimeoutMs;
+
+    @Value("${data.tracker-schema.wait-poll-ms:5000}")
+    long waitPollMs;
+
+    @Value("${data.tracker-schema.release-version.query}")
+    String releaseVersion;
+
+    @Value("${data.tracker-schema.list-partitions.query}")
+    String listPartitions;
+
+    @Value("${data.tracker-schema.purge-default-partition.query}")
+    String purgeDefaultPartition;
+
+    public TrackerSchemaManager(NamedParameterJdbcTemplate jdbcTemplate, DataSource dataSource) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSource = dataSource;
+    }
+
+    @PostConstruct
+    public void migrate() {
+        if (!autoCreateSchema) {
+            return;
+        }
+        jdbcTemplate.getJdbcOperations().execute(createVersionTable);
+        jdbcTemplate.getJdbcOperations().execute(versionTableColumns);
+        int current = currentVersion();
+        for (Resource script : migrations()) {
+            Matcher name = MIGRATION_NAME.matcher(script.getFilename());
+            if (!name.matches()) {
+                continue;
+            }
+            int version = Integer.parseInt(name.group(1));
+            if (version <= current) {
+                continue;
+            }
+            apply(version, name.group(2), script);
+        }
+        maintainPartitions();
+    }
+
+    /**
+     * Claims the version, runs the script and only then marks the version applied. An instance
+     * that loses the claim waits until the winner marks it applied, or takes the claim over once
+     * it is released or older than {@code data.tracker-schema.claim-stale-after-ms}. Each script
+     * is sent as one statement, so PostgreSQL runs it in a single implicit transaction; scripts
+     * are still written to be re-runnable, as not all DDL is transactional on YugabyteDB.
+     */
+    private void apply(int version, String description, Resource script) {
+        long deadline = System.currentTimeMillis() + waitTimeoutMs;
+        while (!claim(version, description)) {
+            if (isApplied(version)) {
+                log.info("Tracker schema version {} was applied by another instance", version);
+                return;
+            }
+            if (System.currentTimeMillis() > deadline) {
+                throw new DbBackupException("Timed out waiting for another instance to apply tracker schema version " + version);
+            }
+            log.info("Waiting for another instance to apply tracker schema version {}", version);
+            try {
+                Thread.sleep(waitPollMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new DbBackupException("Interrupted waiting for tracker schema version " + version, e);
+            }
+        }
+        try {
+            log.info("Applying tracker schema version {} - {}", version, description);
+            ResourceDatabasePopulator populator = new ResourceDatabasePopulator(script);
+            populator.setSeparator(ScriptUtils.EOF_STATEMENT_SEPARATOR);
+            populator.execute(dataSource);
+            jdbcTemplate.update(completeVersion, Map.of("version", version));
+        } catch (Exception e) {
+            jdbcTemplate.update(releaseVersion, Map.of("version", version));
+            throw new DbBackupException("Unable to apply tracker schema version " + version, e);
+        }
+    }
+
+    private boolean claim(int version, String description) {
+        Timestamp staleBefore = Timestamp.valueOf(LocalDateTime.now().minus(Duration.ofMillis(claimStaleAfterMs)));
+        return jdbcTemplate.update(claimVersion,
+                Map.of("version", version, "description", description, "staleBefore", staleBefore)) > 0;
+    }
+
+    private boolean isApplied(int version) {
+        Integer count = jdbcTemplate.queryForObject(appliedVersionQuery, Map.of("version", version), Integer.class);
+        return count != null && count > 0;
+    }
+
+    /**
+     * Creates the upcoming monthly partitions and drops the ones past retention.
+     */
+    @Scheduled(cron = "${data.tracker-schema.maintenance-cron:0 30 1 * * *}", zone = AppConstants.TIMEZONE)
+    public void maintainPartitions() {
+        if (!autoCreateSchema || currentVersion() < PARTITIONED_VERSION) {
+            return;
+        }
+        YearMonth now = YearMonth.now(ZoneId.of(AppConstants.TIMEZONE));
+        for (int i = 0; i <= partitionMonthsAhead; i++) {
+            createPartition(now.plusMonths(i));
+        }
+
+        YearMonth oldestKept = now.minusMonths(retentionMonths);
+        for (String partition : jdbcTemplate.queryForList(listPartitions, Map.of(), String.class)) {
+            Matcher matcher = PARTITION_NAME.matcher(partition);
+            if (matcher.matches() && YearMonth.parse(matcher.group(1), PARTITION_SUFFIX).isBefore(oldestKept)) {
+                log.info("Dropping tracker partition {} past the {} month retention", partition, retentionMonths);
+                jdbcTemplate.getJdbcOperations().execute("DROP TABLE IF EXISTS epricing." + partition);
+            }
+        }
+        int purged = jdbcTemplate.update(purgeDefaultPartition,
+                Map.of("cutoff", java.sql.Date.valueOf(oldestKept.atDay(1))));
+        if (purged > 0) {
+            log.info("Purged {} tracker rows past retention from the default partition", purged);
+        }
+    }
+
+    private void createPartition(YearMonth month) {
+        LocalDate from = month.atDay(1);
+        LocalDate to = month.plusMonths(1).atDay(1);
+        String ddl = "CREATE TABLE IF NOT EXISTS epricing." + TRACKER_TABLE + "_p" + month.format(PARTITION_SUFFIX)
+                + " PARTITION OF epricing." + TRACKER_TABLE
+                + " FOR VALUES FROM ('" + from + "') TO ('" + to + "')";
+        try {
+            jdbcTemplate.getJdbcOperations().execute(ddl);
+        } catch (Exception e) {
+            // rows for the month already landed in the default partition; they stay there until purged
+            log.warn("Unable to create tracker partition for {}", month, e);
+        }
+    }
+
+    private int currentVersion() {
+        Integer version = jdbcTemplate.queryForObject(currentVersionQuery, Map.of(), Integer.class);
+        return version == null ? 0 : version;
+    }
+
+    private List<Resource> migrations() {
+        try {
+            return Arrays.stream(new PathMatchingResourcePatternResolver().getResources(migrationsLocation))
+                    .filter(resource -> resource.getFilename() != null
+                            && MIGRATION_NAME.matcher(resource.getFilename()).matches())
+                    .sorted(Comparator.comparingInt(resource -> versionOf(resource.getFilename())))
+                    .toList();
+        } catch (IOException e) {
+            throw new DbBackupException("Unable to read tracker schema migrations from " + migrationsLocation, e);
+        }
+    }
+
+    private static int versionOf(String filename) {
+        Matcher matcher = MIGRATION_NAME.matcher(filename);
+        return matcher.matches() ? Integer.parseInt(matcher.group(1)) : Integer.MAX_VALUE;
+    }
+}
@@ -0,0 +1,12 @@
+package com.scb.backup.exception;
+
+/**
+ * Another request already holds the tracker row of the category and business date, in progress
+ * or successful. The rejected request must leave that row, and the backup it tracks, alone.
+ */
+public class BackupAlreadyClaimedException extends DbBackupException {
+
+    public BackupAlreadyClaimedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,19 @@
+package com.scb.backup.exception;
+
+/**
+ * Some, not all, keyspace submissions of a parallel backup or restore were accepted by YBA.
+ * Carries the aggregated response, so the accepted ones are still recorded and tracked.
+ */
+public class PartialSubmissionException extends DbBackupException {
+
+    private final String response;
+
+    public PartialSubmissionException(String message, String response) {
+        super(message);
+        this.response = response;
+    }
+
+    public String getResponse() {
+        return response;
+    }
+}
@@ -0,0 +1,16 @@
+package com.scb.backup.exception;
+
+/**
+ * YBA does not know the backup, or answers it without its backup info, so it can be neither
+ * restored nor verified.
+ */
+public class UnknownBackupException extends DbBackupException {
+
+    public UnknownBackupException(String message) {
+        super(message);
+    }
+
+    public UnknownBackupException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,105 @@
+package com.scb.backup.health;
+
+import com.scb.backup.client.YbaCircuitBreaker;
+import com.scb.backup.client.YbaSubmissionScheduler;
+import com.scb.backup.service.BackupDrainManager;
+import com.scb.backup.service.YbaConfigService;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Readiness of this instance to take new backups, exposed as {@code backupLoad} in the
+ * readiness group. Out of service while draining, when in-flight submissions or the YBA
+ * submission queue are over their limit, when the tracker connection pool is saturated, or when the YBA
+ * circuit is open for every configured universe. Tasks being polled do not count; polling
+ * does not limit how many new backups this instance can take.
+ */
+@Slf4j
+@Component
+public class BackupLoadHealthIndicator implements HealthIndicator {
+
+    private final BackupDrainManager drainManager;
+    private final YbaSubmissionScheduler submissionScheduler;
+    private final YbaCircuitBreaker circuitBreaker;
+    private final YbaConfigService configService;
+    private final DataSource dataSource;
+    private final int maxInFlight;
+    private final int maxQueuedSubmissions;
+    private final double maxPoolUtilisation;
+
+    public BackupLoadHealthIndicator(BackupDrainManager drainManager, YbaSubmissionScheduler submissionScheduler,
+                                     YbaCircuitBreaker circuitBreaker, YbaConfigService configService,
+                                     DataSource dataSource,
+                                     @Value("${backup.readiness.max-in-flight:20}") int maxInFlight,
+                                     @Value("${backup.readiness.max-queued-submissions:50}") int maxQueuedSubmissions,
+                                     @Value("${backup.readiness.max-pool-utilisation:0.9}") double maxPoolUtilisation) {
+        this.drainManager = drainManager;
+        this.submissionScheduler = submissionScheduler;
+        this.circuitBreaker = circuitBreaker;
+        this.configService = configService;
+        this.dataSource = dataSource;
+        this.maxInFlight = maxInFlight;
+        this.maxQueuedSubmissions = maxQueuedSubmissions;
+        this.maxPoolUtilisation = maxPoolUtilisation;
+    }
+
+    @Override
+    public Health health() {
+        int inFlight = drainManager.inFlightSubmissions();
+        int queued = submissionScheduler.queuedSubmissions();
+        Set<String> openCircuits = circuitBreaker.openCircuits();
+        Set<String> universes = configService.all().values().stream()
+                .map(config -> Objects.requireNonNullElse(config.getUniverseUuid(), ""))
+                .collect(Collectors.toSet());
+        HikariPoolMXBean pool = hikariPool();
+
+        Health.Builder builder = Health.up();
+        if (drainManager.isDraining()) {
+            builder = Health.outOfService().withDetail("reason", "draining");
+        } else if (inFlight >= maxInFlight) {
+            builder = Health.outOfService().withDetail("reason", "in-flight backups at limit");
+        } else if (queued >= maxQueuedSubmissions) {
+            builder = Health.outOfService().withDetail("reason", "YBA submission queue at limit");
+        } else if (pool != null && poolSaturated(pool)) {
+            builder = Health.outOfService().withDetail("reason", "connection pool saturated");
+        } else if (!universes.isEmpty() && openCircuits.containsAll(universes)) {
+            builder = Health.outOfService().withDetail("reason", "YBA circuit open");
+        }
+        builder.withDetail("inFlight", inFlight)
+                .withDetail("queuedSubmissions", queued)
+                .withDetail("openCircuits", openCircuits);
+        if (pool != null) {
+            builder.withDetail("poolActive", pool.getActiveConnections())
+                    .withDetail("poolTotal", pool.getTotalConnections())
+                    .withDetail("poolAwaiting", pool.getThreadsAwaitingConnection());
+        }
+        return builder.build();
+    }
+
+    private boolean poolSaturated(HikariPoolMXBean pool) {
+        int total = pool.getTotalConnections();
+        return total > 0 && pool.getThreadsAwaitingConnection() > 0
+                && (double) pool.getActiveConnections() / total >= maxPoolUtilisation;
+    }
+
+    private HikariPoolMXBean hikariPool() {
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class)
+                    ? dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean() : null;
+        } catch (SQLException e) {
+            log.debug("Unable to read connection pool state", e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.scb.backup.health;
+
+import com.scb.backup.service.YbaTaskTracker;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Liveness of YBA task polling, exposed as {@code backupPolling} in the liveness group. Down
+ * when tasks are being tracked but no poll has run for {@code backup.liveness.poll-stall-ms},
+ * i.e. the polling loop is stuck and only a restart will recover it.
+ */
+@Component
+public class BackupPollingHealthIndicator implements HealthIndicator {
+
+    private final YbaTaskTracker taskTracker;
+    private final long pollStallMs;
+
+    public BackupPollingHealthIndicator(YbaTaskTracker taskTracker,
+                                        @Value("${backup.liveness.poll-stall-ms:900000}") long pollStallMs) {
+        this.taskTracker = taskTracker;
+        this.pollStallMs = pollStallMs;
+    }
+
+    @Override
+    public Health health() {
+        int activeTasks = taskTracker.activeTaskCount();
+        long sinceLastPoll = System.currentTimeMillis() - taskTracker.lastPollMillis();
+        Health.Builder builder = activeTasks > 0 && sinceLastPoll > pollStallMs ? Health.down() : Health.up();
+        return builder.withDetail("activeTasks", activeTasks)
+                .withDetail("msSinceLastPoll", sinceLastPoll)
+                .build();
+    }
+}
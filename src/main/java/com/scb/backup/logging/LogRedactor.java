@@ -0,0 +1,47 @@
+package com.scb.backup.logging;
+
+import org.springframework.http.HttpHeaders;
+
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Masks credentials before they reach a log line: the YBA API token header and token or
+ * password fields in JSON bodies. Bodies are also cut to a bounded length.
+ */
+public final class LogRedactor {
+
+    public static final String MASK = "****";
+
+    private static final Set<String> SENSITIVE_HEADERS = Set.of("X-AUTH-YW-API-TOKEN", HttpHeaders.AUTHORIZATION);
+    private static final Pattern TOKEN_HEADER = Pattern.compile("(?i)(X-AUTH-YW-API-TOKEN[\"']?\\s*[:=]\\s*[\"']?)[^\\s\"',}\\]]+");
+    private static final Pattern SECRET_FIELD = Pattern.compile("(?i)(\"(?:api[-_]?token|token|password|secret)\"\\s*:\\s*\")[^\"]*\"");
+    private static final int MAX_BODY_CHARS = 512;
+
+    private LogRedactor() {
+    }
+
+    public static String redact(String text) {
+        if (text == null) {
+            return null;
+        }
+        String redacted = TOKEN_HEADER.matcher(text).replaceAll("$1" + MASK);
+        return SECRET_FIELD.matcher(redacted).replaceAll("$1" + MASK + "\"");
+    }
+
+    public static String redactBody(String body) {
+        String redacted = redact(body);
+        if (redacted == null || redacted.length() <= MAX_BODY_CHARS) {
+            return redacted;
+        }
+        return redacted.substring(0, MAX_BODY_CHARS) + "...(" + redacted.length() + " chars)";
+    }
+
+    public static HttpHeaders redact(HttpHeaders headers) {
+        HttpHeaders copy = new HttpHeaders();
+        headers.forEach((name, values) -> copy.put(name,
+                SENSITIVE_HEADERS.stream().anyMatch(name::equalsIgnoreCase) ? List.of(MASK) : values));
+        return copy;
+    }
+}
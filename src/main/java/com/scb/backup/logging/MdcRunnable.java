@@ -23,7 +23,7 @@ public class MdcRunnable implements Runnable {
         try {
             delegate.run();
         } finally {
-            log.info("clearing MDC context after execution of Runnable");
+            log.debug("clearing MDC context after execution of Runnable");
             MDC.clear();
         }
     }
@@ -0,0 +1,28 @@
+package com.scb.backup.logging;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aot.AotDetector;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Logs how long the instance took to become ready, and whether the AOT context and the CDS
+ * archive were used. {@code scripts/startup-benchmark.sh} reads this line.
+ */
+@Slf4j
+@Component
+public class StartupTimeLogger {
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void logStartupTime(ApplicationReadyEvent event) {
+        long jvmUptimeMs = ManagementFactory.getRuntimeMXBean().getUptime();
+        boolean cds = ManagementFactory.getRuntimeMXBean().getInputArguments().stream()
+                .anyMatch(arg -> arg.startsWith("-XX:SharedArchiveFile"));
+        log.info("Startup ready in {} ms (context {} ms), aot={}, cds={}", jvmUptimeMs,
+                event.getTimeTaken() == null ? -1 : event.getTimeTaken().toMillis(),
+                AotDetector.useGeneratedArtifacts(), cds);
+    }
+}
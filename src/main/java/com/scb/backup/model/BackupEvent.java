@@ -0,0 +1,21 @@
+package com.scb.backup.model;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Builder
+@Data
+public class BackupEvent {
+    /** Position in the event bus's stream, assigned on publish; used as the SSE event id. */
+    private long sequence;
+    private String type;
+    private String batchId;
+    private String categoryCode;
+    private String status;
+    private String taskUuid;
+    private Double percentComplete;
+    private String message;
+    private LocalDateTime timestamp;
+}
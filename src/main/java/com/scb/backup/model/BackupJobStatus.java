@@ -0,0 +1,21 @@
+package com.scb.backup.model;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Builder(toBuilder = true)
+@Data
+public class BackupJobStatus {
+    private String batchId;
+    private String categoryCode;
+    private String businessDate;
+    private String backupType;
+    private String status;
+    private String message;
+    private String taskUuid;
+    private String backupUuid;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+}
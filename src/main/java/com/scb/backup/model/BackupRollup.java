@@ -0,0 +1,18 @@
+package com.scb.backup.model;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Builder
+@Data
+public class BackupRollup {
+    private String categoryCode;
+    private String businessDate;
+    private long jobCount;
+    private long failureCount;
+    private double successRate;
+    private long averageDurationMs;
+    private long p50DurationMs;
+    private long p95DurationMs;
+    private long totalBytes;
+}
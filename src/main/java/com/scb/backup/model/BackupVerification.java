@@ -0,0 +1,26 @@
+package com.scb.backup.model;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Builder
+@Data
+public class BackupVerification {
+    private String batchId;
+    private String categoryCode;
+    private String businessDate;
+    private String backupType;
+    private String backupUuid;
+    /** PASSED, WARNING, FAILED or UNVERIFIABLE. */
+    private String status;
+    private String backupState;
+    private Long backupBytes;
+    private Long previousBytes;
+    private List<String> keyspaces;
+    private List<String> missingKeyspaces;
+    private String message;
+    private LocalDateTime verifiedAt;
+}
@@ -0,0 +1,25 @@
+package com.scb.backup.model;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * The backup of one keyspace within a backup submission.
+ */
+@Builder
+@Data
+public class KeyspaceBackup {
+    private String batchId;
+    private String keyspace;
+    private String categoryCode;
+    private String businessDate;
+    private String backupType;
+    private String taskUuid;
+    private String backupUuid;
+    /** IN_PROGRESS while its YBA task runs, then SUCCESS or FAILED. */
+    private String status;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+}
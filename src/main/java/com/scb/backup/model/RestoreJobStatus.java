@@ -0,0 +1,22 @@
+package com.scb.backup.model;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Builder(toBuilder = true)
+@Data
+public class RestoreJobStatus {
+    private String restoreId;
+    private String categoryCode;
+    private String sourceBatchId;
+    private String backupUuid;
+    private String targetUniverseUuid;
+    private String status;
+    private String message;
+    private String taskUuids;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private Long durationMs;
+}
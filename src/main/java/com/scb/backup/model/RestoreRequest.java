@@ -0,0 +1,22 @@
+package com.scb.backup.model;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Body of {@code POST /restores}. By default the latest backup of the category whose keyspaces
+ * all succeeded is restored; a target universe other than the category's own, or a keyspace
+ * suffix, is required so the restore never overwrites the source keyspaces.
+ */
+@Data
+public class RestoreRequest {
+    private String categoryCode;
+    /** Restores this backup instead of the latest restorable one; the restore fails when YBA does not know it. */
+    private String backupUuid;
+    private String targetUniverseUuid;
+    /** Restores only these keyspaces of the backup. */
+    private List<String> keyspaces;
+    /** Appended to each restored keyspace name. */
+    private String keyspaceSuffix;
+}
@@ -0,0 +1,19 @@
+package com.scb.backup.model;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+@Builder
+@Data
+public class RetentionPlan {
+    private String categoryCode;
+    private int listedBackups;
+    private int keptBackups;
+    private List<String> deleteBackupUuids;
+    /** Kept backups that would expire too early, with the expiry they are moved to. */
+    private Map<String, Instant> extendExpiry;
+}
@@ -0,0 +1,16 @@
+package com.scb.backup.model;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Builder
+@Data
+public class StoredBackupResponse {
+    private String batchId;
+    private String taskUuid;
+    private String backupUuid;
+    private String response;
+    private boolean truncated;
+    private String sha256;
+    private Integer originalLength;
+}
@@ -3,19 +3,52 @@ package com.scb.backup.model;
 import lombok.Builder;
 import lombok.Data;
 
+import java.util.List;
+import java.util.Map;
+
 @Builder
 @Data
 public class YbaDynamicConfig {
     private String apiToken;
+    private String apiTokenSecret;
     private String universeUuid;
     private String customerUuid;
     private String storageConfigUuid;
     private String fullBackupUrl;
     private String incrementalBackupUrl;
     private String lastBackupUrl;
+    private String backupPageUrl;
+    private String taskUrl;
+    private String backupTaskUrl;
+    private String restoreUrl;
     private Long expiryMs;
     private String backupType;
     private String dbName;
     private  String backupCategoryType;
     private  String parentCategory;
+    private Integer schedulingWeight;
+    private Double submissionsPerSecond;
+    private Integer maxConcurrentBackups;
+    private String scheduleCron;
+    private Integer scheduleWindowMinutes;
+    private List<String> keyspaces;
+    private Map<String, List<String>> keyspaceTables;
+    private String keyspaceMode;
+    private Integer keyspaceConcurrency;
+    private Integer maxIncrementalChainLength;
+    private Long maxChainAgeMs;
+    private Long maxChainSizeBytes;
+    private Boolean hedgeReads;
+    private Double timeoutFactor;
+    private Long maxTimeoutMs;
+    private Integer restoreParallelism;
+    private Integer retentionDaily;
+    private Integer retentionWeekly;
+    private Integer retentionMonthly;
+    private String provider;
+    private List<String> command;
+    private String workingDirectory;
+    private Map<String, String> environment;
+    private Long commandTimeoutMs;
+    private Boolean retryOnFailure;
 }
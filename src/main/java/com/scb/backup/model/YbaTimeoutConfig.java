@@ -0,0 +1,14 @@
+package com.scb.backup.model;
+
+import lombok.Data;
+
+/**
+ * Bounds of the adaptive response timeout for one kind of YBA call: the observed latency
+ * percentile times {@code factor}, clamped to {@code [minMs, maxMs]}.
+ */
+@Data
+public class YbaTimeoutConfig {
+    private long minMs = 1000;
+    private long maxMs = 60000;
+    private double factor = 3;
+}
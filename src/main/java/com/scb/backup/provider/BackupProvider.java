@@ -0,0 +1,33 @@
+package com.scb.backup.provider;
+
+import com.scb.backup.model.YbaDynamicConfig;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * A backup target technology. The provider of an entry is chosen by its {@code provider}
+ * setting; job registration, the tracker row, retries and metrics are handled by
+ * {@link BackupProviderRegistry}, so an implementation only starts the backup.
+ */
+public interface BackupProvider {
+
+    /**
+     * Name matched against the {@code provider} setting of an entry.
+     */
+    String name();
+
+    /**
+     * Starts the backup of the category.
+     *
+     * @return the provider response, stored on the tracker row
+     */
+    Mono<String> initiate(String categoryCode, YbaDynamicConfig config, Map<String, Object> batchParams);
+
+    /**
+     * Whether the failed attempt may be repeated without risking a duplicate backup.
+     */
+    default boolean isRetryable(YbaDynamicConfig config, Throwable error) {
+        return false;
+    }
+}
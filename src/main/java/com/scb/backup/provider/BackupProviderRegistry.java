@@ -0,0 +1,116 @@
+package com.scb.backup.provider;
+
+import com.scb.backup.config.YbaProperties;
+import com.scb.backup.dao.BackupDaoService;
+import com.scb.backup.exception.BackupAlreadyClaimedException;
+import com.scb.backup.model.YbaDynamicConfig;
+import com.scb.backup.service.YbaConfigService;
+import com.scb.backup.utils.AppConstants;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Starts backups through the provider configured for the category, {@code yba} when unset.
+ * The tracker row is written here for every provider; failed attempts the provider reports
+ * as retryable are repeated up to {@code yba.retry.max-attempts}, and each submission is
+ * timed as {@code backup.provider.submissions} tagged with provider and outcome.
+ */
+@Slf4j
+@Component
+public class BackupProviderRegistry {
+
+    private static final String SUBMISSION_TIMER = "backup.provider.submissions";
+
+    private final Map<String, BackupProvider> providers;
+    private final YbaConfigService configService;
+    private final BackupDaoService backupDaoService;
+    private final MeterRegistry meterRegistry;
+    private final int maxAttempts;
+
+    public BackupProviderRegistry(List<BackupProvider> providers, YbaConfigService configService,
+                                  BackupDaoService backupDaoService, MeterRegistry meterRegistry,
+                                  YbaProperties props) {
+        this.providers = providers.stream()
+                .collect(Collectors.toMap(BackupProvider::name, Function.identity()));
+        this.configService = configService;
+        this.backupDaoService = backupDaoService;
+        this.meterRegistry = meterRegistry;
+        this.maxAttempts = Math.max(1, props.getMaxRetryAttempts());
+        log.info("Backup providers: {}", this.providers.keySet());
+    }
+
+    public Mono<String> initiate(String categoryCode, Map<String, Object> batchParams) {
+        return Mono.fromCallable(() -> configService.resolve(categoryCode))
+                .switchIfEmpty(Mono.error(new IllegalArgumentException("No configuration found for category: " + categoryCode)))
+                .flatMap(config -> {
+                    BackupProvider provider = providers.get(providerName(config));
+                    if (provider == null) {
+                        return Mono.error(new IllegalArgumentException("Unknown backup provider: "
+                                + config.getProvider() + " for category: " + categoryCode));
+                    }
+                    return Mono.fromRunnable(() -> track(categoryCode, config, batchParams))
+                            .subscribeOn(Schedulers.boundedElastic())
+                            .then(submit(provider, categoryCode, config, batchParams));
+                });
+    }
+
+    private void track(String categoryCode, YbaDynamicConfig config, Map<String, Object> batchParams) {
+        String backupType = Objects.requireNonNullElse(config.getBackupCategoryType(), AppConstants.FULL_BACKUP);
+        if (!backupDaoService.insertBackupDetails(batchParams, AppConstants.BACKUP_INPROGRESS_STATUS, backupType)) {
+            throw new BackupAlreadyClaimedException("Backup already in progress or completed for category: "
+                    + categoryCode + " and business date: " + batchParams.get(AppConstants.BUSINESS_DATE));
+        }
+    }
+
+    private Mono<String> submit(BackupProvider provider, String categoryCode, YbaDynamicConfig config,
+                                Map<String, Object> batchParams) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return Mono.defer(() -> provider.initiate(categoryCode, config, batchParams))
+                    .retryWhen(Retry.backoff(maxAttempts - 1, Duration.ofSeconds(1))
+                            .filter(e -> provider.isRetryable(config, e))
+                            .doBeforeRetry(signal -> log.warn("Retrying {} backup of category: {} after attempt {} failed",
+                                    provider.name(), categoryCode, signal.totalRetries() + 1, signal.failure()))
+                            .onRetryExhaustedThrow((spec, signal) -> signal.failure()))
+                    .doOnSuccess(response -> sample.stop(timer(provider, "success")))
+                    .doOnError(e -> sample.stop(timer(provider, "failure")));
+        });
+    }
+
+    /**
+     * Whether the category backs up through YBA. Task tracking, verification, retention and
+     * restore work on YBA tasks and backups, so they only apply to such categories.
+     */
+    public boolean isYba(String categoryCode) {
+        YbaDynamicConfig config = configService.resolve(categoryCode);
+        return config != null && isYba(config);
+    }
+
+    public static boolean isYba(YbaDynamicConfig config) {
+        return AppConstants.PROVIDER_YBA.equals(providerName(config));
+    }
+
+    private Timer timer(BackupProvider provider, String outcome) {
+        return Timer.builder(SUBMISSION_TIMER)
+                .tag("provider", provider.name())
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static String providerName(YbaDynamicConfig config) {
+        return StringUtils.hasText(config.getProvider()) ? config.getProvider().toLowerCase() : AppConstants.PROVIDER_YBA;
+    }
+}
@@ -0,0 +1,195 @@
+package com.scb.backup.provider;
+
+import com.scb.backup.exception.DbBackupException;
+import com.scb.backup.model.YbaDynamicConfig;
+import com.scb.backup.utils.AppConstants;
+import com.scb.backup.utils.JsonText;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Stream;
+
+/**
+ * Backups by a command on this host, e.g. {@code pg_dump} or {@code pg_basebackup}. Arguments
+ * may use {@code {batchId}}, {@code {businessDate}}, {@code {categoryCode}} and {@code {dbName}}.
+ * Commands run on a dedicated scheduler of {@code backup.local-process.max-concurrent} threads,
+ * so at most that many run at once; a non-zero exit or a timeout fails the backup. A timed out
+ * command is killed with the processes it started, as are the commands still running at
+ * shutdown.
+ */
+@Slf4j
+@Component
+public class LocalProcessBackupProvider implements BackupProvider {
+
+    private static final long KILL_WAIT_MS = 10_000;
+
+    private final long defaultTimeoutMs;
+    private final int outputTailBytes;
+    private final Scheduler scheduler;
+    private final Set<Process> running = ConcurrentHashMap.newKeySet();
+
+    public LocalProcessBackupProvider(@Value("${backup.local-process.max-concurrent:2}") int maxConcurrent,
+                                      @Value("${backup.local-process.default-timeout-ms:3600000}") long defaultTimeoutMs,
+                                      @Value("${backup.local-process.output-tail-bytes:2048}") int outputTailBytes) {
+        this.defaultTimeoutMs = defaultTimeoutMs;
+        this.outputTailBytes = outputTailBytes;
+        this.scheduler = Schedulers.newBoundedElastic(Math.max(1, maxConcurrent), 1000, "local-backup");
+    }
+
+    @Override
+    public String name() {
+        return AppConstants.PROVIDER_LOCAL_PROCESS;
+    }
+
+    @Override
+    public Mono<String> initiate(String categoryCode, YbaDynamicConfig config, Map<String, Object> batchParams) {
+        if (config.getCommand() == null || config.getCommand().isEmpty()) {
+            return Mono.error(new DbBackupException("No command configured for local-process category: " + categoryCode));
+        }
+        List<String> command = config.getCommand().stream()
+                .map(arg -> substitute(arg, categoryCode, config, batchParams))
+                .toList();
+        return Mono.fromCallable(() -> run(categoryCode, config, command))
+                .subscribeOn(scheduler);
+    }
+
+    /**
+     * A command that exited non-zero is run again only when its entry sets
+     * {@code retry-on-failure}, as a command may leave partial output behind that a second run
+     * does not expect. A timeout is never retried.
+     */
+    @Override
+    public boolean isRetryable(YbaDynamicConfig config, Throwable error) {
+        return Boolean.TRUE.equals(config.getRetryOnFailure()) && error instanceof CommandFailedException;
+    }
+
+    private String run(String categoryCode, YbaDynamicConfig config, List<String> command) throws IOException {
+        Path output = Files.createTempFile("local-backup-", ".log");
+        try {
+            ProcessBuilder builder = new ProcessBuilder(command)
+                    .redirectErrorStream(true)
+                    .redirectOutput(output.toFile());
+            if (StringUtils.hasText(config.getWorkingDirectory())) {
+                builder.directory(new File(config.getWorkingDirectory()));
+            }
+            if (config.getEnvironment() != null) {
+                builder.environment().putAll(config.getEnvironment());
+            }
+            long timeoutMs = Objects.requireNonNullElse(config.getCommandTimeoutMs(), defaultTimeoutMs);
+            long start = System.nanoTime();
+            log.info("Starting local backup command: {} for category: {}", command.get(0), categoryCode);
+            Process process = builder.start();
+            running.add(process);
+            try {
+                if (!process.waitFor(timeoutMs, TimeUnit.MILLISECONDS)) {
+                    kill(process);
+                    throw new DbBackupException("Local backup command: " + command.get(0) + " for category: "
+                            + categoryCode + " timed out after " + timeoutMs + " ms");
+                }
+            } catch (InterruptedException e) {
+                kill(process);
+                Thread.currentThread().interrupt();
+                throw new DbBackupException("Local backup command for category: " + categoryCode + " was interrupted", e);
+            } finally {
+                running.remove(process);
+            }
+            long durationMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            String tail = tail(output);
+            if (process.exitValue() != 0) {
+                throw new CommandFailedException("Local backup command: " + command.get(0) + " for category: "
+                        + categoryCode + " exited with " + process.exitValue() + ": " + tail);
+            }
+            log.info("Local backup command: {} for category: {} finished in {} ms", command.get(0), categoryCode, durationMs);
+            return JsonText.object()
+                    .field("provider", name())
+                    .field("command", command.get(0))
+                    .field("exitCode", process.exitValue())
+                    .field("durationMs", durationMs)
+                    .field("output", tail)
+                    .build();
+        } finally {
+            Files.deleteIfExists(output);
+        }
+    }
+
+    private String tail(Path output) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(output.toFile(), "r")) {
+            long length = file.length();
+            byte[] bytes = new byte[(int) Math.min(length, outputTailBytes)];
+            file.seek(length - bytes.length);
+            file.readFully(bytes);
+            return new String(bytes, StandardCharsets.UTF_8).strip();
+        }
+    }
+
+    private static String substitute(String arg, String categoryCode, YbaDynamicConfig config,
+                                     Map<String, Object> batchParams) {
+        return arg.replace("{batchId}", String.valueOf(batchParams.get(AppConstants.BATCH_ID)))
+                .replace("{businessDate}", businessDate(batchParams.get(AppConstants.BUSINESS_DATE)))
+                .replace("{categoryCode}", categoryCode)
+                .replace("{dbName}", Objects.requireNonNullElse(config.getDbName(), ""));
+    }
+
+    private static String businessDate(Object value) {
+        return value instanceof Date date
+                ? new SimpleDateFormat(AppConstants.DATE_PATTERN).format(date)
+                : String.valueOf(value);
+    }
+
+    /**
+     * Kills the command and every process it started, then waits for them to exit. Descendants
+     * are collected first, as they are re-parented once the command is gone.
+     */
+    private static void kill(Process process) {
+        List<ProcessHandle> tree = Stream.concat(process.descendants(), Stream.of(process.toHandle())).toList();
+        tree.forEach(ProcessHandle::destroyForcibly);
+        for (ProcessHandle handle : tree) {
+            try {
+                handle.onExit().get(KILL_WAIT_MS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException | TimeoutException e) {
+                log.warn("Local backup process: {} did not exit after being killed", handle.pid());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running.forEach(process -> {
+            log.warn("Killing local backup command: {} still running at shutdown", process.pid());
+            kill(process);
+        });
+        scheduler.dispose();
+    }
+
+    private static final class CommandFailedException extends DbBackupException {
+
+        private CommandFailedException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.scb.backup.provider;
+
+import com.scb.backup.client.YbaClient;
+import com.scb.backup.model.YbaDynamicConfig;
+import com.scb.backup.utils.AppConstants;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.publisher.Mono;
+
+import java.net.ConnectException;
+import java.util.Map;
+
+/**
+ * Backups through the YugabyteDB Anywhere REST API.
+ */
+@Component
+public class YbaBackupProvider implements BackupProvider {
+
+    private final YbaClient ybaClient;
+
+    public YbaBackupProvider(YbaClient ybaClient) {
+        this.ybaClient = ybaClient;
+    }
+
+    @Override
+    public String name() {
+        return AppConstants.PROVIDER_YBA;
+    }
+
+    @Override
+    public Mono<String> initiate(String categoryCode, YbaDynamicConfig config, Map<String, Object> batchParams) {
+        return ybaClient.backupInitiate(categoryCode, config, batchParams);
+    }
+
+    /**
+     * Only a refused connection is known not to have reached YBA. In parallel keyspace mode
+     * other keyspaces may already be submitted, so nothing is repeated there.
+     */
+    @Override
+    public boolean isRetryable(YbaDynamicConfig config, Throwable error) {
+        return error instanceof WebClientRequestException
+                && error.getCause() instanceof ConnectException
+                && !AppConstants.KEYSPACE_MODE_PARALLEL.equalsIgnoreCase(config.getKeyspaceMode());
+    }
+}
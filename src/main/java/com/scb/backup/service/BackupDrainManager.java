@@ -0,0 +1,98 @@
+package com.scb.backup.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Drain mode for shutdown. Stopping the context first marks the instance as refusing traffic
+ * and stops accepting new backups, then waits for in-flight submissions to finish, up to
+ * {@code backup.drain.timeout-ms}, before the web server and the pools are shut down. YBA task
+ * polling is not waited for; the task UUIDs are on the keyspace backup rows and another
+ * instance, or this one after a restart, resumes following them. Runs in the highest lifecycle
+ * phase so status and event endpoints keep serving while it drains.
+ */
+@Slf4j
+@Component
+public class BackupDrainManager implements SmartLifecycle {
+
+    private final InFlightBackupRegistry inFlightBackupRegistry;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration drainTimeout;
+    private final Duration checkInterval;
+    private volatile boolean running;
+    private volatile boolean draining;
+
+    public BackupDrainManager(InFlightBackupRegistry inFlightBackupRegistry,
+                              ApplicationEventPublisher eventPublisher,
+                              @Value("${backup.drain.timeout-ms:300000}") long drainTimeoutMs,
+                              @Value("${backup.drain.check-interval-ms:1000}") long checkIntervalMs) {
+        this.inFlightBackupRegistry = inFlightBackupRegistry;
+        this.eventPublisher = eventPublisher;
+        this.drainTimeout = Duration.ofMillis(drainTimeoutMs);
+        this.checkInterval = Duration.ofMillis(checkIntervalMs);
+    }
+
+    public boolean isDraining() {
+        return draining;
+    }
+
+    /**
+     * Backups still being submitted by this instance.
+     */
+    public int inFlightSubmissions() {
+        return inFlightBackupRegistry.inFlightCount();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        CountDownLatch drained = new CountDownLatch(1);
+        stop(drained::countDown);
+        try {
+            drained.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void stop(Runnable callback) {
+        draining = true;
+        AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.REFUSING_TRAFFIC);
+        log.info("Draining backups before shutdown - {} in flight", inFlightSubmissions());
+        Flux.interval(Duration.ZERO, checkInterval)
+                .filter(tick -> inFlightSubmissions() == 0)
+                .next()
+                .timeout(drainTimeout)
+                .doFinally(signal -> {
+                    running = false;
+                    callback.run();
+                })
+                .subscribe(tick -> log.info("Backup drain complete"),
+                        e -> log.warn("Backup drain timed out after {} ms with {} still in flight",
+                                drainTimeout.toMillis(), inFlightSubmissions()));
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE;
+    }
+}
@@ -0,0 +1,105 @@
+package com.scb.backup.service;
+
+import com.scb.backup.dao.BackupDaoService;
+import com.scb.backup.model.BackupEvent;
+import com.scb.backup.utils.AppConstants;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Exponentially weighted moving average of backup duration per category, seeded from the
+ * tracker history at startup and updated as tracked jobs finish. Both use the same measure, the
+ * time from acceptance until a successful backup's YBA tasks finished, as stored in
+ * {@code task_duration_ms}; untracked and failed runs are left out. Predictions order queued
+ * submissions longest-first, stagger scheduled starts, and flag jobs that overrun.
+ */
+@Slf4j
+@Component
+public class BackupDurationPredictor {
+
+    private final BackupDaoService backupDaoService;
+    private final BackupEventBus eventBus;
+    private final double alpha;
+    private final int historyDays;
+    private final double overrunFactor;
+    private final Map<String, Double> averageMs = new ConcurrentHashMap<>();
+
+    public BackupDurationPredictor(BackupDaoService backupDaoService, BackupEventBus eventBus,
+                                   @Value("${backup.prediction.ewma-alpha:0.3}") double alpha,
+                                   @Value("${backup.prediction.history-days:60}") int historyDays,
+                                   @Value("${backup.prediction.overrun-factor:1.5}") double overrunFactor) {
+        this.backupDaoService = backupDaoService;
+        this.eventBus = eventBus;
+        this.alpha = alpha;
+        this.historyDays = historyDays;
+        this.overrunFactor = overrunFactor;
+    }
+
+    /**
+     * Seeds off the startup path, so the history query does not hold back readiness.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedFromHistory() {
+        Mono.fromRunnable(() -> backupDaoService.findRecentDurations(historyDays)
+                        .forEach(sample -> observe(sample.categoryCode(), sample.durationMs())))
+                .subscribeOn(Schedulers.boundedElastic())
+                .subscribe(unused -> { },
+                        e -> log.warn("Unable to seed backup duration predictions from history", e),
+                        () -> log.info("Seeded backup duration predictions for {} categories", averageMs.size()));
+    }
+
+    public void observe(String categoryCode, long durationMs) {
+        averageMs.merge(categoryCode.toUpperCase(), (double) durationMs,
+                (previous, sample) -> alpha * sample + (1 - alpha) * previous);
+    }
+
+    public Optional<Duration> predict(String categoryCode) {
+        return Optional.ofNullable(averageMs.get(categoryCode.toUpperCase()))
+                .map(ms -> Duration.ofMillis(Math.round(ms)));
+    }
+
+    /**
+     * Predicted duration in ms, zero for categories without history.
+     */
+    public long predictedMillis(String categoryCode) {
+        return predict(categoryCode).map(Duration::toMillis).orElse(0L);
+    }
+
+    /**
+     * Publishes an overrun event if the job is still running once it exceeds its predicted
+     * duration by the overrun factor. Dispose the returned handle when the job finishes.
+     */
+    public Disposable watchForOverrun(String batchId, String categoryCode, Duration elapsed) {
+        Optional<Duration> predicted = predict(categoryCode);
+        if (predicted.isEmpty()) {
+            return Disposables.disposed();
+        }
+        Duration limit = Duration.ofMillis(Math.round(predicted.get().toMillis() * overrunFactor));
+        Duration remaining = limit.minus(elapsed);
+        return Mono.delay(remaining.isNegative() ? Duration.ZERO : remaining)
+                .subscribe(tick -> {
+                    log.warn("Backup for batch: {} category: {} is running longer than {} ms (predicted {} ms)",
+                            batchId, categoryCode, limit.toMillis(), predicted.get().toMillis());
+                    eventBus.publish(BackupEvent.builder()
+                            .type(AppConstants.EVENT_OVERRUN)
+                            .batchId(batchId)
+                            .categoryCode(categoryCode)
+                            .message("Exceeded predicted duration of " + predicted.get().toMillis() + " ms")
+                            .timestamp(LocalDateTime.now())
+                            .build());
+                });
+    }
+}
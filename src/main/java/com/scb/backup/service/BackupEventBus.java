@@ -0,0 +1,42 @@
+package com.scb.backup.service;
+
+import com.scb.backup.model.BackupEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Fan-out of backup job transitions and YBA task progress to any number of live subscribers.
+ * Every subscriber gets its own bounded buffer that drops the oldest events when it falls
+ * behind, so a slow dashboard never holds back publishers or other subscribers. Events are
+ * numbered in the order they are emitted, so subscribers can tell when they missed some.
+ */
+@Slf4j
+@Component
+public class BackupEventBus {
+
+    private final Sinks.Many<BackupEvent> sink = Sinks.many().multicast().directBestEffort();
+    private final int subscriberBufferSize;
+    private long sequence;
+
+    public BackupEventBus(@Value("${backup.events.subscriber-buffer-size:256}") int subscriberBufferSize) {
+        this.subscriberBufferSize = subscriberBufferSize;
+    }
+
+    public void publish(BackupEvent event) {
+        synchronized (sink) {
+            event.setSequence(++sequence);
+            sink.tryEmitNext(event);
+        }
+    }
+
+    public Flux<BackupEvent> subscribe() {
+        return sink.asFlux()
+                .onBackpressureBuffer(subscriberBufferSize,
+                        dropped -> log.debug("Dropping backup event for slow subscriber: {}", dropped.getBatchId()),
+                        BufferOverflowStrategy.DROP_OLDEST);
+    }
+}
@@ -0,0 +1,135 @@
+package com.scb.backup.service;
+
+import com.scb.backup.dao.BackupDaoService;
+import com.scb.backup.model.BackupEvent;
+import com.scb.backup.model.BackupJobStatus;
+import com.scb.backup.utils.AppConstants;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory status cache of backup jobs started by this instance. State transitions are
+ * published on the {@link BackupEventBus}; lookups that miss the cache fall back to the
+ * tracker table.
+ */
+@Slf4j
+@Component
+public class BackupJobRegistry {
+
+    private final BackupDaoService backupDaoService;
+    private final BackupEventBus eventBus;
+    private final int maxCachedJobs;
+    private final Map<String, BackupJobStatus> jobs = new ConcurrentHashMap<>();
+
+    public BackupJobRegistry(BackupDaoService backupDaoService, BackupEventBus eventBus,
+                             @Value("${backup.jobs.cache-size:1000}") int maxCachedJobs) {
+        this.backupDaoService = backupDaoService;
+        this.eventBus = eventBus;
+        this.maxCachedJobs = maxCachedJobs;
+    }
+
+    public void accepted(String batchId, String categoryCode, String businessDate) {
+        publish(BackupJobStatus.builder()
+                .batchId(batchId)
+                .categoryCode(categoryCode)
+                .businessDate(businessDate)
+                .status(AppConstants.BACKUP_INPROGRESS_STATUS)
+                .startTime(LocalDateTime.now())
+                .build());
+    }
+
+    public void completed(String batchId, String status, String message, String taskUuid, String backupUuid) {
+        BackupJobStatus current = jobs.get(batchId);
+        if (current == null) {
+            return;
+        }
+        publish(current.toBuilder()
+                .status(status)
+                .message(message)
+                .taskUuid(taskUuid)
+                .backupUuid(backupUuid)
+                .endTime(LocalDateTime.now())
+                .build());
+    }
+
+    /**
+     * Reports a request rejected as a duplicate. Its cached state is dropped rather than
+     * replaced, as a retry shares its batch id with the backup that holds the tracker row;
+     * lookups then read that backup's row.
+     */
+    public void duplicate(String batchId, String categoryCode, String message) {
+        jobs.remove(batchId);
+        eventBus.publish(BackupEvent.builder()
+                .type(AppConstants.EVENT_JOB_STATUS)
+                .batchId(batchId)
+                .categoryCode(categoryCode)
+                .status(AppConstants.BACKUP_DUPLICATE_STATUS)
+                .message(message)
+                .timestamp(LocalDateTime.now())
+                .build());
+    }
+
+    public Mono<BackupJobStatus> find(String batchId) {
+        BackupJobStatus cached = jobs.get(batchId);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        return Mono.fromCallable(() -> backupDaoService.findBackup(batchId))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Jobs in the given status from the tracker table, overlaid with fresher cached state.
+     */
+    public Flux<BackupJobStatus> findByStatus(String status, int limit) {
+        return Mono.fromCallable(() -> backupDaoService.findBackupsByStatus(status, limit))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMapMany(rows -> {
+                    Map<String, BackupJobStatus> merged = new LinkedHashMap<>();
+                    jobs.values().stream()
+                            .filter(job -> status.equalsIgnoreCase(job.getStatus()))
+                            .forEach(job -> merged.put(job.getBatchId(), job));
+                    rows.forEach(row -> merged.putIfAbsent(row.getBatchId(), jobs.getOrDefault(row.getBatchId(), row)));
+                    return Flux.fromIterable(merged.values())
+                            .filter(job -> status.equalsIgnoreCase(job.getStatus()))
+                            .take(limit);
+                });
+    }
+
+    private void publish(BackupJobStatus status) {
+        jobs.put(status.getBatchId(), status);
+        eventBus.publish(BackupEvent.builder()
+                .type(AppConstants.EVENT_JOB_STATUS)
+                .batchId(status.getBatchId())
+                .categoryCode(status.getCategoryCode())
+                .status(status.getStatus())
+                .message(status.getMessage())
+                .timestamp(LocalDateTime.now())
+                .build());
+        if (jobs.size() > maxCachedJobs) {
+            evictFinished();
+        }
+    }
+
+    private void evictFinished() {
+        List<BackupJobStatus> finished = jobs.values().stream()
+                .filter(job -> job.getEndTime() != null)
+                .sorted(Comparator.comparing(BackupJobStatus::getEndTime))
+                .toList();
+        int excess = jobs.size() - maxCachedJobs;
+        for (int i = 0; i < excess && i < finished.size(); i++) {
+            jobs.remove(finished.get(i).getBatchId());
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.scb.backup.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.scb.backup.model.RetentionPlan;
+import com.scb.backup.model.YbaDynamicConfig;
+import com.scb.backup.provider.BackupProviderRegistry;
+import com.scb.backup.utils.AppConstants;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Grandfather-father-son retention over the backups YBA lists for a universe, limited to the
+ * backups this service recorded for the category, so categories sharing a universe never touch
+ * each other's backups. The rules apply per keyspace, as in parallel keyspace mode each keyspace
+ * is its own backup: the newest completed backup of the keyspace for each of the last
+ * {@code retention-daily} days, {@code retention-weekly} weeks and {@code retention-monthly}
+ * months is kept until its longest tier runs out, and kept backups due to expire earlier get
+ * their expiry extended. Backups of other storage configs and backups still in progress are
+ * never touched.
+ * <p>
+ * An incremental backup restores only with its base and the increments before it, so keeping
+ * it keeps them too. Chains are deleted whole by deleting their base, which YBA deletes with
+ * its increments, once no backup of the chain is kept, none is the newest of a keyspace and
+ * none is from the last day.
+ */
+@Slf4j
+@Component
+public class BackupRetentionPlanner {
+
+    private static final String COMPLETED_STATE = "Completed";
+    private static final ZoneId ZONE = ZoneId.of(AppConstants.TIMEZONE);
+    /** Expiries this close to the target are left alone. */
+    private static final Duration EXPIRY_TOLERANCE = Duration.ofHours(1);
+
+    record ListedBackup(String uuid, String baseUuid, Instant created, Instant expiry, List<String> keyspaces) {
+    }
+
+    /**
+     * Whether the entry has a retention policy; only YBA backups are listed and pruned here.
+     */
+    public boolean hasPolicy(YbaDynamicConfig config) {
+        return BackupProviderRegistry.isYba(config)
+                && (positive(config.getRetentionDaily())
+                        + positive(config.getRetentionWeekly())
+                        + positive(config.getRetentionMonthly())) > 0;
+    }
+
+    /**
+     * @param entities        the {@code entities} of every listed backup page
+     * @param ownBackupUuids  the backups recorded for the category; no other backup is kept, extended or deleted
+     */
+    public RetentionPlan plan(String categoryCode, YbaDynamicConfig config, List<JsonNode> entities,
+                              Set<String> ownBackupUuids, Instant now) {
+        List<String> categoryKeyspaces = config.getKeyspaces() == null || config.getKeyspaces().isEmpty()
+                ? List.of(config.getDbName()) : config.getKeyspaces();
+        List<ListedBackup> backups = new ArrayList<>();
+        for (JsonNode entity : entities) {
+            JsonNode info = entity.path("commonBackupInfo");
+            String uuid = info.path("backupUUID").asText(null);
+            String storageConfig = info.path("storageConfigUUID").asText(null);
+            Instant created = parseTime(info.path("createTime"));
+            if (uuid == null || !ownBackupUuids.contains(uuid)
+                    || !COMPLETED_STATE.equalsIgnoreCase(info.path("state").asText()) || created == null
+                    || (storageConfig != null && !storageConfig.equals(config.getStorageConfigUuid()))) {
+                continue;
+            }
+            List<String> keyspaces = new ArrayList<>();
+            info.path("responseList").forEach(response -> keyspaces.add(response.path("keyspace").asText()));
+            List<String> ownKeyspaces = keyspaces.isEmpty() ? categoryKeyspaces
+                    : keyspaces.stream().filter(categoryKeyspaces::contains).toList();
+            if (ownKeyspaces.isEmpty()) {
+                continue;
+            }
+            String base = info.path("baseBackupUUID").asText("");
+            backups.add(new ListedBackup(uuid, base.isEmpty() ? uuid : base, created,
+                    parseTime(entity.path("expiryTime")), ownKeyspaces));
+        }
+        backups.sort(Comparator.comparing(ListedBackup::created).reversed());
+        Map<String, List<ListedBackup>> chains = new LinkedHashMap<>();
+        for (ListedBackup backup : backups) {
+            chains.computeIfAbsent(backup.baseUuid(), base -> new ArrayList<>()).add(backup);
+        }
+
+        LocalDate today = LocalDate.ofInstant(now, ZONE);
+        int days = positive(config.getRetentionDaily());
+        int weeks = positive(config.getRetentionWeekly());
+        int months = positive(config.getRetentionMonthly());
+        LocalDate thisWeek = today.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        YearMonth thisMonth = YearMonth.from(today);
+        Map<String, Instant> keepUntil = new HashMap<>();
+        Set<String> newest = new HashSet<>();
+
+        for (String keyspace : categoryKeyspaces) {
+            Set<LocalDate> seenDays = new HashSet<>();
+            Set<LocalDate> seenWeeks = new HashSet<>();
+            Set<YearMonth> seenMonths = new HashSet<>();
+            boolean first = true;
+            for (ListedBackup backup : backups) {
+                if (!backup.keyspaces().contains(keyspace)) {
+                    continue;
+                }
+                if (first) {
+                    chainUpTo(chains, backup).forEach(member -> newest.add(member.uuid()));
+                    first = false;
+                }
+                LocalDate day = LocalDate.ofInstant(backup.created(), ZONE);
+                LocalDate week = day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+                YearMonth month = YearMonth.from(day);
+                if (day.isAfter(today.minusDays(days)) && seenDays.add(day)) {
+                    keep(keepUntil, chains, backup, backup.created().plus(Duration.ofDays(days)));
+                }
+                if (week.isAfter(thisWeek.minusWeeks(weeks)) && seenWeeks.add(week)) {
+                    keep(keepUntil, chains, backup, backup.created().plus(Duration.ofDays(7L * weeks)));
+                }
+                if (month.isAfter(thisMonth.minusMonths(months)) && seenMonths.add(month)) {
+                    keep(keepUntil, chains, backup, day.plusMonths(months).atStartOfDay(ZONE).toInstant());
+                }
+            }
+        }
+
+        List<String> delete = new ArrayList<>();
+        int deletedBackups = 0;
+        Instant recent = now.minus(Duration.ofDays(1));
+        for (Map.Entry<String, List<ListedBackup>> chain : chains.entrySet()) {
+            // increments whose base is not listed here cannot be deleted on their own
+            boolean baseListed = chain.getValue().stream().anyMatch(backup -> backup.uuid().equals(chain.getKey()));
+            boolean needed = chain.getValue().stream().anyMatch(backup -> keepUntil.containsKey(backup.uuid())
+                    || newest.contains(backup.uuid()) || !backup.created().isBefore(recent));
+            if (baseListed && !needed) {
+                delete.add(chain.getKey());
+                deletedBackups += chain.getValue().size();
+            }
+        }
+        Map<String, Instant> extend = new LinkedHashMap<>();
+        for (ListedBackup backup : backups) {
+            Instant until = keepUntil.get(backup.uuid());
+            if (until != null && backup.expiry() != null && backup.expiry().plus(EXPIRY_TOLERANCE).isBefore(until)) {
+                extend.put(backup.uuid(), until);
+            }
+        }
+        return RetentionPlan.builder()
+                .categoryCode(categoryCode)
+                .listedBackups(entities.size())
+                .keptBackups(backups.size() - deletedBackups)
+                .deleteBackupUuids(delete)
+                .extendExpiry(extend)
+                .build();
+    }
+
+    /**
+     * The backup with the base and increments it restores from.
+     */
+    private static List<ListedBackup> chainUpTo(Map<String, List<ListedBackup>> chains, ListedBackup backup) {
+        return chains.get(backup.baseUuid()).stream()
+                .filter(member -> !member.created().isAfter(backup.created()))
+                .toList();
+    }
+
+    private static void keep(Map<String, Instant> keepUntil, Map<String, List<ListedBackup>> chains,
+                             ListedBackup backup, Instant until) {
+        for (ListedBackup member : chainUpTo(chains, backup)) {
+            keepUntil.merge(member.uuid(), until, (a, b) -> a.isAfter(b) ? a : b);
+        }
+    }
+
+    private static int positive(Integer value) {
+        return Math.max(0, Objects.requireNonNullElse(value, 0));
+    }
+
+    private Instant parseTime(JsonNode node) {
+        if (node.isMissingNode() || node.isNull()) {
+            return null;
+        }
+        if (node.isNumber()) {
+            return Instant.ofEpochMilli(node.asLong());
+        }
+        try {
+            return Instant.parse(node.asText());
+        } catch (DateTimeParseException e) {
+            log.debug("Unable to parse YBA timestamp {}", node.asText());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.scb.backup.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.scb.backup.client.YbaClient;
+import com.scb.backup.dao.KeyspaceBackupDao;
+import com.scb.backup.model.RetentionPlan;
+import com.scb.backup.model.YbaDynamicConfig;
+import com.scb.backup.utils.AppConstants;
+import com.scb.backup.utils.TokenBucket;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Applies the retention plan of every {@code yba.databases} entry with a retention policy,
+ * daily and on demand, to the backups recorded for the entry's category. Backups are listed
+ * page by page from the entry's {@code backup-page-url}, deletes go to YBA in batches and
+ * expiry extensions one backup per call, and every YBA call of a universe waits for a permit
+ * from its token bucket, so a long backlog is worked off without flooding YBA.
+ */
+@Slf4j
+@Service
+public class BackupRetentionService {
+
+    private final YbaClient ybaClient;
+    private final YbaConfigService configService;
+    private final BackupRetentionPlanner planner;
+    private final KeyspaceBackupDao keyspaceBackupDao;
+    private final BackupDrainManager drainManager;
+    private final boolean dryRun;
+    private final int pageSize;
+    private final int maxPages;
+    private final int deleteBatchSize;
+    private final double callsPerSecond;
+    private final int burst;
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public BackupRetentionService(YbaClient ybaClient, YbaConfigService configService, BackupRetentionPlanner planner,
+                                  KeyspaceBackupDao keyspaceBackupDao, BackupDrainManager drainManager,
+                                  @Value("${backup.retention.dry-run:false}") boolean dryRun,
+                                  @Value("${backup.retention.page-size:100}") int pageSize,
+                                  @Value("${backup.retention.max-pages:50}") int maxPages,
+                                  @Value("${backup.retention.delete-batch-size:20}") int deleteBatchSize,
+                                  @Value("${backup.retention.calls-per-second:0.5}") double callsPerSecond,
+                                  @Value("${backup.retention.burst:2}") int burst) {
+        this.ybaClient = ybaClient;
+        this.configService = configService;
+        this.planner = planner;
+        this.keyspaceBackupDao = keyspaceBackupDao;
+        this.drainManager = drainManager;
+        this.dryRun = dryRun;
+        this.pageSize = Math.max(1, pageSize);
+        this.maxPages = Math.max(1, maxPages);
+        this.deleteBatchSize = Math.max(1, deleteBatchSize);
+        this.callsPerSecond = callsPerSecond;
+        this.burst = Math.max(1, burst);
+    }
+
+    @Scheduled(cron = "${backup.retention.cron:0 0 3 * * *}", zone = AppConstants.TIMEZONE)
+    public void applyAll() {
+        if (drainManager.isDraining() || !running.compareAndSet(false, true)) {
+            return;
+        }
+        Flux.fromIterable(configService.all().entrySet())
+                .filter(entry -> planner.hasPolicy(entry.getValue()))
+                .concatMap(entry -> apply(entry.getKey(), entry.getValue())
+                        .onErrorResume(e -> {
+                            log.warn("Retention run failed for category: {}", entry.getKey(), e);
+                            return Mono.empty();
+                        }))
+                .doFinally(signal -> running.set(false))
+                .subscribe();
+    }
+
+    /**
+     * The plan for the category as of now, without applying it.
+     */
+    public Mono<RetentionPlan> plan(String categoryCode) {
+        YbaDynamicConfig config = configService.resolve(categoryCode);
+        if (config == null || !planner.hasPolicy(config)) {
+            return Mono.empty();
+        }
+        if (!StringUtils.hasText(config.getBackupPageUrl()) || !StringUtils.hasText(config.getFullBackupUrl())) {
+            return Mono.error(new IllegalArgumentException("Category: " + categoryCode
+                    + " needs backup-page-url and full-backup-url for retention"));
+        }
+        return Mono.zip(listAll(config),
+                        Mono.fromCallable(() -> keyspaceBackupDao.findBackupUuids(categoryCode))
+                                .subscribeOn(Schedulers.boundedElastic()))
+                .map(listed -> planner.plan(categoryCode, config, listed.getT1(), listed.getT2(), Instant.now()));
+    }
+
+    /**
+     * Plans and applies retention for the category, empty when it has no retention policy.
+     */
+    public Mono<RetentionPlan> apply(String categoryCode, YbaDynamicConfig config) {
+        return plan(categoryCode)
+                .flatMap(plan -> {
+                    log.info("Retention for category: {} - {} listed, {} kept, {} to delete, {} to extend{}",
+                            categoryCode, plan.getListedBackups(), plan.getKeptBackups(),
+                            plan.getDeleteBackupUuids().size(), plan.getExtendExpiry().size(), dryRun ? " (dry run)" : "");
+                    if (dryRun) {
+                        return Mono.just(plan);
+                    }
+                    return extend(config, plan).then(delete(config, plan)).thenReturn(plan);
+                });
+    }
+
+    private Mono<Void> extend(YbaDynamicConfig config, RetentionPlan plan) {
+        return Flux.fromIterable(plan.getExtendExpiry().entrySet())
+                .concatMap(entry -> permit(config)
+                        .then(ybaClient.updateBackupExpiry(config, entry.getKey(),
+                                Math.max(0, Duration.between(Instant.now(), entry.getValue()).toMillis())))
+                        .onErrorResume(e -> {
+                            log.warn("Unable to extend expiry of backup: {}", entry.getKey(), e);
+                            return Mono.empty();
+                        }))
+                .then();
+    }
+
+    private Mono<Void> delete(YbaDynamicConfig config, RetentionPlan plan) {
+        return Flux.fromIterable(plan.getDeleteBackupUuids())
+                .buffer(deleteBatchSize)
+                .concatMap(batch -> permit(config)
+                        .then(ybaClient.deleteBackups(config, batch))
+                        .doOnSuccess(response -> log.info("Deleted {} backup(s) of category: {} past retention",
+                                batch.size(), plan.getCategoryCode()))
+                        .onErrorResume(e -> {
+                            log.warn("Unable to delete backups: {}", batch, e);
+                            return Mono.empty();
+                        }))
+                .then();
+    }
+
+    private record Page(int offset, JsonNode body) {
+    }
+
+    private Mono<List<JsonNode>> listAll(YbaDynamicConfig config) {
+        return fetchPage(config, 0)
+                .expand(page -> page.body().path("hasNext").asBoolean(false)
+                        ? fetchPage(config, page.offset() + pageSize) : Mono.empty())
+                .take(maxPages)
+                .concatMapIterable(page -> page.body().path("entities"))
+                .collectList();
+    }
+
+    private Mono<Page> fetchPage(YbaDynamicConfig config, int offset) {
+        return permit(config)
+                .then(ybaClient.fetchBackupPage(config, offset, pageSize))
+                .map(body -> new Page(offset, body));
+    }
+
+    /**
+     * Completes once the universe's retention bucket grants a permit.
+     */
+    private Mono<Void> permit(YbaDynamicConfig config) {
+        TokenBucket bucket = buckets.computeIfAbsent(Objects.requireNonNullElse(config.getUniverseUuid(), ""),
+                universe -> new TokenBucket(callsPerSecond, burst));
+        return Mono.defer(() -> {
+            if (bucket.tryAcquire()) {
+                return Mono.<Void>empty();
+            }
+            return Mono.delay(Duration.ofMillis(Math.max(1, bucket.millisUntilNextPermit())))
+                    .then(permit(config));
+        });
+    }
+}
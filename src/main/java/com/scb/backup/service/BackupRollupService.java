@@ -0,0 +1,99 @@
+package com.scb.backup.service;
+
+import com.scb.backup.dao.BackupRollupDao;
+import com.scb.backup.model.BackupRollup;
+import com.scb.backup.utils.AppConstants;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Daily per-category backup rollups. Each finished job adds its count, failure and duration to
+ * the rollup row, durations going into a fixed-bucket histogram so percentiles can be read
+ * back without touching the raw tracker rows.
+ */
+@Slf4j
+@Service
+public class BackupRollupService {
+
+    /** Upper bounds of the duration histogram buckets in ms; the last bucket is unbounded. */
+    static final long[] DURATION_BUCKETS_MS = {
+            1_000, 5_000, 15_000, 30_000, 60_000, 120_000, 300_000, 600_000,
+            1_800_000, 3_600_000, 7_200_000, 14_400_000, 28_800_000, Long.MAX_VALUE
+    };
+
+    private static final DateTimeFormatter BUSINESS_DATE_FORMAT = DateTimeFormatter.ofPattern(AppConstants.DATE_PATTERN);
+
+    private final BackupRollupDao rollupDao;
+
+    public BackupRollupService(BackupRollupDao rollupDao) {
+        this.rollupDao = rollupDao;
+    }
+
+    public void recordCompletion(String categoryCode, String businessDate, boolean succeeded, long durationMs) {
+        Long[] histogram = new Long[DURATION_BUCKETS_MS.length];
+        Arrays.fill(histogram, 0L);
+        histogram[bucketOf(durationMs)] = 1L;
+        rollupDao.addToRollup(categoryCode, LocalDate.parse(businessDate, BUSINESS_DATE_FORMAT),
+                1, succeeded ? 0 : 1, durationMs, 0, histogram);
+    }
+
+    /**
+     * Adds the size of a verified backup to the category's rollup row without counting a job.
+     */
+    public void recordBytes(String categoryCode, String businessDate, long bytes) {
+        Long[] histogram = new Long[DURATION_BUCKETS_MS.length];
+        Arrays.fill(histogram, 0L);
+        rollupDao.addToRollup(categoryCode, LocalDate.parse(businessDate, BUSINESS_DATE_FORMAT),
+                0, 0, 0, bytes, histogram);
+    }
+
+    public List<BackupRollup> rollups(String categoryCode, LocalDate from, LocalDate to) {
+        return rollupDao.findRollups(categoryCode, from, to).stream()
+                .map(row -> BackupRollup.builder()
+                        .categoryCode(row.categoryCode())
+                        .businessDate(row.businessDate().format(BUSINESS_DATE_FORMAT))
+                        .jobCount(row.jobCount())
+                        .failureCount(row.failureCount())
+                        .successRate(row.jobCount() == 0 ? 0 : (double) (row.jobCount() - row.failureCount()) / row.jobCount())
+                        .averageDurationMs(row.jobCount() == 0 ? 0 : row.totalDurationMs() / row.jobCount())
+                        .p50DurationMs(percentile(row.durationHistogram(), 0.50))
+                        .p95DurationMs(percentile(row.durationHistogram(), 0.95))
+                        .totalBytes(row.totalBytes())
+                        .build())
+                .toList();
+    }
+
+    static int bucketOf(long durationMs) {
+        for (int i = 0; i < DURATION_BUCKETS_MS.length; i++) {
+            if (durationMs <= DURATION_BUCKETS_MS[i]) {
+                return i;
+            }
+        }
+        return DURATION_BUCKETS_MS.length - 1;
+    }
+
+    /**
+     * Upper bound of the bucket holding the given quantile; the unbounded bucket reports the
+     * bound below it.
+     */
+    static long percentile(long[] histogram, double quantile) {
+        long total = Arrays.stream(histogram).sum();
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(quantile * total);
+        long seen = 0;
+        for (int i = 0; i < histogram.length && i < DURATION_BUCKETS_MS.length; i++) {
+            seen += histogram[i];
+            if (seen >= rank) {
+                return i == DURATION_BUCKETS_MS.length - 1 ? DURATION_BUCKETS_MS[i - 1] : DURATION_BUCKETS_MS[i];
+            }
+        }
+        return DURATION_BUCKETS_MS[DURATION_BUCKETS_MS.length - 2];
+    }
+}
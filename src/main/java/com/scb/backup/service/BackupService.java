@@ -1,33 +1,65 @@
 package com.scb.backup.service;
 
-import com.scb.backup.client.YbaClient;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.scb.backup.dao.BackupDaoService;
+import com.scb.backup.dao.BackupResponseCodec;
+import com.scb.backup.exception.BackupAlreadyClaimedException;
+import com.scb.backup.exception.PartialSubmissionException;
+import com.scb.backup.provider.BackupProviderRegistry;
 import com.scb.backup.utils.AppConstants;
 import com.scb.backup.utils.AppUtils;
 import com.scb.epricing.batch.core.lib.dao.BatchExecutionDao;
 import com.scb.epricing.batch.core.lib.service.GenericBatchService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.Disposable;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Slf4j
 @Service
 public class BackupService extends GenericBatchService {
 
-    private final YbaClient ybaClient;
+    private final BackupProviderRegistry providerRegistry;
     private final BackupDaoService backupDaoService;
     private final BatchExecutionDao batchExecutionDao;
     private final BackupValidationService validationService;
+    private final InFlightBackupRegistry inFlightBackupRegistry;
+    private final BackupJobRegistry jobRegistry;
+    private final YbaTaskTracker taskTracker;
+    private final TransactionTemplate transactionTemplate;
+    private final BackupRollupService rollupService;
+    private final BackupDurationPredictor durationPredictor;
+    private final BackupResponseCodec responseCodec;
+    private final BackupVerificationService verificationService;
+    private final ObjectMapper mapper = new ObjectMapper();
 
-    public BackupService(YbaClient ybaClient, BackupDaoService backupDaoService,
-                         BatchExecutionDao batchExecutionDao, BackupValidationService validationService) {
-        this.ybaClient = ybaClient;
+    public BackupService(BackupProviderRegistry providerRegistry, BackupDaoService backupDaoService,
+                         BatchExecutionDao batchExecutionDao, BackupValidationService validationService,
+                         InFlightBackupRegistry inFlightBackupRegistry, BackupJobRegistry jobRegistry,
+                         YbaTaskTracker taskTracker, TransactionTemplate transactionTemplate,
+                         BackupRollupService rollupService, BackupDurationPredictor durationPredictor,
+                         BackupResponseCodec responseCodec, BackupVerificationService verificationService) {
+        this.providerRegistry = providerRegistry;
         this.backupDaoService = backupDaoService;
         this.batchExecutionDao = batchExecutionDao;
         this.validationService = validationService;
+        this.inFlightBackupRegistry = inFlightBackupRegistry;
+        this.jobRegistry = jobRegistry;
+        this.taskTracker = taskTracker;
+        this.transactionTemplate = transactionTemplate;
+        this.rollupService = rollupService;
+        this.durationPredictor = durationPredictor;
+        this.responseCodec = responseCodec;
+        this.verificationService = verificationService;
     }
 
     @Override
@@ -51,10 +83,16 @@ public class BackupService extends GenericBatchService {
 
     public Mono<Void> processBackup(String batchId, String businessDate, String categoryCode) {
         Map<String, Object> batchParams = AppUtils.createBatchParams(batchId, businessDate, categoryCode);
+        long startNanos = System.nanoTime();
 
-        return ybaClient.backupInitiate(categoryCode, batchParams)
-                .flatMap(ydbRes -> handleBackupSuccess(batchId, businessDate, ydbRes))
-                .onErrorResume(e -> handleBackupFailure(batchId, businessDate, e))
+        return inFlightBackupRegistry.join(categoryCode, businessDate, batchId,
+                        () -> providerRegistry.initiate(categoryCode, batchParams))
+                .doOnSubscribe(s -> jobRegistry.accepted(batchId, categoryCode, businessDate))
+                // only a failed submission is a failed backup; failures recording an accepted one are handled apart
+                .flatMap(flight -> flight.result()
+                        .onErrorResume(e -> handleBackupFailure(batchId, businessDate, categoryCode, flight, startNanos, e)
+                                .then(Mono.empty()))
+                        .flatMap(ydbRes -> handleBackupSuccess(batchId, businessDate, categoryCode, flight, startNanos, ydbRes)))
                 .then();
     }
 
@@ -72,26 +110,164 @@ public class BackupService extends GenericBatchService {
         }
     }
 
-    private Mono<Void> handleBackupSuccess(String batchId, String businessDate, String ydbRes) {
+    private Mono<Void> handleBackupSuccess(String batchId, String businessDate, String categoryCode,
+                                           InFlightBackupRegistry.Flight flight, long startNanos, String ydbRes) {
         return Mono.fromRunnable(() -> {
-            backupDaoService.updateBackupStatus(batchId, AppConstants.BACKUP_SUCCESS_STATUS,
-                    AppUtils.toDate(businessDate), ydbRes);
-            batchExecutionDao.updateBatchStatus(batchId, AppConstants.BATCH_COMPLETED_STATUS,
-                    new HashMap<>(), businessDate);
+            BackupResponseCodec.Encoded response = responseCodec.encode(ydbRes);
+            String message = coalescedMessage(batchId, flight);
+            try {
+                finalizeBackup(batchId, businessDate, AppConstants.BACKUP_SUCCESS_STATUS,
+                        AppConstants.BATCH_COMPLETED_STATUS, response, flight.isLeader(batchId));
+            } catch (Exception e) {
+                // YBA is running the backup; keep it accepted and followed rather than reporting it failed
+                log.error("Backup of batch: {} was accepted but its outcome could not be recorded", batchId, e);
+                message = "Accepted, but recording the outcome failed: " + e.getMessage();
+            }
+            jobRegistry.completed(batchId, AppConstants.BACKUP_SUCCESS_STATUS, message,
+                    response.taskUuid(), response.backupUuid());
             log.info("Backup completed successfully for batch: {}", batchId);
+            if (flight.isLeader(batchId)) {
+                if (providerRegistry.isYba(categoryCode)) {
+                    trackTasks(batchId, businessDate, categoryCode, ydbRes, true, startNanos);
+                } else {
+                    // other providers answer once their backup finished; there are no YBA tasks to follow or verify
+                    recordRollup(batchId, businessDate, categoryCode, true, startNanos);
+                    recordTaskDuration(batchId, businessDate, categoryCode, elapsed(startNanos).toMillis());
+                }
+            }
         });
     }
 
-    private Mono<Void> handleBackupFailure(String batchId, String businessDate, Throwable e) {
+    /**
+     * Follows the YBA tasks of the submission; once all of them succeeded a complete backup is
+     * queued for verification, and its duration up to the end of its tasks is stored on the
+     * tracker row and fed to the predictor, which learns from nothing else. The job is added to
+     * the daily rollup here, once; an untracked submission counts until it was accepted.
+     */
+    private void trackTasks(String batchId, String businessDate, String categoryCode, String ydbRes, boolean complete,
+                            long startNanos) {
+        Disposable overrunWatch = durationPredictor.watchForOverrun(batchId, categoryCode, elapsed(startNanos));
+        taskTracker.track(batchId, categoryCode, ydbRes)
+                .doFinally(signal -> overrunWatch.dispose())
+                .subscribe(tasks -> {
+                            log.debug("Finished tracking {} YBA task(s) for batch: {}", tasks.size(), batchId);
+                            boolean succeeded = tasks.stream().allMatch(task -> "Success".equals(task.path("status").asText()));
+                            recordRollup(batchId, businessDate, categoryCode, complete && succeeded, startNanos);
+                            if (complete && succeeded && !tasks.isEmpty()) {
+                                recordTaskDuration(batchId, businessDate, categoryCode, elapsed(startNanos).toMillis());
+                                submitVerification(batchId, businessDate, categoryCode);
+                            }
+                        },
+                        e -> {
+                            log.warn("YBA task tracking failed for batch: {}", batchId, e);
+                            recordRollup(batchId, businessDate, categoryCode, false, startNanos);
+                        });
+    }
+
+    /**
+     * Follows the YBA tasks of a backup again after the instance that followed them stopped.
+     * Its duration still counts from when the keyspace backups were recorded.
+     *
+     * @param complete whether the submission was accepted for every keyspace
+     */
+    public void resumeTracking(String batchId, String businessDate, String categoryCode, List<String> taskUuids,
+                               LocalDateTime startTime, boolean complete) {
+        ArrayNode tasks = mapper.createArrayNode();
+        taskUuids.forEach(taskUuid -> tasks.addObject().put("taskUUID", taskUuid));
+        long startNanos = System.nanoTime() - Duration.between(startTime, LocalDateTime.now()).toNanos();
+        log.info("Resuming {} YBA task(s) of batch: {}", taskUuids.size(), batchId);
+        trackTasks(batchId, businessDate, categoryCode, tasks.toString(), complete, startNanos);
+    }
+
+    private void recordTaskDuration(String batchId, String businessDate, String categoryCode, long durationMs) {
+        durationPredictor.observe(categoryCode, durationMs);
+        Mono.fromRunnable(() -> backupDaoService.updateTaskDuration(batchId, AppUtils.toDate(businessDate), durationMs))
+                .subscribeOn(Schedulers.boundedElastic())
+                .subscribe(null, e -> log.warn("Unable to store task duration of batch: {}", batchId, e));
+    }
+
+    private static Duration elapsed(long startNanos) {
+        return Duration.ofNanos(System.nanoTime() - startNanos);
+    }
+
+    private void submitVerification(String batchId, String businessDate, String categoryCode) {
+        // the tracker row holds the final backup type, after any promotion to full
+        Mono.fromCallable(() -> backupDaoService.findBackup(batchId))
+                .subscribeOn(Schedulers.boundedElastic())
+                .subscribe(job -> verificationService.submit(batchId, categoryCode, businessDate,
+                                job.getBackupType(), job.getBackupUuid()),
+                        e -> log.warn("Unable to queue verification of batch: {}", batchId, e));
+    }
+
+    private Mono<Void> handleBackupFailure(String batchId, String businessDate, String categoryCode,
+                                           InFlightBackupRegistry.Flight flight, long startNanos, Throwable e) {
         return Mono.fromRunnable(() -> {
+            if (e instanceof BackupAlreadyClaimedException) {
+                // the tracker row, its backup and the rollup belong to the request that claimed it
+                log.warn("Rejecting duplicate backup of batch: {} - {}", batchId, e.getMessage());
+                jobRegistry.duplicate(batchId, categoryCode, e.getMessage());
+                return;
+            }
             log.error("Backup failed for batch: {}", batchId, e);
-            backupDaoService.updateBackupStatus(batchId, AppConstants.BACKUP_FAILED_STATUS,
-                    AppUtils.toDate(businessDate), e.getMessage());
-            batchExecutionDao.updateBatchStatus(batchId, AppConstants.BATCH_FAILED_STATUS,
-                    new HashMap<>(), businessDate);
+            // keyspaces YBA accepted before others failed are running; keep their identifiers and follow them
+            String partialResponse = e instanceof PartialSubmissionException partial ? partial.getResponse() : null;
+            BackupResponseCodec.Encoded response = responseCodec.encode(partialResponse != null ? partialResponse : e.getMessage());
+            try {
+                finalizeBackup(batchId, businessDate, AppConstants.BACKUP_FAILED_STATUS,
+                        AppConstants.BATCH_FAILED_STATUS, response, flight.isLeader(batchId));
+            } catch (Exception persistError) {
+                log.error("Unable to record the failure of batch: {}", batchId, persistError);
+            }
+            jobRegistry.completed(batchId, AppConstants.BACKUP_FAILED_STATUS, e.getMessage(),
+                    response.taskUuid(), response.backupUuid());
+            if (!flight.isLeader(batchId)) {
+                return;
+            }
+            if (partialResponse != null) {
+                trackTasks(batchId, businessDate, categoryCode, partialResponse, false, startNanos);
+            } else {
+                recordRollup(batchId, businessDate, categoryCode, false, startNanos);
+            }
         });
     }
 
+    /**
+     * Writes the tracker and batch execution outcome in one transaction, so both tables move
+     * together and the pair costs a single connection checkout. The tracker row belongs to the
+     * leader of a coalesced submission, so followers only finalize their own batch. Scheduled
+     * runs have no batch execution row, only the tracker row.
+     */
+    private void finalizeBackup(String batchId, String businessDate, String backupStatus, String batchStatus,
+                                BackupResponseCodec.Encoded backupResponse, boolean leader) {
+        transactionTemplate.executeWithoutResult(tx -> {
+            if (leader) {
+                backupDaoService.updateBackupStatus(batchId, backupStatus, AppUtils.toDate(businessDate), backupResponse);
+            }
+            if (!isScheduled(batchId)) {
+                batchExecutionDao.updateBatchStatus(batchId, batchStatus, new HashMap<>(), businessDate);
+            }
+        });
+    }
+
+    private static boolean isScheduled(String batchId) {
+        return batchId.startsWith(AppConstants.SCHEDULED_BATCH_PREFIX);
+    }
+
+    private static String coalescedMessage(String batchId, InFlightBackupRegistry.Flight flight) {
+        return flight.isLeader(batchId) ? null : "Coalesced into batch " + flight.leaderBatchId();
+    }
+
+    /**
+     * Rollups count submissions, so only the leader of a coalesced submission records one.
+     */
+    private void recordRollup(String batchId, String businessDate, String categoryCode, boolean succeeded,
+                              long startNanos) {
+        long durationMs = elapsed(startNanos).toMillis();
+        Mono.fromRunnable(() -> rollupService.recordCompletion(categoryCode, businessDate, succeeded, durationMs))
+                .subscribeOn(Schedulers.boundedElastic())
+                .subscribe(null, e -> log.warn("Unable to update backup rollup for batch: {}", batchId, e));
+    }
+
     String extractBusinessDate(String batchId, String categoryCode) {
         String date = batchExecutionDao.getBatchDetails(batchId, categoryCode)
                 .getId().getBatchExecutionDate();
@@ -24,8 +24,8 @@ public class BackupValidationService {
             throw new IllegalArgumentException("No backup configuration found for category: " + categoryCode);
         }
 
-        if (StringUtils.isBlank(config.getApiToken())) {
-            throw new IllegalArgumentException("API token is required for backup configuration");
+        if (StringUtils.isBlank(config.getApiToken()) && StringUtils.isBlank(config.getApiTokenSecret())) {
+            throw new IllegalArgumentException("API token or API token secret is required for backup configuration");
         }
 
         if (StringUtils.isBlank(config.getUniverseUuid())) {
@@ -0,0 +1,297 @@
+package com.scb.backup.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.scb.backup.client.YbaClient;
+import com.scb.backup.dao.BackupVerificationDao;
+import com.scb.backup.dao.KeyspaceBackupDao;
+import com.scb.backup.exception.UnknownBackupException;
+import com.scb.backup.model.BackupEvent;
+import com.scb.backup.model.BackupVerification;
+import com.scb.backup.model.KeyspaceBackup;
+import com.scb.backup.model.YbaDynamicConfig;
+import com.scb.backup.utils.AppConstants;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Checks completed backups against YBA: each keyspace the category backs up must be held by the
+ * backup recorded for it, in parallel keyspace mode its own backup, that backup must be in state
+ * Completed, and the batch's size must not move more than the allowed ratio from the last
+ * verified backup of the same type. A batch whose backup UUID is missing or unknown to YBA is
+ * UNVERIFIABLE; no other backup is checked in its place. Requests queue up and are verified in batches
+ * with bounded concurrency, so verification never competes with the backup window for YBA
+ * calls. Results are stored per batch and the verified size is added to the daily rollup.
+ */
+@Slf4j
+@Service
+public class BackupVerificationService {
+
+    private final YbaClient ybaClient;
+    private final YbaConfigService configService;
+    private final BackupVerificationDao verificationDao;
+    private final KeyspaceBackupDao keyspaceBackupDao;
+    private final BackupRollupService rollupService;
+    private final BackupEventBus eventBus;
+    private final boolean enabled;
+    private final int batchSize;
+    private final Duration batchWait;
+    private final int concurrency;
+    private final double maxSizeDeltaRatio;
+    private final Sinks.Many<Request> queue = Sinks.many().unicast().onBackpressureBuffer();
+    private final AtomicInteger pending = new AtomicInteger();
+    private Disposable pipeline;
+
+    public BackupVerificationService(YbaClient ybaClient, YbaConfigService configService,
+                                     BackupVerificationDao verificationDao, KeyspaceBackupDao keyspaceBackupDao,
+                                     BackupRollupService rollupService,
+                                     BackupEventBus eventBus,
+                                     @Value("${backup.verification.enabled:true}") boolean enabled,
+                                     @Value("${backup.verification.batch-size:10}") int batchSize,
+                                     @Value("${backup.verification.batch-wait-ms:60000}") long batchWaitMs,
+                                     @Value("${backup.verification.concurrency:2}") int concurrency,
+                                     @Value("${backup.verification.max-size-delta-ratio:0.5}") double maxSizeDeltaRatio) {
+        this.ybaClient = ybaClient;
+        this.configService = configService;
+        this.verificationDao = verificationDao;
+        this.keyspaceBackupDao = keyspaceBackupDao;
+        this.rollupService = rollupService;
+        this.eventBus = eventBus;
+        this.enabled = enabled;
+        this.batchSize = Math.max(1, batchSize);
+        this.batchWait = Duration.ofMillis(batchWaitMs);
+        this.concurrency = Math.max(1, concurrency);
+        this.maxSizeDeltaRatio = maxSizeDeltaRatio;
+    }
+
+    private record Request(String batchId, String categoryCode, String businessDate, String backupType,
+                           String backupUuid) {
+    }
+
+    @PostConstruct
+    public void start() {
+        pipeline = queue.asFlux()
+                .bufferTimeout(batchSize, batchWait)
+                .concatMap(batch -> Flux.fromIterable(batch)
+                        .flatMap(this::verify, concurrency)
+                        .then(), 1)
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (pipeline != null) {
+            pipeline.dispose();
+        }
+    }
+
+    /**
+     * Queues a finished backup for verification.
+     */
+    public void submit(String batchId, String categoryCode, String businessDate, String backupType, String backupUuid) {
+        if (!enabled) {
+            return;
+        }
+        pending.incrementAndGet();
+        synchronized (queue) {
+            if (queue.tryEmitNext(new Request(batchId, categoryCode, businessDate, backupType, backupUuid)).isFailure()) {
+                pending.decrementAndGet();
+                log.warn("Unable to queue verification of batch: {}", batchId);
+            }
+        }
+    }
+
+    public int pendingVerifications() {
+        return pending.get();
+    }
+
+    public Mono<BackupVerification> find(String batchId) {
+        return Mono.fromCallable(() -> verificationDao.findVerification(batchId))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private Mono<Void> verify(Request request) {
+        YbaDynamicConfig config = configService.resolve(request.categoryCode());
+        if (config == null) {
+            pending.decrementAndGet();
+            return Mono.empty();
+        }
+        return Mono.fromCallable(() -> backupsByKeyspace(request, config))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(backups -> Flux.fromIterable(new LinkedHashSet<>(backups.values()))
+                        .concatMap(backupUuid -> ybaClient.fetchBackupInfo(config, backupUuid)
+                                .map(info -> Map.entry(backupUuid, info)))
+                        .collectMap(Map.Entry::getKey, Map.Entry::getValue, LinkedHashMap::new)
+                        .publishOn(Schedulers.boundedElastic())
+                        .map(infos -> evaluate(request, config, backups, infos)))
+                .onErrorResume(UnknownBackupException.class, e -> {
+                    log.warn("Backup of batch: {} cannot be verified - {}", request.batchId(), e.getMessage());
+                    return Mono.just(result(request, AppConstants.VERIFICATION_UNVERIFIABLE)
+                            .message(e.getMessage())
+                            .build());
+                })
+                .onErrorResume(e -> {
+                    log.warn("Unable to verify backup of batch: {}", request.batchId(), e);
+                    return Mono.just(result(request, AppConstants.VERIFICATION_FAILED)
+                            .message("Unable to verify the backup: " + e.getMessage())
+                            .build());
+                })
+                .doOnNext(this::record)
+                .doFinally(signal -> pending.decrementAndGet())
+                .then();
+    }
+
+    /**
+     * The backup recorded for each keyspace of the batch; batches recorded before keyspaces were
+     * have one backup, named on the tracker row, for every keyspace of the category.
+     */
+    private Map<String, String> backupsByKeyspace(Request request, YbaDynamicConfig config) {
+        List<KeyspaceBackup> rows = keyspaceBackupDao.findByBatch(request.batchId());
+        Map<String, String> backups = new LinkedHashMap<>();
+        List<String> unrecorded = new ArrayList<>();
+        if (rows.isEmpty()) {
+            if (request.backupUuid() == null) {
+                throw new UnknownBackupException("No backup UUID recorded for batch: " + request.batchId());
+            }
+            expectedKeyspaces(config).forEach(keyspace -> backups.put(keyspace, request.backupUuid()));
+            return backups;
+        }
+        for (KeyspaceBackup row : rows) {
+            if (row.getBackupUuid() == null) {
+                unrecorded.add(row.getKeyspace());
+            } else {
+                backups.put(row.getKeyspace(), row.getBackupUuid());
+            }
+        }
+        if (!unrecorded.isEmpty()) {
+            throw new UnknownBackupException("No backup UUID recorded for keyspaces: " + unrecorded
+                    + " of batch: " + request.batchId());
+        }
+        return backups;
+    }
+
+    private static List<String> expectedKeyspaces(YbaDynamicConfig config) {
+        return config.getKeyspaces() == null || config.getKeyspaces().isEmpty()
+                ? List.of(config.getDbName()) : config.getKeyspaces();
+    }
+
+    /**
+     * Checks each keyspace against the backup recorded for it; the batch's size is the sum of its
+     * distinct backups.
+     */
+    private BackupVerification evaluate(Request request, YbaDynamicConfig config, Map<String, String> backups,
+                                        Map<String, JsonNode> infos) {
+        Map<String, List<String>> backedUp = new HashMap<>();
+        List<String> keyspaces = new ArrayList<>();
+        List<String> problems = new ArrayList<>();
+        String status = AppConstants.VERIFICATION_PASSED;
+        long bytes = 0;
+        String backupState = null;
+        for (Map.Entry<String, JsonNode> backup : infos.entrySet()) {
+            JsonNode info = backup.getValue();
+            List<String> held = new ArrayList<>();
+            info.path("responseList").forEach(response -> held.add(response.path("keyspace").asText()));
+            backedUp.put(backup.getKey(), held);
+            keyspaces.addAll(held);
+
+            String state = info.path("state").asText(null);
+            if (backupState == null || "Completed".equalsIgnoreCase(backupState)) {
+                // the first state that is not Completed stands for the batch
+                backupState = state;
+            }
+            if (!"Completed".equalsIgnoreCase(state)) {
+                problems.add("backup " + backup.getKey() + " is in state " + state);
+                status = AppConstants.VERIFICATION_FAILED;
+            }
+            long size = info.path("totalBackupSize").asLong(-1);
+            bytes = size < 0 || bytes < 0 ? -1 : bytes + size;
+        }
+        List<String> missing = new ArrayList<>();
+        for (String keyspace : expectedKeyspaces(config)) {
+            String backupUuid = backups.get(keyspace);
+            if (backupUuid == null || !backedUp.get(backupUuid).contains(keyspace)) {
+                missing.add(keyspace);
+            }
+        }
+        Long previous = verificationDao.findPreviousBytes(request.categoryCode(), request.backupType(), request.batchId());
+
+        if (!missing.isEmpty()) {
+            problems.add("keyspaces missing from their backups: " + missing);
+            status = AppConstants.VERIFICATION_FAILED;
+        }
+        if (bytes == 0) {
+            problems.add("backup is empty");
+            status = AppConstants.VERIFICATION_FAILED;
+        } else if (bytes > 0 && previous != null && previous > 0) {
+            double delta = (double) (bytes - previous) / previous;
+            if (Math.abs(delta) > maxSizeDeltaRatio) {
+                problems.add(String.format("size changed by %.0f%% from %d to %d bytes", delta * 100, previous, bytes));
+                if (AppConstants.VERIFICATION_PASSED.equals(status)) {
+                    status = AppConstants.VERIFICATION_WARNING;
+                }
+            }
+        }
+        return result(request, status)
+                // one UUID fits the column; a parallel batch's backups are listed per keyspace
+                .backupUuid(infos.size() == 1 ? infos.keySet().iterator().next() : null)
+                .backupState(backupState)
+                .backupBytes(bytes < 0 ? null : bytes)
+                .previousBytes(previous)
+                .keyspaces(keyspaces)
+                .missingKeyspaces(missing)
+                .message(problems.isEmpty() ? null : String.join("; ", problems))
+                .build();
+    }
+
+    private BackupVerification.BackupVerificationBuilder result(Request request, String status) {
+        return BackupVerification.builder()
+                .batchId(request.batchId())
+                .categoryCode(request.categoryCode())
+                .businessDate(request.businessDate())
+                .backupType(request.backupType())
+                .backupUuid(request.backupUuid())
+                .status(status)
+                .verifiedAt(LocalDateTime.now());
+    }
+
+    private void record(BackupVerification verification) {
+        try {
+            verificationDao.saveVerification(verification);
+            if (verification.getBackupBytes() != null && !AppConstants.VERIFICATION_FAILED.equals(verification.getStatus())) {
+                rollupService.recordBytes(verification.getCategoryCode(), verification.getBusinessDate(),
+                        verification.getBackupBytes());
+            }
+        } catch (Exception e) {
+            log.error("Unable to record verification of batch: {}", verification.getBatchId(), e);
+        }
+        if (!AppConstants.VERIFICATION_PASSED.equals(verification.getStatus())) {
+            log.warn("Backup verification of batch: {} category: {} - {}: {}", verification.getBatchId(),
+                    verification.getCategoryCode(), verification.getStatus(), verification.getMessage());
+        }
+        eventBus.publish(BackupEvent.builder()
+                .type(AppConstants.EVENT_VERIFICATION)
+                .batchId(verification.getBatchId())
+                .categoryCode(verification.getCategoryCode())
+                .status(verification.getStatus())
+                .message(verification.getMessage())
+                .timestamp(LocalDateTime.now())
+                .build());
+    }
+}
@@ -0,0 +1,142 @@
+package com.scb.backup.service;
+
+import com.scb.backup.config.YbaProperties;
+import com.scb.backup.dao.BackupDaoService;
+import com.scb.backup.model.YbaDynamicConfig;
+import com.scb.backup.utils.AppConstants;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.support.CronExpression;
+import org.springframework.scheduling.support.CronTrigger;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs backups in-process for databases that declare a {@code schedule-cron}. Entries sharing
+ * a cron are staggered evenly across the window, longest predicted duration first, so they do
+ * not hit YBA and the tracker table at the same instant and the longest jobs do not end the
+ * window. Fires missed while the service was down are replayed once at startup when still
+ * within the grace period.
+ */
+@Slf4j
+@Component
+public class BackupWindowScheduler {
+
+    private static final ZoneId ZONE = ZoneId.of(AppConstants.TIMEZONE);
+    private static final DateTimeFormatter BUSINESS_DATE_FORMAT = DateTimeFormatter.ofPattern(AppConstants.DATE_PATTERN);
+
+    private final YbaConfigService configService;
+    private final YbaProperties props;
+    private final BackupService backupService;
+    private final BackupDaoService backupDaoService;
+    private final InFlightBackupRegistry inFlightBackupRegistry;
+    private final TaskScheduler taskScheduler;
+    private final BackupDurationPredictor durationPredictor;
+    private final BackupDrainManager drainManager;
+
+    public BackupWindowScheduler(YbaConfigService configService, YbaProperties props, BackupService backupService,
+                                 BackupDaoService backupDaoService, InFlightBackupRegistry inFlightBackupRegistry,
+                                 TaskScheduler taskScheduler, BackupDurationPredictor durationPredictor,
+                                 BackupDrainManager drainManager) {
+        this.configService = configService;
+        this.props = props;
+        this.backupService = backupService;
+        this.backupDaoService = backupDaoService;
+        this.inFlightBackupRegistry = inFlightBackupRegistry;
+        this.taskScheduler = taskScheduler;
+        this.durationPredictor = durationPredictor;
+        this.drainManager = drainManager;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        configService.all().forEach((categoryCode, config) -> {
+            if (!StringUtils.hasText(config.getScheduleCron())) {
+                return;
+            }
+            CronExpression cron = CronExpression.parse(config.getScheduleCron());
+            taskScheduler.schedule(() -> fire(categoryCode, config, ZonedDateTime.now(ZONE)),
+                    new CronTrigger(config.getScheduleCron(), ZONE));
+            log.info("Scheduled backups for category: {} with cron: {} and window: {} min",
+                    categoryCode, config.getScheduleCron(), windowOf(config).toMinutes());
+            replayMissedFire(categoryCode, config, cron);
+        });
+    }
+
+    private void fire(String categoryCode, YbaDynamicConfig config, ZonedDateTime fireTime) {
+        Duration offset = staggerOffset(categoryCode, config);
+        String businessDate = fireTime.format(BUSINESS_DATE_FORMAT);
+        taskScheduler.schedule(() -> run(categoryCode, businessDate), Instant.now().plus(offset));
+        log.debug("Backup for category: {} and business date: {} starts in {} sec",
+                categoryCode, businessDate, offset.toSeconds());
+    }
+
+    private void replayMissedFire(String categoryCode, YbaDynamicConfig config, CronExpression cron) {
+        ZonedDateTime now = ZonedDateTime.now(ZONE);
+        ZonedDateTime lastFire = null;
+        ZonedDateTime candidate = cron.next(now.minusMinutes(props.getScheduleMissedFireGraceMinutes()));
+        while (candidate != null && candidate.isBefore(now)) {
+            lastFire = candidate;
+            candidate = cron.next(candidate);
+        }
+        if (lastFire == null) {
+            return;
+        }
+        String businessDate = lastFire.format(BUSINESS_DATE_FORMAT);
+        if (backupDaoService.hasActiveBackup(categoryCode, businessDate)) {
+            return;
+        }
+        log.info("Replaying missed backup fire at {} for category: {}", lastFire, categoryCode);
+        fire(categoryCode, config, lastFire);
+    }
+
+    private void run(String categoryCode, String businessDate) {
+        if (drainManager.isDraining()) {
+            log.info("Skipping scheduled backup for category: {}, instance is draining", categoryCode);
+            return;
+        }
+        if (inFlightBackupRegistry.isInFlight(categoryCode, businessDate)) {
+            log.info("Skipping scheduled backup for category: {}, a run is already in flight", categoryCode);
+            return;
+        }
+        String batchId = AppConstants.SCHEDULED_BATCH_PREFIX + categoryCode + "_" + businessDate;
+        backupService.processBackup(batchId, businessDate, categoryCode)
+                .doOnError(e -> log.error("Scheduled backup failed for category: {}", categoryCode, e))
+                .subscribe();
+    }
+
+    private Duration windowOf(YbaDynamicConfig config) {
+        Integer minutes = config.getScheduleWindowMinutes();
+        return Duration.ofMinutes(minutes == null ? 0 : Math.max(0, minutes));
+    }
+
+    /**
+     * Offset of the category among the entries sharing its cron, ranked longest predicted
+     * duration first and spaced evenly across the window.
+     */
+    private Duration staggerOffset(String categoryCode, YbaDynamicConfig config) {
+        long windowSeconds = windowOf(config).toSeconds();
+        if (windowSeconds <= 0) {
+            return Duration.ZERO;
+        }
+        List<String> peers = configService.all().entrySet().stream()
+                .filter(entry -> config.getScheduleCron().equals(entry.getValue().getScheduleCron()))
+                .map(Map.Entry::getKey)
+                .sorted(Comparator.comparingLong(durationPredictor::predictedMillis).reversed()
+                        .thenComparing(Comparator.naturalOrder()))
+                .toList();
+        int rank = Math.max(0, peers.indexOf(categoryCode));
+        return Duration.ofSeconds(windowSeconds * rank / peers.size());
+    }
+}
@@ -0,0 +1,62 @@
+package com.scb.backup.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight registry for backup initiations. Concurrent requests for the same
+ * category and business date share one YBA submission and receive its result,
+ * instead of each inserting a tracker row and launching a duplicate backup. Only the
+ * leader, the batch that started the submission, owns the tracker row; followers
+ * finalize their own batch against it.
+ */
+@Slf4j
+@Component
+public class InFlightBackupRegistry {
+
+    /**
+     * A shared submission: the batch id that owns its tracker row and the shared result.
+     */
+    public record Flight(String leaderBatchId, Mono<String> result) {
+
+        public boolean isLeader(String batchId) {
+            return leaderBatchId.equals(batchId);
+        }
+    }
+
+    private final ConcurrentMap<String, Flight> inFlight = new ConcurrentHashMap<>();
+
+    public Mono<Flight> join(String categoryCode, String businessDate, String batchId,
+                             Supplier<Mono<String>> backupSupplier) {
+        return Mono.fromSupplier(() -> {
+            String key = key(categoryCode, businessDate);
+            Flight candidate = new Flight(batchId, Mono.defer(backupSupplier)
+                    .doFinally(signal -> inFlight.remove(key))
+                    .cache());
+            Flight existing = inFlight.putIfAbsent(key, candidate);
+            if (existing != null) {
+                log.info("Backup already in flight for category: {} and business date: {} under batch: {}, attaching batch: {}",
+                        categoryCode, businessDate, existing.leaderBatchId(), batchId);
+                return existing;
+            }
+            return candidate;
+        });
+    }
+
+    public boolean isInFlight(String categoryCode, String businessDate) {
+        return inFlight.containsKey(key(categoryCode, businessDate));
+    }
+
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private static String key(String categoryCode, String businessDate) {
+        return categoryCode.toUpperCase() + "|" + businessDate;
+    }
+}
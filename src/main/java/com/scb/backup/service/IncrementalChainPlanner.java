@@ -0,0 +1,131 @@
+package com.scb.backup.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.scb.backup.config.YbaProperties;
+import com.scb.backup.dao.BackupDaoService;
+import com.scb.backup.dao.KeyspaceBackupDao;
+import com.scb.backup.model.YbaDynamicConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Decides whether an incremental run should chain off the latest base backup or be promoted
+ * to a full backup. A run is promoted when the base is missing, not completed or about to
+ * expire, or when the chain built on it has grown past the configured length, age or size,
+ * which keeps restore time bounded. Chain length is counted per keyspace, as each keyspace of
+ * a parallel category chains on its own base; a keyspace without recorded history falls back to
+ * the category's tracker rows.
+ */
+@Slf4j
+@Component
+public class IncrementalChainPlanner {
+
+    private static final String COMPLETED_STATE = "Completed";
+
+    private final YbaProperties props;
+    private final BackupDaoService backupDaoService;
+    private final KeyspaceBackupDao keyspaceBackupDao;
+
+    public IncrementalChainPlanner(YbaProperties props, BackupDaoService backupDaoService,
+                                   KeyspaceBackupDao keyspaceBackupDao) {
+        this.props = props;
+        this.backupDaoService = backupDaoService;
+        this.keyspaceBackupDao = keyspaceBackupDao;
+    }
+
+    public record Plan(boolean full, String baseBackupUuid, String reason) {
+
+        static Plan full(String reason) {
+            return new Plan(true, null, reason);
+        }
+
+        static Plan incremental(String baseBackupUuid) {
+            return new Plan(false, baseBackupUuid, null);
+        }
+    }
+
+    /**
+     * @param keyspaces      keyspaces the run backs up, which the base backup was listed for
+     * @param lastBackupPage YBA backup list response, newest base backup first
+     */
+    public Plan plan(String categoryCode, List<String> keyspaces, YbaDynamicConfig config, JsonNode lastBackupPage) {
+        JsonNode entities = lastBackupPage.path("entities");
+        if (!entities.isArray() || entities.isEmpty()) {
+            return Plan.full("no previous backups found");
+        }
+        JsonNode base = entities.path(0);
+        JsonNode info = base.path("commonBackupInfo");
+        String uuid = info.path("baseBackupUUID").asText(null);
+        if (uuid == null) {
+            return Plan.full("base backup UUID missing");
+        }
+        String state = info.path("state").asText(COMPLETED_STATE);
+        if (!COMPLETED_STATE.equalsIgnoreCase(state)) {
+            return Plan.full("base backup " + uuid + " is in state " + state);
+        }
+
+        Instant now = Instant.now();
+        Instant expiry = parseTime(base.path("expiryTime"));
+        if (expiry != null && expiry.isBefore(now.plus(Duration.ofMillis(props.getChainExpiryMarginMs())))) {
+            return Plan.full("base backup " + uuid + " expires at " + expiry);
+        }
+
+        long maxAgeMs = Objects.requireNonNullElse(config.getMaxChainAgeMs(), props.getChainMaxAgeMs());
+        Instant created = parseTime(info.path("createTime"));
+        if (maxAgeMs > 0 && created != null && created.plusMillis(maxAgeMs).isBefore(now)) {
+            return Plan.full("chain on " + uuid + " is older than " + maxAgeMs + " ms");
+        }
+
+        long maxSize = Objects.requireNonNullElse(config.getMaxChainSizeBytes(), props.getChainMaxSizeBytes());
+        long chainSize = base.path("fullChainSizeInBytes").asLong(0);
+        if (maxSize > 0 && chainSize > maxSize) {
+            return Plan.full("chain on " + uuid + " is " + chainSize + " bytes");
+        }
+
+        int maxLength = Objects.requireNonNullElse(config.getMaxIncrementalChainLength(), props.getChainMaxLength());
+        if (maxLength > 0) {
+            int length = chainLength(categoryCode, keyspaces);
+            if (length >= maxLength) {
+                return Plan.full("chain on " + uuid + " already has " + length + " incremental backups");
+            }
+        }
+        return Plan.incremental(uuid);
+    }
+
+    private int chainLength(String categoryCode, List<String> keyspaces) {
+        int length = 0;
+        Integer categoryLength = null;
+        for (String keyspace : keyspaces) {
+            Integer keyspaceLength = keyspaceBackupDao.countIncrementalsSinceLastFull(categoryCode, keyspace);
+            if (keyspaceLength == null) {
+                if (categoryLength == null) {
+                    categoryLength = backupDaoService.countIncrementalsSinceLastFull(categoryCode);
+                }
+                keyspaceLength = categoryLength;
+            }
+            length = Math.max(length, keyspaceLength);
+        }
+        return length;
+    }
+
+    private Instant parseTime(JsonNode node) {
+        if (node.isMissingNode() || node.isNull()) {
+            return null;
+        }
+        if (node.isNumber()) {
+            return Instant.ofEpochMilli(node.asLong());
+        }
+        try {
+            return Instant.parse(node.asText());
+        } catch (DateTimeParseException e) {
+            log.debug("Unable to parse YBA timestamp {}", node.asText());
+            return null;
+        }
+    }
+}
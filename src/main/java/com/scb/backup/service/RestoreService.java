@@ -0,0 +1,210 @@
+package com.scb.backup.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scb.backup.client.YbaClient;
+import com.scb.backup.config.YbaProperties;
+import com.scb.backup.dao.KeyspaceBackupDao;
+import com.scb.backup.dao.RestoreDaoService;
+import com.scb.backup.exception.PartialSubmissionException;
+import com.scb.backup.model.BackupEvent;
+import com.scb.backup.model.KeyspaceBackup;
+import com.scb.backup.model.RestoreJobStatus;
+import com.scb.backup.model.RestoreRequest;
+import com.scb.backup.model.YbaDynamicConfig;
+import com.scb.backup.provider.BackupProviderRegistry;
+import com.scb.backup.utils.AppConstants;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Restores the latest backup of a category whose keyspaces all succeeded, or a given backup,
+ * through YBA. A backup that cannot be resolved fails the restore rather than restoring another
+ * one, and restoring into the source universe needs a keyspace suffix. The restore is recorded
+ * in the restore tracker table, its YBA tasks are followed by the {@link YbaTaskTracker} and
+ * the outcome and duration are written back when they finish, so restore drills run unattended
+ * and are measured.
+ */
+@Slf4j
+@Service
+public class RestoreService {
+
+    private static final DateTimeFormatter RESTORE_ID_FORMAT = DateTimeFormatter.ofPattern("yyyyMMddHHmmssSSS");
+    private static final String TASK_SUCCESS = "Success";
+
+    private final YbaClient ybaClient;
+    private final YbaConfigService configService;
+    private final KeyspaceBackupDao keyspaceBackupDao;
+    private final RestoreDaoService restoreDaoService;
+    private final YbaTaskTracker taskTracker;
+    private final BackupEventBus eventBus;
+    private final YbaProperties props;
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    public RestoreService(YbaClient ybaClient, YbaConfigService configService, KeyspaceBackupDao keyspaceBackupDao,
+                          RestoreDaoService restoreDaoService, YbaTaskTracker taskTracker, BackupEventBus eventBus,
+                          YbaProperties props) {
+        this.ybaClient = ybaClient;
+        this.configService = configService;
+        this.keyspaceBackupDao = keyspaceBackupDao;
+        this.restoreDaoService = restoreDaoService;
+        this.taskTracker = taskTracker;
+        this.eventBus = eventBus;
+        this.props = props;
+    }
+
+    /**
+     * Records the restore and starts it in the background.
+     *
+     * @return the accepted restore
+     * @throws IllegalArgumentException when the category cannot be restored, it has no restorable
+     *                                  backup, or the restore would overwrite the source keyspaces
+     * @throws IllegalStateException    when a restore of the category is already in progress
+     */
+    public RestoreJobStatus restore(RestoreRequest request) {
+        String categoryCode = request.getCategoryCode();
+        YbaDynamicConfig config = StringUtils.hasText(categoryCode) ? configService.resolve(categoryCode) : null;
+        if (config == null) {
+            throw new IllegalArgumentException("No configuration found for category: " + categoryCode);
+        }
+        if (!BackupProviderRegistry.isYba(config)) {
+            throw new IllegalArgumentException("Category: " + categoryCode + " uses provider: " + config.getProvider()
+                    + ", only YBA backups can be restored");
+        }
+        if (!StringUtils.hasText(config.getRestoreUrl()) || !StringUtils.hasText(config.getTaskUrl())) {
+            throw new IllegalArgumentException("Category: " + categoryCode + " has no restore-url or task-url");
+        }
+
+        String targetUniverseUuid = StringUtils.hasText(request.getTargetUniverseUuid())
+                ? request.getTargetUniverseUuid() : config.getUniverseUuid();
+        if (targetUniverseUuid.equals(config.getUniverseUuid()) && !StringUtils.hasText(request.getKeyspaceSuffix())) {
+            throw new IllegalArgumentException("Restoring category: " + categoryCode + " into its own universe needs"
+                    + " a target-universe-uuid or a keyspace-suffix");
+        }
+
+        String sourceBatchId = null;
+        List<String> backupUuids;
+        if (StringUtils.hasText(request.getBackupUuid())) {
+            backupUuids = List.of(request.getBackupUuid());
+        } else {
+            List<KeyspaceBackup> latest = keyspaceBackupDao.findLatestRestorable(categoryCode).stream()
+                    .filter(row -> request.getKeyspaces() == null || request.getKeyspaces().isEmpty()
+                            || request.getKeyspaces().contains(row.getKeyspace()))
+                    .toList();
+            if (latest.isEmpty()) {
+                throw new IllegalArgumentException("No restorable backup recorded for category: " + categoryCode
+                        + (request.getKeyspaces() == null ? "" : " and keyspaces: " + request.getKeyspaces()));
+            }
+            sourceBatchId = latest.get(0).getBatchId();
+            backupUuids = latest.stream().map(KeyspaceBackup::getBackupUuid).distinct().toList();
+        }
+        LocalDateTime now = LocalDateTime.now();
+        RestoreJobStatus restore = RestoreJobStatus.builder()
+                .restoreId(AppConstants.RESTORE_ID_PREFIX + categoryCode + "_" + now.format(RESTORE_ID_FORMAT))
+                .categoryCode(categoryCode)
+                .sourceBatchId(sourceBatchId)
+                // a parallel category's backup is one backup per keyspace, listed by its source batch
+                .backupUuid(backupUuids.size() == 1 ? backupUuids.get(0) : null)
+                .targetUniverseUuid(targetUniverseUuid)
+                .status(AppConstants.BACKUP_INPROGRESS_STATUS)
+                .startTime(now)
+                .build();
+
+        // twice the longest a tracked restore can be polled
+        LocalDateTime staleBefore = now.minus(Duration.ofMillis(props.getTaskMaxPollDurationMs() * 2));
+        if (!restoreDaoService.insertRestore(restore, staleBefore)) {
+            throw new IllegalStateException("A restore of category: " + categoryCode + " is already in progress");
+        }
+        log.info("Restoring backups: {} of category: {} into universe: {} as restore: {}",
+                backupUuids, categoryCode, targetUniverseUuid, restore.getRestoreId());
+
+        ybaClient.restoreInitiate(config, categoryCode, backupUuids, targetUniverseUuid,
+                        request.getKeyspaces(), request.getKeyspaceSuffix())
+                .flatMap(response -> track(restore, response, null))
+                .onErrorResume(PartialSubmissionException.class, e -> {
+                    log.error("Restore: {} of category: {} was only partly accepted", restore.getRestoreId(), categoryCode, e);
+                    return track(restore, e.getResponse(), e.getMessage());
+                })
+                .onErrorResume(e -> {
+                    log.error("Restore: {} of category: {} failed", restore.getRestoreId(), categoryCode, e);
+                    return Mono.just(new Outcome(AppConstants.BACKUP_FAILED_STATUS, null, e.getMessage()));
+                })
+                .publishOn(Schedulers.boundedElastic())
+                .subscribe(outcome -> complete(restore, outcome));
+        return restore;
+    }
+
+    public Mono<RestoreJobStatus> find(String restoreId) {
+        return Mono.fromCallable(() -> restoreDaoService.findRestore(restoreId))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    public Mono<List<RestoreJobStatus>> findByCategory(String categoryCode, int limit) {
+        return Mono.fromCallable(() -> restoreDaoService.findRestores(categoryCode, limit))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Follows the accepted restore tasks; a partly accepted restore fails with {@code partialFailure}
+     * once the accepted tasks have finished.
+     */
+    private Mono<Outcome> track(RestoreJobStatus restore, String response, String partialFailure) {
+        List<String> taskUuids = taskUuids(response);
+        return taskTracker.watch(restore.getRestoreId(), restore.getCategoryCode(), response)
+                .map(tasks -> outcome(taskUuids, tasks))
+                .map(outcome -> partialFailure == null ? outcome
+                        : new Outcome(AppConstants.BACKUP_FAILED_STATUS, outcome.taskUuids(), partialFailure));
+    }
+
+    private record Outcome(String status, String taskUuids, String message) {
+    }
+
+    private Outcome outcome(List<String> taskUuids, List<JsonNode> tasks) {
+        String joined = String.join(",", taskUuids);
+        if (taskUuids.isEmpty()) {
+            return new Outcome(AppConstants.BACKUP_FAILED_STATUS, null, "YBA returned no restore task");
+        }
+        if (tasks.size() < taskUuids.size()) {
+            return new Outcome(AppConstants.BACKUP_FAILED_STATUS, joined, "Gave up polling restore task(s)");
+        }
+        return tasks.stream().allMatch(task -> TASK_SUCCESS.equals(task.path("status").asText()))
+                ? new Outcome(AppConstants.BACKUP_SUCCESS_STATUS, joined, null)
+                : new Outcome(AppConstants.BACKUP_FAILED_STATUS, joined, "YBA restore task(s) did not succeed");
+    }
+
+    private void complete(RestoreJobStatus restore, Outcome outcome) {
+        try {
+            restoreDaoService.completeRestore(restore.getRestoreId(), outcome.status(), outcome.taskUuids(), outcome.message());
+        } catch (Exception e) {
+            log.error("Unable to record outcome of restore: {}", restore.getRestoreId(), e);
+        }
+        log.info("Restore: {} of category: {} finished with status: {}",
+                restore.getRestoreId(), restore.getCategoryCode(), outcome.status());
+        eventBus.publish(BackupEvent.builder()
+                .type(AppConstants.EVENT_RESTORE_STATUS)
+                .batchId(restore.getRestoreId())
+                .categoryCode(restore.getCategoryCode())
+                .status(outcome.status())
+                .message(outcome.message())
+                .timestamp(LocalDateTime.now())
+                .build());
+    }
+
+    private List<String> taskUuids(String response) {
+        try {
+            return mapper.readTree(response).findValuesAsText("taskUUID");
+        } catch (JsonProcessingException e) {
+            log.warn("Unable to read YBA task UUIDs of restore response", e);
+            return List.of();
+        }
+    }
+}
@@ -4,47 +4,107 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.scb.backup.model.YbaDynamicConfig;
 import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import com.scb.backup.config.BackupTargetProperties;
 import com.scb.backup.config.YbaProperties;
 
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
+@Slf4j
 @Service
 public class YbaConfigService {
 
     private final YbaProperties props;
+    private final BackupTargetProperties targetProps;
     private final ObjectMapper mapper = new ObjectMapper();
     private Map<String, YbaDynamicConfig> configMap;
 
-    public YbaConfigService(YbaProperties props) {
+    public YbaConfigService(YbaProperties props, BackupTargetProperties targetProps) {
         this.props = props;
+        this.targetProps = targetProps;
     }
 
     @PostConstruct
     public void init() {
         configMap = new HashMap<>();
 
-        props.getDatabases().forEach((key, dbConfig) -> {
+        configuredEntries().forEach((key, dbConfig) -> {
             YbaDynamicConfig dynamicConfig = YbaDynamicConfig.builder()
                     .fullBackupUrl(dbConfig.getFullBackupUrl())
                     .incrementalBackupUrl(dbConfig.getIncrementalBackupUrl())
                     .lastBackupUrl(dbConfig.getLastBackupUrl())
+                    .backupPageUrl(dbConfig.getBackupPageUrl())
+                    .taskUrl(dbConfig.getTaskUrl())
+                    .backupTaskUrl(dbConfig.getBackupTaskUrl())
+                    .restoreUrl(dbConfig.getRestoreUrl())
                     .storageConfigUuid(dbConfig.getStorageConfigUuid())
                     .apiToken(dbConfig.getApiToken())
+                    .apiTokenSecret(dbConfig.getApiTokenSecret())
                     .universeUuid(dbConfig.getUniverseUuid())
+                    .customerUuid(dbConfig.getCustomerUuid())
                     .backupType(dbConfig.getBackupType())
                     .backupCategoryType(dbConfig.getBackupCategoryType())
                     .dbName(dbConfig.getDbName())
                     .expiryMs(dbConfig.getExpiryMs())
+                    .schedulingWeight(dbConfig.getSchedulingWeight())
+                    .submissionsPerSecond(dbConfig.getSubmissionsPerSecond())
+                    .maxConcurrentBackups(dbConfig.getMaxConcurrentBackups())
+                    .scheduleCron(dbConfig.getScheduleCron())
+                    .scheduleWindowMinutes(dbConfig.getScheduleWindowMinutes())
+                    .keyspaces(dbConfig.getKeyspaces())
+                    .keyspaceTables(dbConfig.getKeyspaceTables())
+                    .keyspaceMode(dbConfig.getKeyspaceMode())
+                    .keyspaceConcurrency(dbConfig.getKeyspaceConcurrency())
+                    .maxIncrementalChainLength(dbConfig.getMaxIncrementalChainLength())
+                    .maxChainAgeMs(dbConfig.getMaxChainAgeMs())
+                    .maxChainSizeBytes(dbConfig.getMaxChainSizeBytes())
+                    .hedgeReads(dbConfig.getHedgeReads())
+                    .timeoutFactor(dbConfig.getTimeoutFactor())
+                    .maxTimeoutMs(dbConfig.getMaxTimeoutMs())
+                    .restoreParallelism(dbConfig.getRestoreParallelism())
+                    .retentionDaily(dbConfig.getRetentionDaily())
+                    .retentionWeekly(dbConfig.getRetentionWeekly())
+                    .retentionMonthly(dbConfig.getRetentionMonthly())
+                    .provider(dbConfig.getProvider())
+                    .command(dbConfig.getCommand())
+                    .workingDirectory(dbConfig.getWorkingDirectory())
+                    .environment(dbConfig.getEnvironment())
+                    .commandTimeoutMs(dbConfig.getCommandTimeoutMs())
+                    .retryOnFailure(dbConfig.getRetryOnFailure())
                     .build();
 
             configMap.put(key.toUpperCase(), dynamicConfig);
         });
     }
 
+    /**
+     * {@code yba.databases} overlaid with {@code backup.targets}.
+     */
+    private Map<String, YbaDynamicConfig> configuredEntries() {
+        Map<String, YbaDynamicConfig> entries = new LinkedHashMap<>();
+        if (props.getDatabases() != null) {
+            entries.putAll(props.getDatabases());
+        }
+        if (targetProps.getTargets() != null) {
+            targetProps.getTargets().forEach((key, target) -> {
+                if (entries.put(key, target) != null) {
+                    log.warn("backup.targets entry: {} replaces the yba.databases entry of the same name", key);
+                }
+            });
+        }
+        return entries;
+    }
+
     public YbaDynamicConfig resolve(String dbName) {
         return configMap.get(dbName);
     }
+
+    public Map<String, YbaDynamicConfig> all() {
+        return Collections.unmodifiableMap(configMap);
+    }
 }
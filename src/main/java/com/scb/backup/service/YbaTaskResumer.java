@@ -0,0 +1,93 @@
+package com.scb.backup.service;
+
+import com.scb.backup.config.YbaProperties;
+import com.scb.backup.dao.BackupDaoService;
+import com.scb.backup.dao.KeyspaceBackupDao;
+import com.scb.backup.model.BackupJobStatus;
+import com.scb.backup.model.KeyspaceBackup;
+import com.scb.backup.utils.AppConstants;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps polling of YBA tasks alive across instance restarts. Each instance sends a heartbeat;
+ * running keyspace backups whose instance has not sent one within {@code backup.tasks.owner-lease-ms}
+ * are claimed by the next instance that looks, which resumes following their tasks. Backups
+ * older than {@code yba.task.max-poll-duration-ms} are left alone, as their polling would
+ * already have stopped.
+ */
+@Slf4j
+@Component
+public class YbaTaskResumer {
+
+    private final KeyspaceBackupDao keyspaceBackupDao;
+    private final BackupDaoService backupDaoService;
+    private final BackupService backupService;
+    private final BackupDrainManager drainManager;
+    private final YbaProperties props;
+    private final Duration ownerLease;
+
+    public YbaTaskResumer(KeyspaceBackupDao keyspaceBackupDao, BackupDaoService backupDaoService,
+                          BackupService backupService, BackupDrainManager drainManager, YbaProperties props,
+                          @Value("${backup.tasks.owner-lease-ms:180000}") long ownerLeaseMs) {
+        this.keyspaceBackupDao = keyspaceBackupDao;
+        this.backupDaoService = backupDaoService;
+        this.backupService = backupService;
+        this.drainManager = drainManager;
+        this.props = props;
+        this.ownerLease = Duration.ofMillis(ownerLeaseMs);
+    }
+
+    @Scheduled(fixedDelayString = "${backup.tasks.heartbeat-interval-ms:30000}")
+    public void heartbeat() {
+        try {
+            keyspaceBackupDao.heartbeat();
+        } catch (Exception e) {
+            log.warn("Unable to send instance heartbeat", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${backup.tasks.resume-interval-ms:60000}",
+            initialDelayString = "${backup.tasks.resume-interval-ms:60000}")
+    public void resumeOrphanedTasks() {
+        if (drainManager.isDraining()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<KeyspaceBackup> claimed;
+        try {
+            claimed = keyspaceBackupDao.claimOrphanedTasks(now.minus(Duration.ofMillis(props.getTaskMaxPollDurationMs())),
+                    now.minus(ownerLease));
+        } catch (Exception e) {
+            log.warn("Unable to look for orphaned YBA tasks", e);
+            return;
+        }
+        claimed.stream()
+                .collect(Collectors.groupingBy(KeyspaceBackup::getBatchId, LinkedHashMap::new, Collectors.toList()))
+                .forEach(this::resume);
+    }
+
+    private void resume(String batchId, List<KeyspaceBackup> keyspaces) {
+        try {
+            KeyspaceBackup first = keyspaces.get(0);
+            BackupJobStatus job = backupDaoService.findBackup(batchId);
+            boolean complete = job != null && AppConstants.BACKUP_SUCCESS_STATUS.equals(job.getStatus());
+            List<String> taskUuids = keyspaces.stream().map(KeyspaceBackup::getTaskUuid).distinct().toList();
+            LocalDateTime startTime = keyspaces.stream().map(KeyspaceBackup::getStartTime)
+                    .min(Comparator.naturalOrder()).orElse(LocalDateTime.now());
+            backupService.resumeTracking(batchId, first.getBusinessDate(), first.getCategoryCode(), taskUuids,
+                    startTime, complete);
+        } catch (Exception e) {
+            log.warn("Unable to resume YBA tasks of batch: {}", batchId, e);
+        }
+    }
+}
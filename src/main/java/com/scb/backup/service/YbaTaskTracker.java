@@ -0,0 +1,207 @@
+package com.scb.backup.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scb.backup.client.YbaClient;
+import com.scb.backup.client.YbaTaskCompletions;
+import com.scb.backup.config.YbaProperties;
+import com.scb.backup.dao.BackupDaoService;
+import com.scb.backup.dao.KeyspaceBackupDao;
+import com.scb.backup.model.BackupEvent;
+import com.scb.backup.model.YbaDynamicConfig;
+import com.scb.backup.utils.AppConstants;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Follows the YBA tasks created by a backup submission until they finish, publishing progress
+ * on the {@link BackupEventBus}. Each task is polled once regardless of how many subscribers
+ * are watching, and its outcome is written to the keyspace backups it covers, together with the
+ * UUIDs of the backups a successful task created. Restore tasks are only watched, nothing is
+ * written for them. Categories without a {@code task-url} are not tracked.
+ */
+@Slf4j
+@Component
+public class YbaTaskTracker {
+
+    private static final Set<String> TERMINAL_STATES = Set.of("Success", "Failure", "Aborted");
+
+    private final YbaClient ybaClient;
+    private final YbaConfigService configService;
+    private final YbaProperties props;
+    private final BackupEventBus eventBus;
+    private final YbaTaskCompletions taskCompletions;
+    private final KeyspaceBackupDao keyspaceBackupDao;
+    private final BackupDaoService backupDaoService;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final AtomicInteger activeTasks = new AtomicInteger();
+    private final AtomicLong lastPollMillis = new AtomicLong(System.currentTimeMillis());
+
+    public YbaTaskTracker(YbaClient ybaClient, YbaConfigService configService, YbaProperties props,
+                          BackupEventBus eventBus, YbaTaskCompletions taskCompletions,
+                          KeyspaceBackupDao keyspaceBackupDao, BackupDaoService backupDaoService) {
+        this.ybaClient = ybaClient;
+        this.configService = configService;
+        this.props = props;
+        this.eventBus = eventBus;
+        this.taskCompletions = taskCompletions;
+        this.keyspaceBackupDao = keyspaceBackupDao;
+        this.backupDaoService = backupDaoService;
+    }
+
+    /**
+     * @return the final YBA task payloads, empty when the category is not tracked
+     */
+    public Mono<List<JsonNode>> track(String batchId, String categoryCode, String ybaResponse) {
+        return follow(batchId, categoryCode, ybaResponse, true);
+    }
+
+    /**
+     * Polls the tasks and publishes their progress like {@link #track}, without writing their
+     * outcome to the backup tracker; for tasks that create no backup, such as restores.
+     *
+     * @return the final YBA task payloads, empty when the category is not tracked
+     */
+    public Mono<List<JsonNode>> watch(String id, String categoryCode, String ybaResponse) {
+        return follow(id, categoryCode, ybaResponse, false);
+    }
+
+    private Mono<List<JsonNode>> follow(String batchId, String categoryCode, String ybaResponse, boolean writeOutcome) {
+        YbaDynamicConfig config = configService.resolve(categoryCode);
+        if (config == null || !StringUtils.hasText(config.getTaskUrl())) {
+            return Mono.just(List.of());
+        }
+        List<String> taskUuids;
+        try {
+            taskUuids = mapper.readTree(ybaResponse).findValuesAsText("taskUUID");
+        } catch (JsonProcessingException e) {
+            log.warn("Unable to read YBA task UUIDs for batch: {}", batchId, e);
+            return Mono.just(List.of());
+        }
+        return Flux.fromIterable(taskUuids)
+                .flatMap(taskUuid -> poll(batchId, categoryCode, config, taskUuid, writeOutcome))
+                .collectList();
+    }
+
+    public int activeTaskCount() {
+        return activeTasks.get();
+    }
+
+    /**
+     * Time of the last YBA task poll, answered or not.
+     */
+    public long lastPollMillis() {
+        return lastPollMillis.get();
+    }
+
+    private Mono<JsonNode> poll(String batchId, String categoryCode, YbaDynamicConfig config, String taskUuid,
+                                boolean writeOutcome) {
+        return Flux.interval(Duration.ZERO, Duration.ofMillis(props.getTaskPollIntervalMs()))
+                .onBackpressureDrop()
+                .concatMap(tick -> ybaClient.fetchTask(config, taskUuid)
+                        .doFinally(signal -> lastPollMillis.set(System.currentTimeMillis()))
+                        .onErrorResume(e -> {
+                            log.warn("Unable to poll YBA task: {} for batch: {}", taskUuid, batchId, e);
+                            return Mono.empty();
+                        }))
+                .distinctUntilChanged(task -> task.path("status").asText() + "|" + task.path("percent").asDouble())
+                .doOnNext(task -> eventBus.publish(BackupEvent.builder()
+                        .type(AppConstants.EVENT_TASK_PROGRESS)
+                        .batchId(batchId)
+                        .categoryCode(categoryCode)
+                        .taskUuid(taskUuid)
+                        .status(task.path("status").asText(null))
+                        .percentComplete(task.path("percent").asDouble())
+                        .timestamp(LocalDateTime.now())
+                        .build()))
+                .takeUntil(task -> TERMINAL_STATES.contains(task.path("status").asText()))
+                .last()
+                .timeout(Duration.ofMillis(props.getTaskMaxPollDurationMs()))
+                .onErrorResume(TimeoutException.class, e -> {
+                    log.warn("Stopped polling YBA task: {} for batch: {} after {} ms",
+                            taskUuid, batchId, props.getTaskMaxPollDurationMs());
+                    return Mono.empty();
+                })
+                .flatMap(task -> writeOutcome ? recordOutcome(batchId, config, taskUuid, task) : Mono.just(task))
+                .doOnSubscribe(s -> {
+                    activeTasks.incrementAndGet();
+                    lastPollMillis.set(System.currentTimeMillis());
+                })
+                .doFinally(signal -> {
+                    activeTasks.decrementAndGet();
+                    taskCompletions.finished(taskUuid);
+                });
+    }
+
+    private Mono<JsonNode> recordOutcome(String batchId, YbaDynamicConfig config, String taskUuid, JsonNode task) {
+        boolean succeeded = "Success".equals(task.path("status").asText());
+        String status = succeeded ? AppConstants.BACKUP_SUCCESS_STATUS : AppConstants.BACKUP_FAILED_STATUS;
+        Mono<Void> backups = succeeded ? recordBackupUuids(batchId, config, taskUuid) : Mono.empty();
+        return backups
+                .then(Mono.fromRunnable(() -> keyspaceBackupDao.completeTask(batchId, taskUuid, status))
+                        .subscribeOn(Schedulers.boundedElastic()))
+                .onErrorResume(e -> {
+                    log.warn("Unable to record the outcome of YBA task: {} for batch: {}", taskUuid, batchId, e);
+                    return Mono.empty();
+                })
+                .thenReturn(task);
+    }
+
+    /**
+     * Looks up the backups the task created. Each keyspace row gets the backup covering its
+     * keyspace; a combined submission is one backup, which also goes on the tracker row. Left
+     * unknown when the entry has no {@code backup-task-url} or the lookup fails.
+     */
+    private Mono<Void> recordBackupUuids(String batchId, YbaDynamicConfig config, String taskUuid) {
+        if (!StringUtils.hasText(config.getBackupTaskUrl())) {
+            return Mono.empty();
+        }
+        return ybaClient.fetchBackupsByTask(config, taskUuid)
+                .flatMap(backups -> Mono.fromRunnable(() -> storeBackupUuids(batchId, config, taskUuid, backups))
+                        .subscribeOn(Schedulers.boundedElastic()))
+                .onErrorResume(e -> {
+                    log.warn("Unable to resolve the backups of YBA task: {} for batch: {}", taskUuid, batchId, e);
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    private void storeBackupUuids(String batchId, YbaDynamicConfig config, String taskUuid, JsonNode backups) {
+        String firstBackupUuid = null;
+        for (JsonNode backup : backups.isArray() ? backups : backups.path("entities")) {
+            JsonNode info = backup.path("commonBackupInfo");
+            String backupUuid = info.path("backupUUID").asText(backup.path("backupUUID").asText(null));
+            if (backupUuid == null) {
+                continue;
+            }
+            List<String> keyspaces = info.path("responseList").findValuesAsText("keyspace");
+            if (keyspaces.isEmpty()) {
+                keyspaceBackupDao.recordBackupUuid(batchId, taskUuid, null, backupUuid);
+            }
+            for (String keyspace : keyspaces) {
+                keyspaceBackupDao.recordBackupUuid(batchId, taskUuid, keyspace, backupUuid);
+            }
+            if (firstBackupUuid == null) {
+                firstBackupUuid = backupUuid;
+            }
+        }
+        if (firstBackupUuid == null) {
+            log.warn("YBA lists no backup for task: {} of batch: {}", taskUuid, batchId);
+        } else if (!AppConstants.KEYSPACE_MODE_PARALLEL.equalsIgnoreCase(config.getKeyspaceMode())) {
+            backupDaoService.updateBackupUuid(batchId, taskUuid, firstBackupUuid);
+        }
+    }
+}
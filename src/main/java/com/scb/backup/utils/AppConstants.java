@@ -14,6 +14,12 @@ public class AppConstants {
     public static final String FULL_BACKUP= "full_backup";
     public static final String INCREMENTAL_BACKUP="incremental_backup";
 
+    public static final String KEYSPACE_MODE_COMBINED = "combined";
+    public static final String KEYSPACE_MODE_PARALLEL = "parallel";
+
+    public static final String PROVIDER_YBA = "yba";
+    public static final String PROVIDER_LOCAL_PROCESS = "local-process";
+
     public static final String BACKUP_TYPE="backup_type";
 
     public static final String ERROR_DETAIL= "Technical Error";
@@ -25,6 +31,9 @@ public class AppConstants {
 
     public static final String BACKUP_FAILED_STATUS="FAILED";
 
+    /** Reported for a request rejected because another one already holds the tracker row. */
+    public static final String BACKUP_DUPLICATE_STATUS="DUPLICATE";
+
 
     public static final String END_TIME = "end_time";
 
@@ -38,4 +47,22 @@ public class AppConstants {
     public static final String BUSINESS_DATE = "businessDate";
 
     public static final String CATEGORY_CODE = "batchCategoryCode";
+
+    public static final String SCHEDULED_BATCH_PREFIX = "SCHED_";
+
+    public static final String RESTORE_ID_PREFIX = "RESTORE_";
+
+    public static final String STATUS_URL = "status_url";
+
+    public static final String EVENT_JOB_STATUS = "JOB_STATUS";
+    public static final String EVENT_TASK_PROGRESS = "TASK_PROGRESS";
+    public static final String EVENT_OVERRUN = "OVERRUN";
+    public static final String EVENT_RESTORE_STATUS = "RESTORE_STATUS";
+    public static final String EVENT_VERIFICATION = "VERIFICATION";
+
+    public static final String VERIFICATION_PASSED = "PASSED";
+    public static final String VERIFICATION_WARNING = "WARNING";
+    public static final String VERIFICATION_FAILED = "FAILED";
+    /** YBA does not know the backup the batch recorded, or none was recorded. */
+    public static final String VERIFICATION_UNVERIFIABLE = "UNVERIFIABLE";
 }
@@ -0,0 +1,29 @@
+package com.scb.backup.utils;
+
+/**
+ * Caps hedged requests to a fraction of all hedgeable requests. Each request earns
+ * {@code ratio} of a token up to {@code burst}; a hedge spends a whole one.
+ */
+public class HedgeBudget {
+
+    private final double ratio;
+    private final double burst;
+    private double tokens;
+
+    public HedgeBudget(double ratio, double burst) {
+        this.ratio = ratio;
+        this.burst = Math.max(1, burst);
+    }
+
+    public synchronized void onRequest() {
+        tokens = Math.min(burst, tokens + ratio);
+    }
+
+    public synchronized boolean tryAcquire() {
+        if (tokens >= 1) {
+            tokens -= 1;
+            return true;
+        }
+        return false;
+    }
+}
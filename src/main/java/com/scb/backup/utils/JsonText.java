@@ -0,0 +1,75 @@
+package com.scb.backup.utils;
+
+import java.util.Collection;
+import java.util.StringJoiner;
+
+/**
+ * Writes flat JSON objects straight into a string, for request bodies on the hot path where
+ * building a Jackson tree only to serialise it again is wasted work.
+ */
+public final class JsonText {
+
+    private final StringJoiner fields = new StringJoiner(",", "{", "}");
+
+    public static JsonText object() {
+        return new JsonText();
+    }
+
+    public JsonText field(String name, String value) {
+        return raw(name, value == null ? "null" : quote(value));
+    }
+
+    public JsonText field(String name, Number value) {
+        return raw(name, value == null ? "null" : value.toString());
+    }
+
+    public JsonText field(String name, boolean value) {
+        return raw(name, Boolean.toString(value));
+    }
+
+    public JsonText field(String name, Collection<String> values) {
+        StringJoiner array = new StringJoiner(",", "[", "]");
+        values.forEach(value -> array.add(quote(value)));
+        return raw(name, array.toString());
+    }
+
+    /**
+     * Adds a value that is already JSON, e.g. a nested object or array.
+     */
+    public JsonText raw(String name, String json) {
+        fields.add(quote(name) + ":" + json);
+        return this;
+    }
+
+    public String build() {
+        return fields.toString();
+    }
+
+    public static String array(Collection<String> jsonValues) {
+        StringJoiner array = new StringJoiner(",", "[", "]");
+        jsonValues.forEach(array::add);
+        return array.toString();
+    }
+
+    public static String quote(String value) {
+        StringBuilder quoted = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> quoted.append("\\\"");
+                case '\\' -> quoted.append("\\\\");
+                case '\n' -> quoted.append("\\n");
+                case '\r' -> quoted.append("\\r");
+                case '\t' -> quoted.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        quoted.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        quoted.append(c);
+                    }
+                }
+            }
+        }
+        return quoted.append('"').toString();
+    }
+}
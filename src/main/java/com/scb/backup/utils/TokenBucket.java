@@ -0,0 +1,48 @@
+package com.scb.backup.utils;
+
+/**
+ * Thread-safe token bucket refilled continuously at a fixed rate.
+ */
+public class TokenBucket {
+
+    private final double permitsPerSecond;
+    private final double capacity;
+    private double tokens;
+    private long lastRefillNanos;
+
+    public TokenBucket(double permitsPerSecond, double capacity) {
+        if (permitsPerSecond <= 0 || capacity < 1) {
+            throw new IllegalArgumentException("Token bucket needs a positive rate and a capacity of at least one");
+        }
+        this.permitsPerSecond = permitsPerSecond;
+        this.capacity = capacity;
+        this.tokens = capacity;
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    public synchronized boolean tryAcquire() {
+        refill();
+        if (tokens >= 1) {
+            tokens -= 1;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Milliseconds until the next permit becomes available, zero if one is available now.
+     */
+    public synchronized long millisUntilNextPermit() {
+        refill();
+        if (tokens >= 1) {
+            return 0;
+        }
+        return (long) Math.ceil((1 - tokens) * 1000 / permitsPerSecond);
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (now - lastRefillNanos) * permitsPerSecond / 1_000_000_000d);
+        lastRefillNanos = now;
+    }
+}
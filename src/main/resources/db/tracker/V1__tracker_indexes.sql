@@ -0,0 +1,21 @@
+-- Indexes introduced with request coalescing and the job status API, for trackers created before versioning.
+-- Duplicate rows for a category and business date, left by concurrent requests before coalescing,
+-- would fail the unique index; all but the successful, then latest, row are moved aside first.
+CREATE TABLE IF NOT EXISTS epricing.batch_db_schedule_event_tracker_duplicates (LIKE epricing.batch_db_schedule_event_tracker INCLUDING DEFAULTS);
+
+INSERT INTO epricing.batch_db_schedule_event_tracker_duplicates
+SELECT t.* FROM epricing.batch_db_schedule_event_tracker t
+ WHERE EXISTS (SELECT 1 FROM epricing.batch_db_schedule_event_tracker k
+                WHERE k.backup_job_categorycode = t.backup_job_categorycode AND k.business_date = t.business_date
+                  AND (k.backup_status = 'SUCCESS', COALESCE(k.start_time, to_timestamp(0)::timestamp), COALESCE(k.batch_id, ''))
+                    > (t.backup_status = 'SUCCESS', COALESCE(t.start_time, to_timestamp(0)::timestamp), COALESCE(t.batch_id, '')));
+
+DELETE FROM epricing.batch_db_schedule_event_tracker t
+ WHERE EXISTS (SELECT 1 FROM epricing.batch_db_schedule_event_tracker k
+                WHERE k.backup_job_categorycode = t.backup_job_categorycode AND k.business_date = t.business_date
+                  AND (k.backup_status = 'SUCCESS', COALESCE(k.start_time, to_timestamp(0)::timestamp), COALESCE(k.batch_id, ''))
+                    > (t.backup_status = 'SUCCESS', COALESCE(t.start_time, to_timestamp(0)::timestamp), COALESCE(t.batch_id, '')));
+
+CREATE UNIQUE INDEX IF NOT EXISTS uq_db_schedule_event_tracker_category_date ON epricing.batch_db_schedule_event_tracker(backup_job_categorycode, business_date);
+CREATE INDEX IF NOT EXISTS ix_db_schedule_event_tracker_batch_id ON epricing.batch_db_schedule_event_tracker(batch_id, business_date);
+CREATE INDEX IF NOT EXISTS ix_db_schedule_event_tracker_status ON epricing.batch_db_schedule_event_tracker(backup_status, start_time DESC);
@@ -0,0 +1,48 @@
+-- Range-partitions the tracker by business_date. Monthly partitions are created ahead of time and
+-- dropped after the retention period by TrackerSchemaManager; rows older than the first monthly
+-- partition stay in the default partition and are purged from there.
+-- Every step checks the current state, so a run interrupted part way can be repeated.
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_class c JOIN pg_namespace n ON n.oid = c.relnamespace
+                WHERE n.nspname = 'epricing' AND c.relname = 'batch_db_schedule_event_tracker' AND c.relkind = 'r') THEN
+        DROP INDEX IF EXISTS epricing.uq_db_schedule_event_tracker_category_date;
+        DROP INDEX IF EXISTS epricing.ix_db_schedule_event_tracker_batch_id;
+        DROP INDEX IF EXISTS epricing.ix_db_schedule_event_tracker_status;
+        ALTER TABLE epricing.batch_db_schedule_event_tracker RENAME TO batch_db_schedule_event_tracker_legacy;
+    END IF;
+END $$;
+
+CREATE TABLE IF NOT EXISTS epricing.batch_db_schedule_event_tracker (LIKE epricing.batch_db_schedule_event_tracker_legacy INCLUDING DEFAULTS) PARTITION BY RANGE (business_date);
+CREATE TABLE IF NOT EXISTS epricing.batch_db_schedule_event_tracker_default PARTITION OF epricing.batch_db_schedule_event_tracker DEFAULT;
+
+-- rows added since V1 may again hold duplicates; they are moved aside as in V1 before copying
+DO $$
+BEGIN
+    IF to_regclass('epricing.batch_db_schedule_event_tracker_legacy') IS NOT NULL THEN
+        CREATE TABLE IF NOT EXISTS epricing.batch_db_schedule_event_tracker_duplicates (LIKE epricing.batch_db_schedule_event_tracker_legacy INCLUDING DEFAULTS);
+        INSERT INTO epricing.batch_db_schedule_event_tracker_duplicates
+        SELECT t.* FROM epricing.batch_db_schedule_event_tracker_legacy t
+         WHERE EXISTS (SELECT 1 FROM epricing.batch_db_schedule_event_tracker_legacy k
+                        WHERE k.backup_job_categorycode = t.backup_job_categorycode AND k.business_date = t.business_date
+                          AND (k.backup_status = 'SUCCESS', COALESCE(k.start_time, to_timestamp(0)::timestamp), COALESCE(k.batch_id, ''))
+                            > (t.backup_status = 'SUCCESS', COALESCE(t.start_time, to_timestamp(0)::timestamp), COALESCE(t.batch_id, '')));
+        DELETE FROM epricing.batch_db_schedule_event_tracker_legacy t
+         WHERE EXISTS (SELECT 1 FROM epricing.batch_db_schedule_event_tracker_legacy k
+                        WHERE k.backup_job_categorycode = t.backup_job_categorycode AND k.business_date = t.business_date
+                          AND (k.backup_status = 'SUCCESS', COALESCE(k.start_time, to_timestamp(0)::timestamp), COALESCE(k.batch_id, ''))
+                            > (t.backup_status = 'SUCCESS', COALESCE(t.start_time, to_timestamp(0)::timestamp), COALESCE(t.batch_id, '')));
+        -- a repeated run starts the copy over
+        DELETE FROM epricing.batch_db_schedule_event_tracker;
+        INSERT INTO epricing.batch_db_schedule_event_tracker SELECT * FROM epricing.batch_db_schedule_event_tracker_legacy;
+    END IF;
+END $$;
+
+-- backs the insert upsert that keeps one backup per category and business date
+CREATE UNIQUE INDEX IF NOT EXISTS uq_db_schedule_event_tracker_category_date ON epricing.batch_db_schedule_event_tracker(backup_job_categorycode, business_date);
+-- covers the status update and the job lookup by batch id
+CREATE INDEX IF NOT EXISTS ix_db_schedule_event_tracker_batch_id ON epricing.batch_db_schedule_event_tracker(batch_id, business_date) INCLUDE (backup_status, backup_job_categorycode, backup_type, start_time, end_time);
+-- covers the job listing by status
+CREATE INDEX IF NOT EXISTS ix_db_schedule_event_tracker_status ON epricing.batch_db_schedule_event_tracker(backup_status, start_time DESC) INCLUDE (batch_id, backup_job_categorycode, backup_type, business_date, end_time);
+
+DROP TABLE IF EXISTS epricing.batch_db_schedule_event_tracker_legacy;
@@ -0,0 +1,12 @@
+-- Daily per-category backup rollup, maintained incrementally as jobs finish.
+CREATE TABLE IF NOT EXISTS epricing.batch_db_backup_daily_rollup (
+    backup_job_categorycode VARCHAR(100) NOT NULL,
+    business_date DATE NOT NULL,
+    job_count BIGINT NOT NULL DEFAULT 0,
+    failure_count BIGINT NOT NULL DEFAULT 0,
+    total_duration_ms BIGINT NOT NULL DEFAULT 0,
+    total_bytes BIGINT NOT NULL DEFAULT 0,
+    duration_histogram BIGINT[] NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT now(),
+    PRIMARY KEY (backup_job_categorycode, business_date)
+);
@@ -0,0 +1,19 @@
+-- Typed columns for the YBA identifiers and compressed storage of the response payload.
+-- The application keeps small payloads as text and moves larger ones to backup_response_gz;
+-- the hash and length always describe the original payload.
+ALTER TABLE epricing.batch_db_schedule_event_tracker ADD COLUMN IF NOT EXISTS task_uuid VARCHAR(64);
+ALTER TABLE epricing.batch_db_schedule_event_tracker ADD COLUMN IF NOT EXISTS backup_uuid VARCHAR(64);
+ALTER TABLE epricing.batch_db_schedule_event_tracker ADD COLUMN IF NOT EXISTS backup_response_gz BYTEA;
+ALTER TABLE epricing.batch_db_schedule_event_tracker ADD COLUMN IF NOT EXISTS backup_response_sha256 CHAR(64);
+ALTER TABLE epricing.batch_db_schedule_event_tracker ADD COLUMN IF NOT EXISTS backup_response_length INTEGER;
+
+-- existing payloads stay as they are, in full; only their hash and length are filled in
+UPDATE epricing.batch_db_schedule_event_tracker
+   SET backup_response_sha256 = encode(sha256(convert_to(backup_response, 'UTF8')), 'hex'),
+       backup_response_length = octet_length(backup_response)
+ WHERE backup_response IS NOT NULL
+   AND backup_response_sha256 IS NULL;
+
+-- the job lookup by batch id now also returns the YBA identifiers
+DROP INDEX IF EXISTS epricing.ix_db_schedule_event_tracker_batch_id;
+CREATE INDEX IF NOT EXISTS ix_db_schedule_event_tracker_batch_id ON epricing.batch_db_schedule_event_tracker(batch_id, business_date) INCLUDE (backup_status, backup_job_categorycode, backup_type, start_time, end_time, task_uuid, backup_uuid);
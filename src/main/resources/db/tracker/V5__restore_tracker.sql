@@ -0,0 +1,18 @@
+-- Restores started through the orchestrator, one row per restore request.
+CREATE TABLE IF NOT EXISTS epricing.batch_db_restore_tracker (
+    restore_id VARCHAR(150) PRIMARY KEY,
+    backup_job_categorycode VARCHAR(100) NOT NULL,
+    source_batch_id VARCHAR(150),
+    backup_uuid VARCHAR(64),
+    target_universe_uuid VARCHAR(64) NOT NULL,
+    restore_status VARCHAR(20) NOT NULL,
+    task_uuids TEXT,
+    message TEXT,
+    start_time TIMESTAMP NOT NULL,
+    end_time TIMESTAMP,
+    duration_ms BIGINT
+);
+
+-- at most one restore in progress per category
+CREATE UNIQUE INDEX IF NOT EXISTS uq_db_restore_tracker_in_progress ON epricing.batch_db_restore_tracker(backup_job_categorycode) WHERE restore_status = 'IN_PROGRESS';
+CREATE INDEX IF NOT EXISTS ix_db_restore_tracker_category ON epricing.batch_db_restore_tracker(backup_job_categorycode, start_time DESC);
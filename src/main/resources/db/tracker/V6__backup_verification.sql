@@ -0,0 +1,19 @@
+-- Outcome of checking each completed backup against YBA, one row per batch.
+CREATE TABLE IF NOT EXISTS epricing.batch_db_backup_verification (
+    batch_id VARCHAR(150) PRIMARY KEY,
+    backup_job_categorycode VARCHAR(100) NOT NULL,
+    business_date DATE NOT NULL,
+    backup_type VARCHAR(50),
+    backup_uuid VARCHAR(64),
+    verification_status VARCHAR(20) NOT NULL,
+    backup_state VARCHAR(50),
+    backup_bytes BIGINT,
+    previous_bytes BIGINT,
+    keyspaces TEXT,
+    missing_keyspaces TEXT,
+    message TEXT,
+    verified_at TIMESTAMP NOT NULL DEFAULT now()
+);
+
+-- previous verified size of the same category and backup type
+CREATE INDEX IF NOT EXISTS ix_db_backup_verification_category ON epricing.batch_db_backup_verification(backup_job_categorycode, backup_type, verified_at DESC) INCLUDE (verification_status, backup_bytes);
@@ -0,0 +1,19 @@
+-- One row per keyspace of each backup submission. Parallel keyspace mode creates one YBA backup
+-- per keyspace, and each keyspace keeps its own incremental chain, so type and identifiers are
+-- recorded per keyspace; a combined submission records the same task for all of its keyspaces.
+CREATE TABLE IF NOT EXISTS epricing.batch_db_keyspace_backup (
+    batch_id VARCHAR(150) NOT NULL,
+    keyspace VARCHAR(100) NOT NULL,
+    backup_job_categorycode VARCHAR(100) NOT NULL,
+    business_date DATE NOT NULL,
+    backup_type VARCHAR(50) NOT NULL,
+    task_uuid VARCHAR(64),
+    backup_uuid VARCHAR(64),
+    status VARCHAR(20) NOT NULL,
+    start_time TIMESTAMP NOT NULL,
+    end_time TIMESTAMP,
+    PRIMARY KEY (batch_id, keyspace)
+);
+
+-- chain length per keyspace
+CREATE INDEX IF NOT EXISTS ix_db_keyspace_backup_chain ON epricing.batch_db_keyspace_backup(backup_job_categorycode, keyspace, start_time DESC) INCLUDE (backup_type, status, backup_uuid);
@@ -0,0 +1,3 @@
+-- Time from acceptance until the backup's YBA tasks finished, set for tracked successful backups;
+-- the duration predictor learns from this column only.
+ALTER TABLE epricing.batch_db_schedule_event_tracker ADD COLUMN IF NOT EXISTS task_duration_ms BIGINT;
@@ -0,0 +1,11 @@
+-- Which instance follows the YBA task of each keyspace backup, and when each instance was last
+-- alive, so the tasks of an instance that stopped are picked up by another one.
+ALTER TABLE epricing.batch_db_keyspace_backup ADD COLUMN IF NOT EXISTS poll_owner VARCHAR(100);
+
+CREATE TABLE IF NOT EXISTS epricing.backup_orchestrator_instance (
+    instance_id VARCHAR(100) PRIMARY KEY,
+    heartbeat_at TIMESTAMP NOT NULL
+);
+
+-- the orphaned task scan only reads keyspace backups whose task is still running
+CREATE INDEX IF NOT EXISTS ix_db_keyspace_backup_in_progress ON epricing.batch_db_keyspace_backup(start_time) INCLUDE (poll_owner, task_uuid) WHERE status = 'IN_PROGRESS';
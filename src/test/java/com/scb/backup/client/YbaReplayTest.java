@@ -0,0 +1,144 @@
+package com.scb.backup.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scb.backup.model.YbaDynamicConfig;
+import com.scb.backup.replay.YbaReplayServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.test.StepVerifier;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+@DisplayName("YBA protocol layer against recorded traffic")
+class YbaReplayTest {
+
+    private static final String CUSTOMER = "11111111-1111-1111-1111-111111111111";
+    private static final String UNIVERSE = "77777777-7777-7777-7777-777777777777";
+    private static final String TASK = "22222222-2222-2222-2222-222222222222";
+    private static final String BACKUP = "66666666-6666-6666-6666-666666666666";
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private YbaReplayServer server;
+    private YbaApi api;
+    private YbaDynamicConfig config;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = replay(Path.of(YbaReplayServer.SAMPLE_RECORDING));
+        api = new WebClientYbaApi(WebClient.create());
+        config = config(server);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @Test
+    @DisplayName("Should answer each submission with a fresh task UUID")
+    void submissionGetsFreshTaskUuid() throws Exception {
+        String first = api.submitFullBackup(config, "token", TIMEOUT, List.of("pricing")).block();
+        String second = api.submitFullBackup(config, "token", TIMEOUT, List.of("pricing")).block();
+
+        String firstTask = mapper.readTree(first).path("taskUUID").asText();
+        assertNotEquals(TASK, firstTask);
+        assertNotEquals(firstTask, mapper.readTree(second).path("taskUUID").asText());
+    }
+
+    @Test
+    @DisplayName("Should replay task polls in recorded order and repeat the last one")
+    void taskPollsReplayInOrder() {
+        StepVerifier.create(api.getTask(config, "token", TIMEOUT, TASK).map(this::status))
+                .expectNext("Running|35.0").verifyComplete();
+        StepVerifier.create(api.getTask(config, "token", TIMEOUT, TASK).map(this::status))
+                .expectNext("Running|80.0").verifyComplete();
+        StepVerifier.create(api.getTask(config, "token", TIMEOUT, TASK).map(this::status))
+                .expectNext("Success|100.0").verifyComplete();
+        StepVerifier.create(api.getTask(config, "token", TIMEOUT, TASK).map(this::status))
+                .expectNext("Success|100.0").verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should list the backups a task created, with their keyspaces")
+    void listsBackupsByTask() throws Exception {
+        JsonNode backups = mapper.readTree(api.listBackupsByTask(config, "token", TIMEOUT, TASK).block());
+
+        assertEquals(1, backups.size());
+        assertEquals(BACKUP, backups.path(0).path("commonBackupInfo").path("backupUUID").asText());
+        assertEquals("pricing", backups.path(0).path("commonBackupInfo").path("responseList").path(0).path("keyspace").asText());
+    }
+
+    @Test
+    @DisplayName("Should answer 404 for calls without a recording")
+    void unrecordedCallIsNotFound() {
+        YbaDynamicConfig unrecorded = config(server);
+        unrecorded.setRestoreUrl(server.baseUrl() + "/api/v1/unknown");
+
+        StepVerifier.create(api.submitRestore(unrecorded, "token", TIMEOUT, UNIVERSE, 1, List.of()))
+                .expectError(WebClientResponseException.NotFound.class)
+                .verify();
+        assertEquals(1, server.unmatched());
+    }
+
+    @Test
+    @DisplayName("Should record answered calls in a form the replay server serves again")
+    void recordedTrafficReplays(@TempDir Path directory) throws Exception {
+        Path file = directory.resolve("yba.jsonl");
+        try (RecordingYbaApi recording = new RecordingYbaApi(api, file)) {
+            recording.getBackup(config, "token", TIMEOUT, BACKUP).block();
+            recording.listBackupsByTask(config, "token", TIMEOUT, TASK).block();
+        }
+        assertEquals(2, Files.readAllLines(file).size());
+
+        try (YbaReplayServer replayed = replay(file)) {
+            YbaDynamicConfig replayedConfig = config(replayed);
+            JsonNode backup = mapper.readTree(api.getBackup(replayedConfig, "token", TIMEOUT, BACKUP).block());
+            JsonNode backups = mapper.readTree(api.listBackupsByTask(replayedConfig, "token", TIMEOUT, TASK).block());
+
+            assertEquals(BACKUP, backup.path("commonBackupInfo").path("backupUUID").asText());
+            assertEquals(BACKUP, backups.path(0).path("commonBackupInfo").path("backupUUID").asText());
+            assertEquals(0, replayed.unmatched());
+        }
+    }
+
+    private String status(String task) {
+        try {
+            JsonNode node = mapper.readTree(task);
+            return node.path("status").asText() + "|" + node.path("percent").asDouble();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static YbaReplayServer replay(Path recording) throws Exception {
+        return new YbaReplayServer(List.of(recording), 0, 0, Duration.ZERO).start();
+    }
+
+    private static YbaDynamicConfig config(YbaReplayServer server) {
+        String base = server.baseUrl() + "/api/v1/customers/" + CUSTOMER;
+        return YbaDynamicConfig.builder()
+                .universeUuid(UNIVERSE)
+                .storageConfigUuid("88888888-8888-8888-8888-888888888888")
+                .fullBackupUrl(base + "/backups")
+                .taskUrl(base + "/tasks")
+                .backupTaskUrl(base + "/universes/" + UNIVERSE + "/backups/tasks")
+                .restoreUrl(base + "/restore")
+                .backupType("YQL_TABLE_TYPE")
+                .expiryMs(86_400_000L)
+                .keyspaces(List.of("pricing"))
+                .build();
+    }
+}
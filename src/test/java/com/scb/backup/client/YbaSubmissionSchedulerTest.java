@@ -0,0 +1,222 @@
+package com.scb.backup.client;
+
+import com.scb.backup.config.BackupTargetProperties;
+import com.scb.backup.config.YbaProperties;
+import com.scb.backup.model.YbaDynamicConfig;
+import com.scb.backup.service.BackupDurationPredictor;
+import com.scb.backup.service.YbaConfigService;
+import com.scb.backup.utils.AppConstants;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("YBA submission scheduling")
+class YbaSubmissionSchedulerTest {
+
+    private static final String UNIVERSE = "u1";
+
+    private final YbaProperties props = new YbaProperties();
+    private final BackupDurationPredictor durationPredictor = mock(BackupDurationPredictor.class);
+    private final YbaTaskCompletions taskCompletions = new YbaTaskCompletions();
+    private final List<String> started = Collections.synchronizedList(new ArrayList<>());
+    private YbaConfigService configService;
+    private YbaSubmissionScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        props.setSchedulerPermitsPerSecond(1000);
+        props.setSchedulerBurst(100);
+        props.setSchedulerMaxConcurrentPerUniverse(1);
+        props.setTaskMaxPollDurationMs(60_000);
+        when(durationPredictor.predictedMillis(anyString())).thenReturn(0L);
+    }
+
+    @Test
+    @DisplayName("Should pace submissions by the universe's token bucket once the burst is spent")
+    void tokenBucketPacesSubmissions() {
+        props.setSchedulerPermitsPerSecond(5);
+        props.setSchedulerBurst(1);
+        props.setSchedulerMaxConcurrentPerUniverse(10);
+        scheduler(Map.of("a", entry().build()));
+
+        List<Long> startedAt = Collections.synchronizedList(new ArrayList<>());
+        for (int i = 0; i < 3; i++) {
+            scheduler.schedule(configService.resolve("A"), "A", () -> {
+                startedAt.add(System.nanoTime());
+                return Mono.just("{}");
+            }).subscribe();
+        }
+
+        assertEquals(1, startedAt.size());
+        waitUntil(() -> startedAt.size() == 3);
+        // 5 permits per second: at least ~200ms between consecutive submissions
+        assertTrue((startedAt.get(1) - startedAt.get(0)) / 1_000_000 >= 150);
+        assertTrue((startedAt.get(2) - startedAt.get(1)) / 1_000_000 >= 150);
+    }
+
+    @Test
+    @DisplayName("Should run no more submissions at once than the smallest cap on the universe")
+    void maxConcurrentSlots() {
+        props.setSchedulerMaxConcurrentPerUniverse(3);
+        scheduler(Map.of("a", entry().maxConcurrentBackups(2).build(), "b", entry().build()));
+        List<Sinks.One<String>> responses = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Sinks.One<String> response = Sinks.one();
+            responses.add(response);
+            schedule("B", "b" + i, response::asMono);
+        }
+
+        assertEquals(List.of("b0", "b1"), started);
+        assertEquals(1, scheduler.queuedSubmissions());
+
+        responses.get(0).tryEmitValue("{}");
+
+        assertEquals(List.of("b0", "b1", "b2"), started);
+        assertEquals(0, scheduler.queuedSubmissions());
+    }
+
+    @Test
+    @DisplayName("Should admit full backups ahead of incrementals queued before them")
+    void fullBackupsFirst() {
+        scheduler(Map.of(
+                "inc", entry().backupCategoryType("incremental_backup").build(),
+                "full", entry().backupCategoryType(AppConstants.FULL_BACKUP).build()));
+        Sinks.One<String> blocker = Sinks.one();
+        schedule("INC", "blocker", blocker::asMono);
+
+        schedule("INC", "inc1", () -> Mono.just("{}"));
+        schedule("INC", "inc2", () -> Mono.just("{}"));
+        schedule("FULL", "full", () -> Mono.just("{}"));
+        blocker.tryEmitValue("{}");
+
+        assertEquals(List.of("blocker", "full", "inc1", "inc2"), started);
+    }
+
+    @Test
+    @DisplayName("Should share the universe between categories by weight, not by queue order")
+    void weightedFairnessAcrossCategories() {
+        scheduler(Map.of("heavy", entry().schedulingWeight(3).build(), "light", entry().build(),
+                "other", entry().build()));
+        Sinks.One<String> blocker = Sinks.one();
+        schedule("OTHER", "blocker", blocker::asMono);
+
+        for (int i = 1; i <= 3; i++) {
+            schedule("LIGHT", "l" + i, () -> Mono.just("{}"));
+        }
+        for (int i = 1; i <= 4; i++) {
+            schedule("HEAVY", "h" + i, () -> Mono.just("{}"));
+        }
+        blocker.tryEmitValue("{}");
+
+        // virtual finish: light 1, 2, 3; heavy 1/3, 2/3, 1, 4/3 - ties go to the earlier submission
+        assertEquals(List.of("blocker", "h1", "h2", "l1", "h3", "h4", "l2", "l3"), started);
+    }
+
+    @Test
+    @DisplayName("Should start the longest predicted backup first among equally fair submissions")
+    void longestPredictedFirst() {
+        when(durationPredictor.predictedMillis("LONG")).thenReturn(600_000L);
+        when(durationPredictor.predictedMillis("SHORT")).thenReturn(60_000L);
+        scheduler(Map.of("short", entry().build(), "long", entry().build(), "other", entry().build()));
+        Sinks.One<String> blocker = Sinks.one();
+        schedule("OTHER", "blocker", blocker::asMono);
+
+        schedule("SHORT", "short", () -> Mono.just("{}"));
+        schedule("LONG", "long", () -> Mono.just("{}"));
+        blocker.tryEmitValue("{}");
+
+        assertEquals(List.of("blocker", "long", "short"), started);
+    }
+
+    @Test
+    @DisplayName("Should hold the slot until the submission's YBA tasks have finished")
+    void slotHeldUntilTasksFinish() {
+        scheduler(Map.of("a", entry().taskUrl("http://yba/tasks/{taskUuid}").build()));
+        AtomicReference<String> response = new AtomicReference<>();
+        scheduler.schedule(configService.resolve("A"), "A", () -> {
+            started.add("first");
+            return Mono.just("{\"taskUUID\":\"t1\"}");
+        }).subscribe(response::set);
+        schedule("A", "second", () -> Mono.just("{}"));
+
+        // the caller has its answer while the task still holds the slot
+        assertEquals("{\"taskUUID\":\"t1\"}", response.get());
+        assertEquals(List.of("first"), started);
+
+        taskCompletions.finished("t1");
+
+        waitUntil(() -> started.size() == 2);
+        assertEquals(List.of("first", "second"), started);
+    }
+
+    @Test
+    @DisplayName("Should give the slot back when the tasks outlive the polling cap")
+    void slotReleasedAtPollingCap() {
+        props.setTaskMaxPollDurationMs(300);
+        scheduler(Map.of("a", entry().taskUrl("http://yba/tasks/{taskUuid}").build()));
+        schedule("A", "first", () -> Mono.just("{\"taskUUID\":\"t1\"}"));
+        schedule("A", "second", () -> Mono.just("{}"));
+
+        assertEquals(List.of("first"), started);
+
+        waitUntil(() -> started.size() == 2);
+        assertEquals(List.of("first", "second"), started);
+    }
+
+    @Test
+    @DisplayName("Should release the slot when YBA answers for entries whose tasks are not followed")
+    void untrackedReleasesOnResponse() {
+        scheduler(Map.of("a", entry().build()));
+        schedule("A", "first", () -> Mono.just("{\"taskUUID\":\"t1\"}"));
+        schedule("A", "second", () -> Mono.just("{}"));
+
+        assertEquals(List.of("first", "second"), started);
+    }
+
+    private void scheduler(Map<String, YbaDynamicConfig> databases) {
+        props.setDatabases(databases);
+        configService = new YbaConfigService(props, new BackupTargetProperties());
+        configService.init();
+        scheduler = new YbaSubmissionScheduler(props, durationPredictor, configService, taskCompletions);
+    }
+
+    private void schedule(String categoryCode, String name, Supplier<Mono<String>> response) {
+        scheduler.schedule(configService.resolve(categoryCode), categoryCode, () -> {
+            started.add(name);
+            return response.get();
+        }).subscribe();
+    }
+
+    private static YbaDynamicConfig.YbaDynamicConfigBuilder entry() {
+        return YbaDynamicConfig.builder().universeUuid(UNIVERSE).dbName("pricing");
+    }
+
+    private static void waitUntil(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "condition not reached in time");
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
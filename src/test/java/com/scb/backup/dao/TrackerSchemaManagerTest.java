@@ -0,0 +1,232 @@
+package com.scb.backup.dao;
+
+import com.scb.backup.exception.DbBackupException;
+import com.scb.backup.utils.AppConstants;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import javax.sql.DataSource;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Tracker schema migrations and partitions")
+class TrackerSchemaManagerTest {
+
+    private static final String TRACKER = "batch_db_schedule_event_tracker";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private final NamedParameterJdbcTemplate jdbcTemplate = mock(NamedParameterJdbcTemplate.class);
+    private final JdbcOperations jdbcOperations = mock(JdbcOperations.class);
+    private final DataSource dataSource = mock(DataSource.class);
+    private final Connection connection = mock(Connection.class);
+    private final Statement statement = mock(Statement.class);
+
+    @TempDir
+    Path migrations;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(jdbcTemplate.getJdbcOperations()).thenReturn(jdbcOperations);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement);
+        currentVersion(0);
+        Files.writeString(migrations.resolve("V1__first.sql"), "CREATE TABLE v1(id INT)");
+        Files.writeString(migrations.resolve("V2__second.sql"), "CREATE TABLE v2(id INT)");
+        Files.writeString(migrations.resolve("V10__tenth.sql"), "CREATE TABLE v10(id INT)");
+        Files.writeString(migrations.resolve("notes.sql"), "not a migration");
+    }
+
+    @Test
+    @DisplayName("Should claim, run and then mark each pending version applied, in numeric order")
+    void appliesPendingVersionsInOrder() throws Exception {
+        currentVersion(1);
+        when(jdbcTemplate.update(eq("claim"), anyMap())).thenReturn(1);
+
+        manager().migrate();
+
+        InOrder order = inOrder(jdbcTemplate, statement);
+        for (int version : new int[] {2, 10}) {
+            order.verify(jdbcTemplate).update(eq("claim"), version(version));
+            order.verify(statement).execute("CREATE TABLE v" + version + "(id INT)");
+            order.verify(jdbcTemplate).update("complete", Map.of("version", version));
+        }
+        verify(jdbcTemplate, never()).update(eq("claim"), version(1));
+        verify(statement, times(2)).execute(anyString());
+    }
+
+    @Test
+    @DisplayName("Should wait while another instance holds the claim and skip the version once it is applied")
+    void waitsForTheClaimHolder() throws Exception {
+        onlyMigration("V1__first.sql");
+        when(jdbcTemplate.update(eq("claim"), anyMap())).thenReturn(0);
+        when(jdbcTemplate.queryForObject(eq("applied"), anyMap(), eq(Integer.class))).thenReturn(0, 0, 1);
+
+        manager().migrate();
+
+        verify(jdbcTemplate, times(3)).update(eq("claim"), version(1));
+        verify(statement, never()).execute(anyString());
+        verify(jdbcTemplate, never()).update(eq("complete"), anyMap());
+    }
+
+    @Test
+    @DisplayName("Should take the claim over once it is released or stale and apply the version itself")
+    void takesOverReleasedClaim() throws Exception {
+        onlyMigration("V1__first.sql");
+        when(jdbcTemplate.update(eq("claim"), anyMap())).thenReturn(0, 1);
+        when(jdbcTemplate.queryForObject(eq("applied"), anyMap(), eq(Integer.class))).thenReturn(0);
+
+        manager().migrate();
+
+        verify(statement).execute("CREATE TABLE v1(id INT)");
+        verify(jdbcTemplate).update("complete", Map.of("version", 1));
+    }
+
+    @Test
+    @DisplayName("Should stop startup when the claim holder does not finish in time")
+    void claimWaitTimesOut() {
+        onlyMigration("V1__first.sql");
+        when(jdbcTemplate.update(eq("claim"), anyMap())).thenReturn(0);
+        when(jdbcTemplate.queryForObject(eq("applied"), anyMap(), eq(Integer.class))).thenReturn(0);
+        TrackerSchemaManager manager = manager();
+        manager.waitTimeoutMs = 0;
+
+        DbBackupException e = assertThrows(DbBackupException.class, manager::migrate);
+
+        assertTrue(e.getMessage().contains("Timed out"));
+        verify(jdbcTemplate, never()).update(eq("complete"), anyMap());
+    }
+
+    @Test
+    @DisplayName("Should release the claim and leave the version unapplied when its script fails")
+    void failedScriptReleasesClaim() throws Exception {
+        onlyMigration("V1__first.sql");
+        when(jdbcTemplate.update(eq("claim"), anyMap())).thenReturn(1);
+        when(statement.execute(anyString())).thenThrow(new SQLException("syntax error"));
+
+        assertThrows(DbBackupException.class, manager()::migrate);
+
+        verify(jdbcTemplate).update("release", Map.of("version", 1));
+        verify(jdbcTemplate, never()).update(eq("complete"), anyMap());
+    }
+
+    @Test
+    @DisplayName("Should create the months ahead and drop only partitions older than the retention cutoff")
+    void partitionRetention() {
+        currentVersion(2);
+        YearMonth now = YearMonth.now(ZoneId.of(AppConstants.TIMEZONE));
+        String expired = partition(now.minusMonths(14));
+        String oldestKept = partition(now.minusMonths(13));
+        when(jdbcTemplate.queryForList("partitions", Map.of(), String.class))
+                .thenReturn(List.of(expired, oldestKept, partition(now), TRACKER + "_default"));
+        when(jdbcTemplate.update(eq("purge"), anyMap())).thenReturn(4);
+
+        manager().maintainPartitions();
+
+        ArgumentCaptor<String> ddl = ArgumentCaptor.forClass(String.class);
+        verify(jdbcOperations, times(3)).execute(ddl.capture());
+        assertTrue(ddl.getAllValues().get(0).startsWith("CREATE TABLE IF NOT EXISTS epricing." + partition(now)));
+        assertTrue(ddl.getAllValues().get(1).startsWith("CREATE TABLE IF NOT EXISTS epricing." + partition(now.plusMonths(1))));
+        assertEquals("DROP TABLE IF EXISTS epricing." + expired, ddl.getAllValues().get(2));
+        verify(jdbcTemplate).update("purge", Map.of("cutoff", Date.valueOf(now.minusMonths(13).atDay(1))));
+    }
+
+    @Test
+    @DisplayName("Should still purge past-retention rows from the default partition when a month cannot be created")
+    void purgesDefaultPartitionDespiteCreateFailure() {
+        currentVersion(2);
+        doThrow(new IllegalStateException("overlaps default")).when(jdbcOperations).execute(startsWith("CREATE TABLE"));
+        when(jdbcTemplate.queryForList("partitions", Map.of(), String.class)).thenReturn(List.of(TRACKER + "_default"));
+
+        manager().maintainPartitions();
+
+        verify(jdbcOperations, never()).execute(startsWith("DROP TABLE"));
+        verify(jdbcTemplate).update(eq("purge"), anyMap());
+    }
+
+    @Test
+    @DisplayName("Should leave partitions alone until the tracker is partitioned")
+    void unpartitionedTrackerIsLeftAlone() {
+        currentVersion(1);
+
+        manager().maintainPartitions();
+
+        verify(jdbcOperations, never()).execute(anyString());
+        verify(jdbcTemplate, never()).update(eq("purge"), anyMap());
+    }
+
+    private TrackerSchemaManager manager() {
+        TrackerSchemaManager manager = new TrackerSchemaManager(jdbcTemplate, dataSource);
+        manager.autoCreateSchema = true;
+        manager.migrationsLocation = migrations.toUri() + "V*__*.sql";
+        manager.partitionMonthsAhead = 1;
+        manager.retentionMonths = 13;
+        manager.createVersionTable = "version-table";
+        manager.versionTableColumns = "version-table-columns";
+        manager.currentVersionQuery = "current";
+        manager.claimVersion = "claim";
+        manager.completeVersion = "complete";
+        manager.appliedVersionQuery = "applied";
+        manager.releaseVersion = "release";
+        manager.claimStaleAfterMs = 1_800_000;
+        manager.waitTimeoutMs = 60_000;
+        manager.waitPollMs = 1;
+        manager.listPartitions = "partitions";
+        manager.purgeDefaultPartition = "purge";
+        return manager;
+    }
+
+    private void currentVersion(int version) {
+        when(jdbcTemplate.queryForObject(eq("current"), anyMap(), eq(Integer.class))).thenReturn(version);
+    }
+
+    private void onlyMigration(String name) {
+        try (var files = Files.list(migrations)) {
+            for (Path file : files.toList()) {
+                if (!file.getFileName().toString().equals(name)) {
+                    Files.delete(file);
+                }
+            }
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Map<String, ?> version(int version) {
+        return argThat(params -> params != null && Integer.valueOf(version).equals(params.get("version")));
+    }
+
+    private static String partition(YearMonth month) {
+        return TRACKER + "_p" + month.format(PARTITION_SUFFIX);
+    }
+}
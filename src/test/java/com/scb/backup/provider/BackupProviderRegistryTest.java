@@ -0,0 +1,139 @@
+package com.scb.backup.provider;
+
+import com.scb.backup.config.BackupTargetProperties;
+import com.scb.backup.config.YbaProperties;
+import com.scb.backup.dao.BackupDaoService;
+import com.scb.backup.exception.BackupAlreadyClaimedException;
+import com.scb.backup.exception.DbBackupException;
+import com.scb.backup.model.YbaDynamicConfig;
+import com.scb.backup.service.YbaConfigService;
+import com.scb.backup.utils.AppConstants;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Backup provider SPI")
+class BackupProviderRegistryTest {
+
+    private final Map<String, Object> batchParams = Map.of(AppConstants.BATCH_ID, "B1");
+    private final BackupDaoService backupDaoService = mock(BackupDaoService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private FakeProvider yba;
+    private FakeProvider local;
+    private BackupProviderRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        when(backupDaoService.insertBackupDetails(any(), anyString(), anyString())).thenReturn(true);
+        yba = new FakeProvider(AppConstants.PROVIDER_YBA);
+        local = new FakeProvider(AppConstants.PROVIDER_LOCAL_PROCESS);
+
+        YbaProperties props = new YbaProperties();
+        props.setMaxRetryAttempts(2);
+        props.setDatabases(Map.of(
+                "yba-db", YbaDynamicConfig.builder().dbName("pricing").build(),
+                "local-db", YbaDynamicConfig.builder().provider("Local-Process").dbName("reporting").build(),
+                "odd-db", YbaDynamicConfig.builder().provider("tape").build()));
+        YbaConfigService configService = new YbaConfigService(props, new BackupTargetProperties());
+        configService.init();
+        registry = new BackupProviderRegistry(List.of(yba, local), configService, backupDaoService, meterRegistry, props);
+    }
+
+    @Test
+    @DisplayName("Should start the backup through the entry's provider, yba when unset")
+    void routesToConfiguredProvider() {
+        StepVerifier.create(registry.initiate("LOCAL-DB", batchParams)).expectNext("local-process").verifyComplete();
+        StepVerifier.create(registry.initiate("YBA-DB", batchParams)).expectNext("yba").verifyComplete();
+
+        assertEquals(1, local.attempts.get());
+        assertEquals(1, yba.attempts.get());
+        assertEquals(1, meterRegistry.get("backup.provider.submissions")
+                .tag("provider", "local-process").tag("outcome", "success").timer().count());
+        assertTrue(registry.isYba("YBA-DB"));
+        assertFalse(registry.isYba("LOCAL-DB"));
+    }
+
+    @Test
+    @DisplayName("Should reject an entry whose provider is unknown or that is not configured")
+    void rejectsUnknownProvider() {
+        StepVerifier.create(registry.initiate("ODD-DB", batchParams))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+        StepVerifier.create(registry.initiate("MISSING", batchParams))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Should not start the provider when the tracker row cannot be written")
+    void trackerConflictSkipsProvider() {
+        when(backupDaoService.insertBackupDetails(any(), anyString(), anyString())).thenReturn(false);
+
+        StepVerifier.create(registry.initiate("LOCAL-DB", batchParams))
+                .expectError(BackupAlreadyClaimedException.class)
+                .verify();
+        assertEquals(0, local.attempts.get());
+    }
+
+    @Test
+    @DisplayName("Should repeat only the attempts the provider reports retryable, up to the attempt limit")
+    void retriesOnlyRetryableFailures() {
+        local.failWith = new DbBackupException("exit 1");
+        local.retryable = true;
+        StepVerifier.create(registry.initiate("LOCAL-DB", batchParams))
+                .expectErrorMessage("exit 1")
+                .verify();
+        assertEquals(2, local.attempts.get());
+
+        yba.failWith = new DbBackupException("rejected");
+        StepVerifier.create(registry.initiate("YBA-DB", batchParams))
+                .expectErrorMessage("rejected")
+                .verify();
+        assertEquals(1, yba.attempts.get());
+        assertEquals(1, meterRegistry.get("backup.provider.submissions")
+                .tag("provider", "yba").tag("outcome", "failure").timer().count());
+    }
+
+    private static final class FakeProvider implements BackupProvider {
+
+        private final String name;
+        private final AtomicInteger attempts = new AtomicInteger();
+        private RuntimeException failWith;
+        private boolean retryable;
+
+        private FakeProvider(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public Mono<String> initiate(String categoryCode, YbaDynamicConfig config, Map<String, Object> batchParams) {
+            attempts.incrementAndGet();
+            return failWith == null ? Mono.just(name) : Mono.error(failWith);
+        }
+
+        @Override
+        public boolean isRetryable(YbaDynamicConfig config, Throwable error) {
+            return retryable;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.scb.backup.provider;
+
+import com.scb.backup.exception.DbBackupException;
+import com.scb.backup.model.YbaDynamicConfig;
+import com.scb.backup.utils.AppConstants;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.core.Disposable;
+import reactor.test.StepVerifier;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisabledOnOs(OS.WINDOWS)
+@DisplayName("Local process backups")
+class LocalProcessBackupProviderTest {
+
+    private final Map<String, Object> batchParams = Map.of(AppConstants.BATCH_ID, "B1");
+    private final LocalProcessBackupProvider provider = new LocalProcessBackupProvider(2, 60_000, 2048);
+
+    @AfterEach
+    void tearDown() {
+        provider.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should repeat a failed command only when its entry opts in")
+    void retryIsOptIn() {
+        Throwable failure = failure(config(List.of("sh", "-c", "echo partial; exit 3"), null, null));
+
+        assertTrue(failure.getMessage().contains("exited with 3"));
+        assertFalse(provider.isRetryable(config(List.of("true"), null, null), failure));
+        assertFalse(provider.isRetryable(config(List.of("true"), null, false), failure));
+        assertTrue(provider.isRetryable(config(List.of("true"), null, true), failure));
+    }
+
+    @Test
+    @DisplayName("Should never repeat a command that timed out")
+    void timeoutIsNotRetried() {
+        YbaDynamicConfig config = config(List.of("sleep", "30"), 200L, true);
+
+        Throwable failure = failure(config);
+
+        assertTrue(failure.getMessage().contains("timed out"));
+        assertFalse(provider.isRetryable(config, failure));
+    }
+
+    @Test
+    @DisplayName("Should kill the processes a timed out command started")
+    void timeoutKillsDescendants(@TempDir Path directory) throws Exception {
+        Path pidFile = directory.resolve("child.pid");
+        failure(config(List.of("sh", "-c", "sleep 60 & echo $! > " + pidFile + "; wait"), 500L, null));
+
+        assertFalse(isAlive(Long.parseLong(Files.readString(pidFile).strip())));
+    }
+
+    @Test
+    @DisplayName("Should kill running commands at shutdown")
+    void shutdownKillsRunningCommands(@TempDir Path directory) throws Exception {
+        Path pidFile = directory.resolve("child.pid");
+        YbaDynamicConfig config = config(List.of("sh", "-c", "sleep 60 & echo $! > " + pidFile + "; wait"), null, null);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Disposable run = provider.initiate("LOCAL-DB", config, batchParams).subscribe(null, failure::set);
+        try {
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (!Files.exists(pidFile) || Files.readString(pidFile).isBlank()) {
+                assertTrue(System.currentTimeMillis() < deadline, "command did not start");
+                Thread.sleep(50);
+            }
+            long childPid = Long.parseLong(Files.readString(pidFile).strip());
+
+            provider.shutdown();
+
+            assertFalse(isAlive(childPid));
+        } finally {
+            run.dispose();
+        }
+    }
+
+    private Throwable failure(YbaDynamicConfig config) {
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        StepVerifier.create(provider.initiate("LOCAL-DB", config, batchParams))
+                .consumeErrorWith(failure::set)
+                .verify();
+        assertNotNull(failure.get());
+        return assertInstanceOf(DbBackupException.class, failure.get());
+    }
+
+    private static boolean isAlive(long pid) {
+        return ProcessHandle.of(pid).map(ProcessHandle::isAlive).orElse(false);
+    }
+
+    private static YbaDynamicConfig config(List<String> command, Long timeoutMs, Boolean retryOnFailure) {
+        return YbaDynamicConfig.builder()
+                .provider(AppConstants.PROVIDER_LOCAL_PROCESS)
+                .dbName("reporting")
+                .command(command)
+                .commandTimeoutMs(timeoutMs)
+                .retryOnFailure(retryOnFailure)
+                .build();
+    }
+}
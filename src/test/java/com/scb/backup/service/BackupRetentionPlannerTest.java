@@ -0,0 +1,127 @@
+package com.scb.backup.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.scb.backup.model.RetentionPlan;
+import com.scb.backup.model.YbaDynamicConfig;
+import com.scb.backup.utils.AppConstants;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("GFS retention planning")
+class BackupRetentionPlannerTest {
+
+    /** A Monday, midday in the service's zone. */
+    private static final Instant NOW = Instant.parse("2026-10-19T06:30:00Z");
+    private static final String STORAGE = "88888888-8888-8888-8888-888888888888";
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final BackupRetentionPlanner planner = new BackupRetentionPlanner();
+
+    @Test
+    @DisplayName("Should leave the backups of another category on a shared universe alone")
+    void sharedUniverseOnlyTouchesOwnBackups() {
+        YbaDynamicConfig config = config(2, List.of("pricing"), null);
+        List<JsonNode> listed = List.of(
+                backup("own-new", null, daysAgo(2), null, "pricing"),
+                backup("own-old", null, daysAgo(10), null, "pricing"),
+                backup("other-old", null, daysAgo(10), null, "pricing"),
+                backup("other-older", null, daysAgo(20), null, "reference"));
+
+        RetentionPlan plan = planner.plan("CAT-A", config, listed, Set.of("own-new", "own-old"), NOW);
+
+        assertEquals(List.of("own-old"), plan.getDeleteBackupUuids());
+        assertEquals(4, plan.getListedBackups());
+        assertEquals(1, plan.getKeptBackups());
+    }
+
+    @Test
+    @DisplayName("Should apply the keep rules per keyspace in parallel keyspace mode")
+    void parallelModeKeepsPerKeyspace() {
+        YbaDynamicConfig config = config(2, List.of("pricing", "audit"), AppConstants.KEYSPACE_MODE_PARALLEL);
+        List<JsonNode> listed = List.of(
+                backup("pricing-today", null, NOW.minus(Duration.ofHours(2)), null, "pricing"),
+                backup("pricing-5d", null, daysAgo(5), null, "pricing"),
+                backup("pricing-10d", null, daysAgo(10), null, "pricing"),
+                backup("audit-12d", null, daysAgo(12), null, "audit"));
+
+        RetentionPlan plan = planner.plan("CAT-A", config, listed,
+                Set.of("pricing-today", "pricing-5d", "pricing-10d", "audit-12d"), NOW);
+
+        // audit's only backup is its newest, even though pricing has newer ones
+        assertEquals(Set.of("pricing-5d", "pricing-10d"), Set.copyOf(plan.getDeleteBackupUuids()));
+        assertEquals(2, plan.getKeptBackups());
+    }
+
+    @Test
+    @DisplayName("Should keep an incremental's base and delete unneeded chains by their base only")
+    void incrementalsFollowTheirBase() {
+        YbaDynamicConfig config = config(3, List.of("pricing"), null);
+        Instant baseExpiry = daysAgo(7);
+        List<JsonNode> listed = List.of(
+                backup("inc-kept", "base-kept", daysAgo(2), null, "pricing"),
+                backup("base-kept", null, daysAgo(9), baseExpiry, "pricing"),
+                backup("inc-old", "base-old", daysAgo(17), null, "pricing"),
+                backup("base-old", null, daysAgo(18), null, "pricing"));
+
+        RetentionPlan plan = planner.plan("CAT-A", config, listed,
+                Set.of("inc-kept", "base-kept", "inc-old", "base-old"), NOW);
+
+        assertEquals(List.of("base-old"), plan.getDeleteBackupUuids());
+        assertEquals(2, plan.getKeptBackups());
+        assertTrue(plan.getExtendExpiry().containsKey("base-kept"));
+        assertEquals(daysAgo(2).plus(Duration.ofDays(3)), plan.getExtendExpiry().get("base-kept"));
+    }
+
+    @Test
+    @DisplayName("Should not delete a chain holding a backup from the last day")
+    void recentChainIsNotDeleted() {
+        YbaDynamicConfig config = config(1, List.of("pricing"), null);
+        List<JsonNode> listed = List.of(
+                backup("full-today", null, NOW.minus(Duration.ofHours(1)), null, "pricing"),
+                backup("inc-recent", "base", NOW.minus(Duration.ofHours(20)), null, "pricing"),
+                backup("base", null, daysAgo(6), null, "pricing"));
+
+        RetentionPlan plan = planner.plan("CAT-A", config, listed, Set.of("full-today", "inc-recent", "base"), NOW);
+
+        assertTrue(plan.getDeleteBackupUuids().isEmpty());
+    }
+
+    private static Instant daysAgo(int days) {
+        return NOW.minus(Duration.ofDays(days));
+    }
+
+    private static YbaDynamicConfig config(int daily, List<String> keyspaces, String keyspaceMode) {
+        return YbaDynamicConfig.builder()
+                .storageConfigUuid(STORAGE)
+                .dbName(keyspaces.get(0))
+                .keyspaces(keyspaces)
+                .keyspaceMode(keyspaceMode)
+                .retentionDaily(daily)
+                .build();
+    }
+
+    private JsonNode backup(String uuid, String base, Instant created, Instant expiry, String keyspace) {
+        ObjectNode entity = mapper.createObjectNode();
+        ObjectNode info = entity.putObject("commonBackupInfo");
+        info.put("backupUUID", uuid);
+        info.put("baseBackupUUID", base == null ? uuid : base);
+        info.put("state", "Completed");
+        info.put("storageConfigUUID", STORAGE);
+        info.put("createTime", created.toString());
+        info.putArray("responseList").addObject().put("keyspace", keyspace);
+        if (expiry != null) {
+            entity.put("expiryTime", expiry.toString());
+        }
+        return entity;
+    }
+}
@@ -0,0 +1,157 @@
+package com.scb.backup.service;
+
+import com.scb.backup.dao.BackupDaoService;
+import com.scb.backup.dao.BackupResponseCodec;
+import com.scb.backup.exception.BackupAlreadyClaimedException;
+import com.scb.backup.exception.DbBackupException;
+import com.scb.backup.provider.BackupProviderRegistry;
+import com.scb.backup.utils.AppConstants;
+import com.scb.epricing.batch.core.lib.dao.BatchExecutionDao;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Recording backup outcomes")
+class BackupServiceOutcomeTest {
+
+    private static final String CATEGORY = "UAM-DB";
+    private static final String BUSINESS_DATE = "20261019";
+    private static final String SCHEDULED_BATCH = "SCHED_UAM-DB_20261019";
+    private static final String BATCH = "B1";
+    private static final String YBA_RESPONSE = "{\"taskUUID\":\"t1\"}";
+
+    private final BackupProviderRegistry providerRegistry = mock(BackupProviderRegistry.class);
+    private final BackupDaoService backupDaoService = mock(BackupDaoService.class);
+    private final BatchExecutionDao batchExecutionDao = mock(BatchExecutionDao.class);
+    private final BackupJobRegistry jobRegistry = mock(BackupJobRegistry.class);
+    private final YbaTaskTracker taskTracker = mock(YbaTaskTracker.class);
+    private final BackupRollupService rollupService = mock(BackupRollupService.class);
+    private final BackupDurationPredictor durationPredictor = mock(BackupDurationPredictor.class);
+    private final RecordingTransactionManager transactionManager = new RecordingTransactionManager();
+    private BackupService service;
+
+    @BeforeEach
+    void setUp() {
+        service = service(new TransactionTemplate(transactionManager));
+    }
+
+    @Test
+    @DisplayName("Should leave the claimed tracker row and the rollup alone when rejecting a duplicate")
+    void duplicateLeavesWinnerAlone() {
+        when(providerRegistry.initiate(eq(CATEGORY), anyMap()))
+                .thenReturn(Mono.error(new BackupAlreadyClaimedException("Backup already in progress")));
+
+        service.processBackup(SCHEDULED_BATCH, BUSINESS_DATE, CATEGORY).block();
+
+        verify(jobRegistry).duplicate(SCHEDULED_BATCH, CATEGORY, "Backup already in progress");
+        verify(jobRegistry, never()).completed(anyString(), anyString(), any(), any(), any());
+        verify(backupDaoService, never()).updateBackupStatus(anyString(), anyString(), any(), any());
+        verifyNoInteractions(batchExecutionDao, rollupService, taskTracker);
+    }
+
+    @Test
+    @DisplayName("Should roll the tracker update back when the batch execution write fails")
+    void batchExecutionFailureRollsBackTracker() {
+        AtomicBoolean trackerWrittenInTransaction = new AtomicBoolean();
+        doAnswer(invocation -> {
+            trackerWrittenInTransaction.set(TransactionSynchronizationManager.isActualTransactionActive());
+            return null;
+        }).when(backupDaoService).updateBackupStatus(eq(BATCH), eq(AppConstants.BACKUP_SUCCESS_STATUS), any(), any());
+        doThrow(new IllegalStateException("batch execution table unavailable"))
+                .when(batchExecutionDao).updateBatchStatus(eq(BATCH), anyString(), anyMap(), anyString());
+        when(providerRegistry.initiate(eq(CATEGORY), anyMap())).thenReturn(Mono.just(YBA_RESPONSE));
+
+        service.processBackup(BATCH, BUSINESS_DATE, CATEGORY).block();
+
+        assertTrue(trackerWrittenInTransaction.get());
+        verify(batchExecutionDao).updateBatchStatus(eq(BATCH), eq(AppConstants.BATCH_COMPLETED_STATUS), anyMap(), eq(BUSINESS_DATE));
+        assertEquals(1, transactionManager.rollbacks);
+        assertEquals(0, transactionManager.commits);
+        // YBA accepted the backup, so it is still reported accepted
+        verify(jobRegistry).completed(eq(BATCH), eq(AppConstants.BACKUP_SUCCESS_STATUS),
+                startsWith("Accepted, but recording the outcome failed"), eq("t1"), any());
+    }
+
+    @Test
+    @DisplayName("Should write only the tracker row for a scheduled batch")
+    void scheduledBatchSkipsBatchExecution() {
+        when(providerRegistry.initiate(eq(CATEGORY), anyMap())).thenReturn(Mono.just(YBA_RESPONSE));
+
+        service.processBackup(SCHEDULED_BATCH, BUSINESS_DATE, CATEGORY).block();
+
+        verify(backupDaoService).updateBackupStatus(eq(SCHEDULED_BATCH), eq(AppConstants.BACKUP_SUCCESS_STATUS), any(), any());
+        verify(batchExecutionDao, never()).updateBatchStatus(anyString(), anyString(), anyMap(), anyString());
+        assertEquals(1, transactionManager.commits);
+        assertEquals(0, transactionManager.rollbacks);
+    }
+
+    @Test
+    @DisplayName("Should write the failure to both tables in one transaction for a requested batch")
+    void failureWritesBothTables() {
+        when(providerRegistry.initiate(eq(CATEGORY), anyMap())).thenReturn(Mono.error(new DbBackupException("rejected")));
+
+        service.processBackup(BATCH, BUSINESS_DATE, CATEGORY).block();
+
+        verify(backupDaoService).updateBackupStatus(eq(BATCH), eq(AppConstants.BACKUP_FAILED_STATUS), any(), any());
+        verify(batchExecutionDao).updateBatchStatus(eq(BATCH), eq(AppConstants.BATCH_FAILED_STATUS), anyMap(), eq(BUSINESS_DATE));
+        assertEquals(1, transactionManager.commits);
+        verify(jobRegistry).completed(eq(BATCH), eq(AppConstants.BACKUP_FAILED_STATUS), eq("rejected"), any(), any());
+    }
+
+    private BackupService service(TransactionTemplate transactionTemplate) {
+        return new BackupService(providerRegistry, backupDaoService, batchExecutionDao, mock(BackupValidationService.class),
+                new InFlightBackupRegistry(), jobRegistry, taskTracker, transactionTemplate, rollupService,
+                durationPredictor, new BackupResponseCodec(512, 16384, 1024), mock(BackupVerificationService.class));
+    }
+
+    /**
+     * Counts commits and rollbacks instead of talking to a database.
+     */
+    static final class RecordingTransactionManager extends AbstractPlatformTransactionManager {
+
+        int commits;
+        int rollbacks;
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+            commits++;
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+            rollbacks++;
+        }
+    }
+}
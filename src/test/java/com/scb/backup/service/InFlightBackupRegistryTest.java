@@ -0,0 +1,98 @@
+package com.scb.backup.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Single-flight backup submissions")
+class InFlightBackupRegistryTest {
+
+    private final InFlightBackupRegistry registry = new InFlightBackupRegistry();
+
+    @Test
+    @DisplayName("Should share one submission between concurrent requests for the same category and date")
+    void concurrentDuplicatesShareOneSubmission() throws Exception {
+        AtomicInteger submissions = new AtomicInteger();
+        Sinks.One<String> response = Sinks.one();
+        int requests = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(requests);
+        try {
+            List<Future<InFlightBackupRegistry.Flight>> joined = new ArrayList<>();
+            for (int i = 0; i < requests; i++) {
+                String batchId = "B" + i;
+                joined.add(executor.submit(() -> {
+                    start.await();
+                    return registry.join("uam-db", "20261019", batchId, () -> {
+                        submissions.incrementAndGet();
+                        return response.asMono();
+                    }).block();
+                }));
+            }
+            start.countDown();
+            List<InFlightBackupRegistry.Flight> flights = new ArrayList<>();
+            for (Future<InFlightBackupRegistry.Flight> flight : joined) {
+                flights.add(flight.get(5, TimeUnit.SECONDS));
+            }
+
+            String leader = flights.get(0).leaderBatchId();
+            assertTrue(flights.stream().allMatch(flight -> flight.leaderBatchId().equals(leader)));
+            List<Mono<String>> results = flights.stream().map(InFlightBackupRegistry.Flight::result).toList();
+            results.forEach(Mono::subscribe);
+            response.tryEmitValue("{\"taskUUID\":\"t1\"}");
+
+            for (Mono<String> result : results) {
+                assertEquals("{\"taskUUID\":\"t1\"}", result.block());
+            }
+            assertEquals(1, submissions.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should start a new submission once the previous one finished")
+    void finishedFlightIsReleased() {
+        AtomicInteger submissions = new AtomicInteger();
+        InFlightBackupRegistry.Flight first = registry.join("UAM-DB", "20261019", "B1",
+                () -> Mono.fromCallable(() -> "r" + submissions.incrementAndGet())).block();
+        assertTrue(registry.isInFlight("uam-db", "20261019"));
+        assertEquals("r1", first.result().block());
+        assertFalse(registry.isInFlight("uam-db", "20261019"));
+
+        InFlightBackupRegistry.Flight second = registry.join("UAM-DB", "20261019", "B2",
+                () -> Mono.fromCallable(() -> "r" + submissions.incrementAndGet())).block();
+
+        assertTrue(second.isLeader("B2"));
+        assertEquals("r2", second.result().block());
+        assertEquals(0, registry.inFlightCount());
+    }
+
+    @Test
+    @DisplayName("Should keep other categories and dates apart")
+    void differentKeysDoNotShare() {
+        Sinks.One<String> pending = Sinks.one();
+        InFlightBackupRegistry.Flight uam = registry.join("UAM-DB", "20261019", "B1", pending::asMono).block();
+        InFlightBackupRegistry.Flight otherDate = registry.join("UAM-DB", "20261020", "B2", pending::asMono).block();
+        InFlightBackupRegistry.Flight otherCategory = registry.join("DB1", "20261019", "B3", pending::asMono).block();
+
+        assertTrue(uam.isLeader("B1"));
+        assertTrue(otherDate.isLeader("B2"));
+        assertTrue(otherCategory.isLeader("B3"));
+        assertEquals(3, registry.inFlightCount());
+    }
+}
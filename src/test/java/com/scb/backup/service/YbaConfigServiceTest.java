@@ -0,0 +1,66 @@
+package com.scb.backup.service;
+
+import com.scb.backup.config.BackupTargetProperties;
+import com.scb.backup.config.YbaProperties;
+import com.scb.backup.model.YbaDynamicConfig;
+import com.scb.backup.utils.AppConstants;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Backup entry configuration")
+class YbaConfigServiceTest {
+
+    @Test
+    @DisplayName("Should merge backup.targets over yba.databases, the target winning on the same key")
+    void targetsReplaceDatabasesOfTheSameKey() {
+        YbaProperties props = new YbaProperties();
+        props.setDatabases(Map.of(
+                "db1", YbaDynamicConfig.builder().dbName("pricing").universeUuid("u1").build(),
+                "reporting-db", YbaDynamicConfig.builder().dbName("yba-reporting").universeUuid("u2").build()));
+        BackupTargetProperties targets = new BackupTargetProperties();
+        targets.setTargets(Map.of("reporting-db", YbaDynamicConfig.builder()
+                .provider(AppConstants.PROVIDER_LOCAL_PROCESS)
+                .dbName("reporting")
+                .command(List.of("pg_dump", "{dbName}"))
+                .retryOnFailure(true)
+                .build()));
+
+        YbaConfigService service = new YbaConfigService(props, targets);
+        service.init();
+
+        assertEquals(Set.of("DB1", "REPORTING-DB"), service.all().keySet());
+        assertEquals("pricing", service.resolve("DB1").getDbName());
+        YbaDynamicConfig reporting = service.resolve("REPORTING-DB");
+        assertEquals(AppConstants.PROVIDER_LOCAL_PROCESS, reporting.getProvider());
+        assertEquals("reporting", reporting.getDbName());
+        assertEquals(List.of("pg_dump", "{dbName}"), reporting.getCommand());
+        assertTrue(reporting.getRetryOnFailure());
+        // the target replaces the whole entry, nothing is taken over from yba.databases
+        assertNull(reporting.getUniverseUuid());
+    }
+
+    @Test
+    @DisplayName("Should read entries from either map alone")
+    void eitherMapAlone() {
+        BackupTargetProperties targets = new BackupTargetProperties();
+        targets.setTargets(Map.of("only-target", YbaDynamicConfig.builder().dbName("t").build()));
+        YbaConfigService targetsOnly = new YbaConfigService(new YbaProperties(), targets);
+        targetsOnly.init();
+
+        YbaProperties props = new YbaProperties();
+        props.setDatabases(Map.of("only-db", YbaDynamicConfig.builder().dbName("d").build()));
+        YbaConfigService databasesOnly = new YbaConfigService(props, new BackupTargetProperties());
+        databasesOnly.init();
+
+        assertEquals(Set.of("ONLY-TARGET"), targetsOnly.all().keySet());
+        assertEquals(Set.of("ONLY-DB"), databasesOnly.all().keySet());
+    }
+}
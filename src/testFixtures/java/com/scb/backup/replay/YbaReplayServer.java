@@ -0,0 +1,185 @@
+package com.scb.backup.replay;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Serves YBA responses recorded by {@code RecordingYbaApi} (JSON lines of
+ * {@code {method, path, latencyMs, body}}), so the orchestrator can be benchmarked and
+ * regression-tested without a YBA.
+ *
+ * <p>Requests are matched on method and path with UUID segments normalised, and each route
+ * replays its recordings in order, repeating the last one. Submit responses get fresh task and
+ * resource UUIDs so concurrent jobs do not share tasks. Each response is delayed by its
+ * recorded latency times {@code latencyFactor}, or by {@code fixedLatency} when one is set.
+ *
+ * <p>A test fixture, so the replay tests and the benchmarks embed it via {@link #start()}; or
+ * standalone:
+ * <pre>
+ *   ./gradlew ybaReplayServer --args="src/testFixtures/resources/yba-recordings/sample.jsonl 9000 1.0"
+ * </pre>
+ */
+public class YbaReplayServer implements AutoCloseable {
+
+    /** Recordings shipped with the fixtures, relative to the project directory. */
+    public static final String SAMPLE_RECORDING = "src/testFixtures/resources/yba-recordings/sample.jsonl";
+
+    private static final Pattern UUID_SEGMENT =
+            Pattern.compile("[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}");
+    private static final Pattern FRESH_UUID_FIELD =
+            Pattern.compile("(\"(?:taskUUID|resourceUUID)\"\\s*:\\s*\")[^\"]*(\")");
+
+    private final Map<String, List<Recorded>> routes;
+    private final Map<String, AtomicInteger> cursors = new ConcurrentHashMap<>();
+    private final double latencyFactor;
+    private final Duration fixedLatency;
+    private final LongAdder served = new LongAdder();
+    private final LongAdder unmatched = new LongAdder();
+    private final HttpServer server;
+
+    public YbaReplayServer(List<Path> recordings, int port, double latencyFactor, Duration fixedLatency)
+            throws IOException {
+        this.routes = load(recordings);
+        this.latencyFactor = latencyFactor;
+        this.fixedLatency = fixedLatency;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+        this.server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        this.server.createContext("/", this::handle);
+    }
+
+    public YbaReplayServer start() {
+        server.start();
+        return this;
+    }
+
+    /**
+     * Base URL of the server, e.g. {@code http://127.0.0.1:41234}.
+     */
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public long served() {
+        return served.sum();
+    }
+
+    public long unmatched() {
+        return unmatched.sum();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange; InputStream body = exchange.getRequestBody()) {
+            body.readAllBytes();
+            String route = route(exchange.getRequestMethod(), exchange.getRequestURI().getPath());
+            List<Recorded> recorded = routes.get(route);
+            if (recorded == null) {
+                unmatched.increment();
+                reply(exchange, 404, "{\"error\":\"no recording for " + route + "\"}");
+                return;
+            }
+            int index = cursors.computeIfAbsent(exchange.getRequestURI().getPath(), path -> new AtomicInteger())
+                    .getAndIncrement();
+            Recorded response = recorded.get(Math.min(index, recorded.size() - 1));
+            sleep(fixedLatency != null ? fixedLatency
+                    : Duration.ofMillis(Math.round(response.latencyMs() * latencyFactor)));
+            served.increment();
+            reply(exchange, 200, "POST".equals(exchange.getRequestMethod()) ? freshUuids(response.body()) : response.body());
+        }
+    }
+
+    private static void reply(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] payload = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, payload.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(payload);
+        }
+    }
+
+    private static String freshUuids(String body) {
+        Matcher matcher = FRESH_UUID_FIELD.matcher(body);
+        StringBuilder result = new StringBuilder(body.length());
+        while (matcher.find()) {
+            matcher.appendReplacement(result, "$1" + UUID.randomUUID() + "$2");
+        }
+        return matcher.appendTail(result).toString();
+    }
+
+    private static void sleep(Duration latency) {
+        if (latency.isZero() || latency.isNegative()) {
+            return;
+        }
+        try {
+            Thread.sleep(latency);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String route(String method, String path) {
+        return method + " " + UUID_SEGMENT.matcher(path).replaceAll("{uuid}");
+    }
+
+    private static Map<String, List<Recorded>> load(List<Path> recordings) throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        Map<String, List<Recorded>> routes = new ConcurrentHashMap<>();
+        for (Path file : recordings) {
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                JsonNode node = mapper.readTree(line);
+                String path = URI.create(node.path("path").asText()).getPath();
+                routes.computeIfAbsent(route(node.path("method").asText("GET"), path), key -> new ArrayList<>())
+                        .add(new Recorded(node.path("latencyMs").asLong(0), node.path("body").toString()));
+            }
+        }
+        if (routes.isEmpty()) {
+            throw new IllegalArgumentException("No recorded YBA responses in " + recordings);
+        }
+        return routes;
+    }
+
+    private record Recorded(long latencyMs, String body) {
+    }
+
+    /**
+     * Args: recording file, port (default 9000), latency factor (default 1.0).
+     */
+    public static void main(String[] args) throws Exception {
+        Path recording = Path.of(args.length > 0 ? args[0] : SAMPLE_RECORDING);
+        int port = args.length > 1 ? Integer.parseInt(args[1]) : 9000;
+        double factor = args.length > 2 ? Double.parseDouble(args[2]) : 1.0;
+        YbaReplayServer server = new YbaReplayServer(List.of(recording), port, factor, null).start();
+        System.out.printf("Replaying %s on %s (latency x%.2f)%n", recording, server.baseUrl(), factor);
+        Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+        Thread.currentThread().join();
+    }
+}